@@ -0,0 +1,168 @@
+package model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for AnytimeSearch (ARA*), checked against the exact distances
+ * of 3x3 boards.
+ *
+ * @author Edward B.
+ */
+
+class AnytimeSearchTest {
+
+	private static final double EPSILON = 1e-9;
+
+	private static GoalTable goal;
+	private static ExactDistanceTable table;
+
+	@BeforeAll
+	static void buildTable() {
+		goal = Boards.goal(3);
+		table = ExactDistanceTable.build(goal);
+	}
+
+	@Test
+	void everyPassIsWithinItsBoundAndTheLastIsOptimal() {
+		SearchContext context = new SearchContext();
+		Random random = new Random(19);
+
+		for(int i = 0; i < 200; i++) {
+			long state = Boards.shuffled(3, random);
+			int optimal = table.distance(state);
+			Passes passes = new Passes();
+			SearchResult result = EightPuzzleSearch.anytimeSolution(Boards.root(goal, state), context, 3.0, 0.5,
+					passes, SearchBudget.UNLIMITED);
+
+			if(optimal < 0) {
+				assertNull(result.getSolution());
+				assertTrue(passes.solutions.isEmpty());
+				continue;
+			}
+
+			assertEquals(optimal, result.getSolution().length());
+			assertEquals(goal.getGoalState(), Boards.replay(result.getSolution()));
+			assertEquals(1.0, result.getSuboptimalityBound());
+			assertNull(result.getExceededLimit());
+			passes.assertWithinBounds(optimal, 3.0);
+		}
+	}
+
+	@Test
+	void theIncumbentSurvivesTheBudgetRunningOut() {
+		SearchContext context = new SearchContext();
+		Random random = new Random(20);
+		int cutShort = 0;
+
+		for(int i = 0; i < 200; i++) {
+			long state = Boards.scrambled(goal, 200, random);
+			int optimal = table.distance(state);
+			Passes passes = new Passes();
+
+			// the budget is checked every SearchBudget.CHECK_INTERVAL expansions, so this stops at the second check
+			SearchResult result = EightPuzzleSearch.anytimeSolution(Boards.root(goal, state), context, 5.0, 0.1,
+					passes, SearchBudget.UNLIMITED.withMaxNodes(1));
+			Solution solution = result.getSolution();
+
+			if(result.getExceededLimit() == null) {
+				assertEquals(optimal, solution.length());
+				continue;
+			}
+
+			assertEquals(SearchBudget.Limit.NODES, result.getExceededLimit());
+
+			if(solution != null) {
+				cutShort++;
+
+				assertEquals(goal.getGoalState(), Boards.replay(solution));
+				assertTrue(result.getSuboptimalityBound() >= 1.0);
+				assertTrue(solution.length() <= result.getSuboptimalityBound() * optimal + EPSILON);
+
+				// the listener hears about the solution and bound that are returned
+				assertSame(solution, passes.solutions.get(passes.solutions.size() - 1));
+				assertEquals(result.getSuboptimalityBound(), passes.bounds.get(passes.bounds.size() - 1));
+				passes.assertWithinBounds(optimal, 5.0);
+			}
+			else {
+				assertEquals(Double.POSITIVE_INFINITY, result.getSuboptimalityBound());
+			}
+		}
+
+		assertTrue(cutShort > 0);
+	}
+
+	@Test
+	void unsolvableBoardsStopBeforeSearching() {
+		long state = PackedState.pack(new int[][] {{2, 1, 3}, {4, 5, 6}, {7, 8, 0}});
+		SearchResult result = EightPuzzleSearch.anytimeSolution(Boards.root(goal, state), new SearchContext(), 3.0, 0.5,
+				null, SearchBudget.UNLIMITED);
+
+		assertNull(result.getSolution());
+		assertNull(result.getExceededLimit());
+		assertEquals(0, result.getStats().expanded);
+	}
+
+	@Test
+	void weightsMustBeWholeTenths() {
+		EightPuzzleNode root = Boards.root(goal, goal.getGoalState());
+		SearchContext context = new SearchContext();
+
+		assertNotNull(EightPuzzleSearch.anytimeSolution(root, context, 1.7, 0.3, null, SearchBudget.UNLIMITED));
+		assertThrows(IllegalArgumentException.class,
+				() -> EightPuzzleSearch.anytimeSolution(root, context, 0.9, 0.5, null, SearchBudget.UNLIMITED));
+		assertThrows(IllegalArgumentException.class,
+				() -> EightPuzzleSearch.anytimeSolution(root, context, 2.0, 0.05, null, SearchBudget.UNLIMITED));
+		assertThrows(IllegalArgumentException.class,
+				() -> EightPuzzleSearch.anytimeSolution(root, context, 1.25, 0.5, null, SearchBudget.UNLIMITED));
+	}
+
+	/**
+	 * Passes records every solution and bound the listener hears about.
+	 */
+
+	private static class Passes implements AnytimeListener {
+
+		private List<Solution> solutions = new ArrayList<Solution>();
+		private List<Double> bounds = new ArrayList<Double>();
+
+		@Override
+		public void solutionImproved(Solution solution, double bound) {
+			solutions.add(solution);
+			bounds.add(bound);
+		}
+
+		/**
+		 * Checks that the solutions never get longer, the bounds never
+		 * get looser, and every solution is within its bound.
+		 *
+		 * @param optimal The length of an optimal solution
+		 * @param initialWeight The weight of the first pass
+		 *
+		 * @return Nothing
+		 */
+
+		private void assertWithinBounds(int optimal, double initialWeight) {
+			for(int i = 0; i < solutions.size(); i++) {
+				assertTrue(bounds.get(i) <= initialWeight);
+				assertTrue(solutions.get(i).length() <= bounds.get(i) * optimal + EPSILON);
+
+				if(i > 0) {
+					assertTrue(solutions.get(i).length() <= solutions.get(i - 1).length());
+					assertTrue(bounds.get(i) <= bounds.get(i - 1));
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,55 @@
+package model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for BidirectionalSearch, checked against the exact distances
+ * of 3x3 boards.
+ *
+ * @author Edward B.
+ */
+
+class BidirectionalSearchTest {
+
+	private static GoalTable goal;
+	private static ExactDistanceTable table;
+
+	@BeforeAll
+	static void buildTable() {
+		goal = Boards.goal(3);
+		table = ExactDistanceTable.build(goal);
+	}
+
+	@Test
+	void solutionsAreOptimal() {
+		Random random = new Random(29);
+
+		for(int i = 0; i < 200; i++) {
+			long state = Boards.shuffled(3, random);
+			SearchResult result = EightPuzzleSearch.bidirectionalSolution(Boards.root(goal, state), SearchBudget.UNLIMITED);
+			Solution solution = result.getSolution();
+
+			assertNull(result.getExceededLimit());
+			assertEquals(table.distance(state), (solution == null) ? -1 : solution.length());
+
+			if(solution != null) {
+				assertEquals(goal.getGoalState(), Boards.replay(solution));
+			}
+		}
+	}
+
+	@Test
+	void unsolvableBoardsStopBeforeSearching() {
+		long state = PackedState.pack(new int[][] {{2, 1, 3}, {4, 5, 6}, {7, 8, 0}});
+		SearchResult result = EightPuzzleSearch.bidirectionalSolution(Boards.root(goal, state), SearchBudget.UNLIMITED);
+
+		assertNull(result.getSolution());
+		assertEquals(0, result.getStats().expanded);
+	}
+}
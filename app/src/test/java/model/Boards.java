@@ -0,0 +1,131 @@
+package model;
+
+import java.util.Random;
+
+/**
+ * Boards builds the goals and start boards the tests search from, and
+ * replays solutions to check where they end.
+ *
+ * @author Edward B.
+ */
+
+final class Boards {
+
+	private Boards() {
+	}
+
+	/**
+	 * Returns the usual goal, with the tiles in order and the empty
+	 * tile in the bottom right corner.
+	 *
+	 * @param size The width and height of the board
+	 *
+	 * @return GoalTable The goal
+	 */
+
+	static GoalTable goal(int size) {
+		int[] tiles = new int[size * size];
+
+		for(int i = 0; i < tiles.length - 1; i++) {
+			tiles[i] = i + 1;
+		}
+
+		return new GoalTable(size, PackedState.pack(tiles));
+	}
+
+	/**
+	 * Returns a board with its tiles shuffled uniformly, which is
+	 * unsolvable half of the time.
+	 *
+	 * @param size The width and height of the board
+	 * @param random The source of the shuffle
+	 *
+	 * @return long The packed board
+	 */
+
+	static long shuffled(int size, Random random) {
+		int[] tiles = new int[size * size];
+
+		for(int i = 0; i < tiles.length; i++) {
+			tiles[i] = i;
+		}
+		for(int i = tiles.length - 1; i > 0; i--) {
+			int j = random.nextInt(i + 1);
+			int tile = tiles[i];
+
+			tiles[i] = tiles[j];
+			tiles[j] = tile;
+		}
+
+		return PackedState.pack(tiles);
+	}
+
+	/**
+	 * Returns a solvable board, reached from the goal by random moves.
+	 *
+	 * @param goal The goal to start from
+	 * @param moves The number of random moves to make
+	 * @param random The source of the moves
+	 *
+	 * @return long The packed board
+	 */
+
+	static long scrambled(GoalTable goal, int moves, Random random) {
+		int size = goal.getSize();
+		long state = goal.getGoalState();
+		int blank = PackedState.indexOf(state, size, 0);
+
+		for(int i = 0; i < moves; i++) {
+			int target = Move.target(blank, size, random.nextInt(4));
+
+			if(target >= 0) {
+				state = PackedState.slide(state, blank, target);
+				blank = target;
+			}
+		}
+
+		return state;
+	}
+
+	/**
+	 * Returns a search root for a board.
+	 *
+	 * @param goal The goal to search for
+	 * @param state The packed board
+	 *
+	 * @return EightPuzzleNode The root
+	 */
+
+	static EightPuzzleNode root(GoalTable goal, long state) {
+		return new EightPuzzleNode(goal.getSize(), state, goal, null, 0, "START");
+	}
+
+	/**
+	 * Applies every move of a solution to its start board.
+	 *
+	 * @param solution The solution to replay
+	 *
+	 * @return long The packed board after the last move
+	 *
+	 * @throws AssertionError Thrown when a move leaves the board
+	 */
+
+	static long replay(Solution solution) {
+		int size = solution.getSize();
+		long state = solution.getStartState();
+		int blank = PackedState.indexOf(state, size, 0);
+
+		for(int i = 0; i < solution.length(); i++) {
+			int target = Move.target(blank, size, solution.getMove(i));
+
+			if(target < 0) {
+				throw new AssertionError("Move " + i + " of " + solution + " leaves the board");
+			}
+
+			state = PackedState.slide(state, blank, target);
+			blank = target;
+		}
+
+		return state;
+	}
+}
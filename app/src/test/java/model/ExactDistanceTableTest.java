@@ -0,0 +1,184 @@
+package model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.zip.CRC32;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests for ExactDistanceTable. The other search tests check their
+ * solution lengths against it.
+ *
+ * @author Edward B.
+ */
+
+class ExactDistanceTableTest {
+
+	private static final int HEADER_BYTES = Integer.BYTES + Long.BYTES;
+
+	private static GoalTable goal;
+	private static ExactDistanceTable table;
+
+	@TempDir
+	File directory;
+
+	@BeforeAll
+	static void buildTable() {
+		goal = Boards.goal(3);
+		table = ExactDistanceTable.build(goal);
+	}
+
+	@Test
+	void distancesMatchKnownBoards() {
+		assertEquals(0, table.distance(goal.getGoalState()));
+		assertEquals(31, table.distance(PackedState.pack(new int[][] {{8, 6, 7}, {2, 5, 4}, {3, 0, 1}})));
+		assertEquals(31, table.distance(PackedState.pack(new int[][] {{6, 4, 7}, {8, 5, 0}, {3, 2, 1}})));
+		assertEquals(-1, table.distance(PackedState.pack(new int[][] {{2, 1, 3}, {4, 5, 6}, {7, 8, 0}})));
+	}
+
+	@Test
+	void neighboursDifferByOneMove() {
+		Random random = new Random(7);
+
+		for(int i = 0; i < 2000; i++) {
+			long state = Boards.shuffled(3, random);
+			int d = table.distance(state);
+			int blank = PackedState.indexOf(state, 3, 0);
+			int closer = 0;
+
+			assertEquals(goal.isSolvable(PackedState.unpack(state, new int[9])), d >= 0);
+
+			for(int move = Move.UP; move <= Move.LEFT; move++) {
+				int target = Move.target(blank, 3, move);
+
+				if(target >= 0) {
+					int n = table.distance(PackedState.slide(state, blank, target));
+
+					if(d < 0) {
+						assertEquals(-1, n);
+					}
+					else {
+						assertEquals(1, Math.abs(n - d));
+						closer += (n < d) ? 1 : 0;
+					}
+				}
+			}
+
+			assertTrue((d <= 0) || (closer > 0));
+		}
+	}
+
+	@Test
+	void solveWritesAnOptimalPath() {
+		Random random = new Random(8);
+		int[] moves = new int[ExactDistanceTable.MAX_DISTANCE];
+
+		for(int i = 0; i < 2000; i++) {
+			long state = Boards.shuffled(3, random);
+			int length = table.solve(state, moves);
+
+			assertEquals(table.distance(state), length);
+
+			if(length >= 0) {
+				assertEquals(goal.getGoalState(), Boards.replay(new Solution(3, state, moves, length)));
+			}
+		}
+	}
+
+	@Test
+	void saveAndLoadRoundTrip() throws IOException {
+		File file = new File(directory, "3x3.table");
+
+		table.save(file);
+
+		ExactDistanceTable loaded = ExactDistanceTable.load(file, goal);
+		Random random = new Random(9);
+
+		for(int i = 0; i < 2000; i++) {
+			long state = Boards.shuffled(3, random);
+
+			assertEquals(table.distance(state), loaded.distance(state));
+		}
+	}
+
+	@Test
+	void loadRejectsAnotherGoal() throws IOException {
+		File file = new File(directory, "3x3.table");
+
+		table.save(file);
+
+		GoalTable other = new GoalTable(3, PackedState.pack(new int[][] {{0, 1, 2}, {3, 4, 5}, {6, 7, 8}}));
+
+		assertThrows(IOException.class, () -> ExactDistanceTable.load(file, other));
+	}
+
+	@Test
+	void loadRejectsDamagedFiles() throws IOException {
+		File file = new File(directory, "3x3.table");
+
+		table.save(file);
+
+		byte[] saved = Files.readAllBytes(file.toPath());
+
+		// a flipped distance fails the checksum
+		byte[] flipped = saved.clone();
+		flipped[HEADER_BYTES + 1000] ^= 1;
+		assertRejected(file, flipped);
+
+		// as does a file cut short or one with bytes after the checksum
+		assertRejected(file, Arrays.copyOf(saved, saved.length - 1));
+		assertRejected(file, Arrays.copyOf(saved, saved.length + 1));
+
+		// a distance out of range is rejected even with a matching checksum
+		byte[] outOfRange = saved.clone();
+		outOfRange[HEADER_BYTES + 1000] = (byte) (ExactDistanceTable.MAX_DISTANCE + 1);
+		assertRejected(file, withChecksum(outOfRange));
+	}
+
+	/**
+	 * Writes the bytes to the file and checks that load() rejects them.
+	 *
+	 * @param file The file to write
+	 * @param bytes The contents to write
+	 *
+	 * @return Nothing
+	 *
+	 * @throws IOException Thrown when the file cannot be written
+	 */
+
+	private static void assertRejected(File file, byte[] bytes) throws IOException {
+		Files.write(file.toPath(), bytes);
+
+		assertThrows(IOException.class, () -> ExactDistanceTable.load(file, goal));
+	}
+
+	/**
+	 * Replaces the checksum at the end of a saved table with the
+	 * checksum of its distances.
+	 *
+	 * @param bytes The saved table
+	 *
+	 * @return byte[] The same array
+	 */
+
+	private static byte[] withChecksum(byte[] bytes) {
+		CRC32 crc = new CRC32();
+		int end = bytes.length - Long.BYTES;
+
+		crc.update(bytes, HEADER_BYTES, end - HEADER_BYTES);
+		ByteBuffer.wrap(bytes, end, Long.BYTES).putLong(crc.getValue());
+
+		return bytes;
+	}
+}
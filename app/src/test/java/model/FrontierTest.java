@@ -0,0 +1,145 @@
+package model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for the open lists: BucketFrontier and PriorityQueueFrontier
+ * over EightPuzzleNode objects, and HandleFrontier over arena handles.
+ *
+ * @author Edward B.
+ */
+
+class FrontierTest {
+
+	@Test
+	void frontiersPollInOrderOfTotalCost() {
+		List<EightPuzzleNode> nodes = generate(Boards.goal(3), 500, new Random(4));
+
+		for(Frontier frontier : new Frontier[] {new BucketFrontier(), new PriorityQueueFrontier()}) {
+			for(EightPuzzleNode node : nodes) {
+				frontier.add(node);
+			}
+
+			assertEquals(nodes.size(), frontier.size());
+
+			int previous = Integer.MIN_VALUE;
+
+			while(!frontier.isEmpty()) {
+				int f = frontier.poll().getTotalCost();
+
+				assertTrue(f >= previous);
+				previous = f;
+			}
+
+			assertEquals(0, frontier.size());
+			assertNull(frontier.poll());
+		}
+	}
+
+	@Test
+	void bucketFrontierBreaksTiesByLowestEstimateThenMostRecent() {
+		List<EightPuzzleNode> nodes = generate(Boards.goal(3), 500, new Random(5));
+		BucketFrontier frontier = new BucketFrontier();
+		PriorityQueue<Entry> expected = new PriorityQueue<Entry>(Entry.ORDER);
+
+		for(int i = 0; i < nodes.size(); i++) {
+			EightPuzzleNode node = nodes.get(i);
+
+			frontier.add(node);
+			expected.add(new Entry(i, node.getTotalCost(), node.getEstimate()));
+		}
+
+		while(!expected.isEmpty()) {
+			assertSame(nodes.get(expected.poll().node), frontier.poll());
+		}
+
+		assertTrue(frontier.isEmpty());
+	}
+
+	@Test
+	void handleFrontierMatchesReferenceOrderWhileInterleaved() {
+		Random random = new Random(6);
+		HandleFrontier frontier = new HandleFrontier();
+		PriorityQueue<Entry> expected = new PriorityQueue<Entry>(Entry.ORDER);
+
+		for(int round = 0; round < 3; round++) {
+			for(int i = 0; i < 20000; i++) {
+				if(expected.isEmpty() || (random.nextInt(3) != 0)) {
+					int estimate = random.nextInt(40);
+					int totalCost = estimate + random.nextInt(200);
+
+					frontier.add(i, totalCost, estimate);
+					expected.add(new Entry(i, totalCost, estimate));
+				}
+				else {
+					assertEquals(expected.poll().node, frontier.poll());
+				}
+
+				assertEquals(expected.size(), frontier.size());
+			}
+
+			// clearing keeps the stacks, which must come back empty
+			frontier.clear();
+			expected.clear();
+
+			assertTrue(frontier.isEmpty());
+			assertEquals(NodeArena.NO_PARENT, frontier.poll());
+		}
+	}
+
+	/**
+	 * Returns the nodes generated by expanding a search tree breadth
+	 * first from a scrambled board, with their many duplicate total
+	 * costs and estimates.
+	 *
+	 * @param goal The goal of the board
+	 * @param count The number of nodes to return
+	 * @param random The source of the starting board
+	 *
+	 * @return List The nodes, in the order they were generated
+	 */
+
+	private static List<EightPuzzleNode> generate(GoalTable goal, int count, Random random) {
+		List<EightPuzzleNode> nodes = new ArrayList<EightPuzzleNode>();
+
+		nodes.add(Boards.root(goal, Boards.scrambled(goal, 100, random)));
+
+		for(int i = 0; nodes.size() < count; i++) {
+			nodes.addAll(nodes.get(i).generateSuccessors());
+		}
+
+		return nodes.subList(0, count);
+	}
+
+	/**
+	 * Entry is a node in the reference order the frontiers must follow:
+	 * lowest total cost, then lowest estimate, then most recently added.
+	 */
+
+	private static class Entry {
+
+		static final Comparator<Entry> ORDER = Comparator.<Entry>comparingInt(e -> e.totalCost)
+				.thenComparingInt(e -> e.estimate).thenComparingInt(e -> -e.node);
+
+		final int node;
+		final int totalCost;
+		final int estimate;
+
+		Entry(int node, int totalCost, int estimate) {
+			this.node = node;
+			this.totalCost = totalCost;
+			this.estimate = estimate;
+		}
+	}
+}
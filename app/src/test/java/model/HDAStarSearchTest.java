@@ -0,0 +1,87 @@
+package model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for HDAStarSearch, checked against the exact distances of 3x3
+ * boards and against A* on 4x4 boards.
+ *
+ * @author Edward B.
+ */
+
+class HDAStarSearchTest {
+
+	private static GoalTable goal;
+	private static ExactDistanceTable table;
+
+	@BeforeAll
+	static void buildTable() {
+		goal = Boards.goal(3);
+		table = ExactDistanceTable.build(goal);
+	}
+
+	@Test
+	void solutionsAreOptimalForAnyNumberOfWorkers() throws InterruptedException {
+		Random random = new Random(21);
+
+		for(int threads : new int[] {1, 2, 4, 8}) {
+			for(int i = 0; i < 50; i++) {
+				long state = Boards.shuffled(3, random);
+				SearchResult result = EightPuzzleSearch.parallelAStarSolution(Boards.root(goal, state), threads,
+						SearchBudget.UNLIMITED);
+				Solution solution = result.getSolution();
+
+				assertNull(result.getExceededLimit());
+				assertEquals(table.distance(state), (solution == null) ? -1 : solution.length());
+
+				if(solution != null) {
+					assertEquals(goal.getGoalState(), Boards.replay(solution));
+				}
+			}
+		}
+	}
+
+	@Test
+	void hardestBoardsAreSolvedOptimally() throws InterruptedException {
+		long[] hardest = {
+				PackedState.pack(new int[][] {{8, 6, 7}, {2, 5, 4}, {3, 0, 1}}),
+				PackedState.pack(new int[][] {{6, 4, 7}, {8, 5, 0}, {3, 2, 1}})
+		};
+
+		for(long state : hardest) {
+			assertEquals(31, EightPuzzleSearch.parallelAStarSolution(Boards.root(goal, state), 4,
+					SearchBudget.UNLIMITED).getSolution().length());
+		}
+	}
+
+	@Test
+	void solutionsMatchAStarOn4x4Boards() throws InterruptedException {
+		GoalTable wide = Boards.goal(4);
+		Random random = new Random(22);
+
+		for(int i = 0; i < 10; i++) {
+			long state = Boards.scrambled(wide, 60, random);
+			EightPuzzleNode root = Boards.root(wide, state);
+			Solution solution = EightPuzzleSearch.parallelAStarSolution(root, 4, SearchBudget.UNLIMITED).getSolution();
+
+			assertEquals(EightPuzzleSearch.aStarSolution(root).length(), solution.length());
+			assertEquals(wide.getGoalState(), Boards.replay(solution));
+		}
+	}
+
+	@Test
+	void runningOutOfBudgetReturnsTheLimit() throws InterruptedException {
+		long state = PackedState.pack(new int[][] {{8, 6, 7}, {2, 5, 4}, {3, 0, 1}});
+		SearchResult result = EightPuzzleSearch.parallelAStarSolution(Boards.root(goal, state), 4,
+				SearchBudget.UNLIMITED.withMaxNodes(100));
+
+		assertEquals(SearchBudget.Limit.NODES, result.getExceededLimit());
+		assertNull(result.getSolution());
+	}
+}
@@ -0,0 +1,163 @@
+package model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for the heuristics: every estimate is admissible against the
+ * exact distances of 3x3 boards, and incremental updates agree with
+ * estimates computed from scratch.
+ *
+ * @author Edward B.
+ */
+
+class HeuristicTest {
+
+	private static GoalTable goal;
+	private static ExactDistanceTable table;
+
+	@BeforeAll
+	static void buildTable() {
+		goal = Boards.goal(3);
+		table = ExactDistanceTable.build(goal);
+	}
+
+	@Test
+	void linearConflictsAddToManhattanDistanceAdmissibly() {
+		Heuristic manhattan = new ManhattanHeuristic(goal);
+		Heuristic conflicts = new LinearConflictHeuristic(goal);
+		Random random = new Random(10);
+
+		for(int i = 0; i < 5000; i++) {
+			long state = Boards.scrambled(goal, 200, random);
+			int[] tiles = PackedState.unpack(state, new int[9]);
+			int m = manhattan.estimate(tiles);
+			int c = conflicts.estimate(tiles);
+
+			assertTrue(m <= c);
+			assertTrue(c <= table.distance(state));
+			assertEquals(0, (c - m) % 2);
+		}
+	}
+
+	@Test
+	void linearConflictUpdatesMatchEstimates() {
+		for(int size = 2; size <= 5; size++) {
+			GoalTable g = new GoalTable(wideGoal(size));
+
+			assertUpdatesMatchEstimates(g, new LinearConflictHeuristic(g), new Random(size));
+		}
+	}
+
+	@Test
+	void linearConflictRejectsBoardsWiderThan16() {
+		new LinearConflictHeuristic(new GoalTable(wideGoal(16)));
+
+		assertThrows(IllegalArgumentException.class, () -> new LinearConflictHeuristic(new GoalTable(wideGoal(17))));
+	}
+
+	@Test
+	void patternDatabasesAreAdmissibleAndDominateManhattanDistance() {
+		Heuristic manhattan = new ManhattanHeuristic(goal);
+		PatternDatabaseHeuristic databases = new PatternDatabaseHeuristic(goal);
+		Heuristic reflecting = databases.withReflection();
+		Random random = new Random(11);
+
+		assertEquals(0, reflecting.estimate(PackedState.unpack(goal.getGoalState(), new int[9])));
+
+		for(int i = 0; i < 5000; i++) {
+			long state = Boards.scrambled(goal, 200, random);
+			int[] tiles = PackedState.unpack(state, new int[9]);
+			int p = databases.estimate(tiles);
+			int r = reflecting.estimate(tiles);
+
+			assertTrue(manhattan.estimate(tiles) <= p);
+			assertTrue(p <= r);
+			assertTrue(r <= table.distance(state));
+		}
+	}
+
+	@Test
+	void patternDatabaseUpdatesMatchEstimates() {
+		PatternDatabaseHeuristic databases = new PatternDatabaseHeuristic(goal);
+		GoalTable wide = Boards.goal(4);
+		int[][] triples = {{0, 1, 2}, {3, 4, 5}, {6, 7, 8}, {9, 10, 11}, {12, 13, 14, 15}};
+
+		assertUpdatesMatchEstimates(goal, databases, new Random(12));
+		assertUpdatesMatchEstimates(goal, databases.withReflection(), new Random(13));
+		assertUpdatesMatchEstimates(wide, new PatternDatabaseHeuristic(wide, triples), new Random(14));
+	}
+
+	@Test
+	void patternGroupsMustSplitTheTiles() {
+		assertThrows(IllegalArgumentException.class,
+				() -> new PatternDatabaseHeuristic(goal, new int[][] {{0, 1, 3, 4}, {4, 2, 5, 6, 7}}));
+		assertThrows(IllegalArgumentException.class,
+				() -> new PatternDatabaseHeuristic(goal, new int[][] {{0, 1, 3, 4}, {2, 5, 6}}));
+	}
+
+	/**
+	 * Makes random moves on a board, checking after each one that
+	 * updating the estimate gives what estimating from scratch does.
+	 *
+	 * @param g The goal of the board
+	 * @param heuristic The heuristic to check
+	 * @param random The source of the moves
+	 *
+	 * @return Nothing
+	 */
+
+	static void assertUpdatesMatchEstimates(GoalTable g, Heuristic heuristic, Random random) {
+		int size = g.getSize();
+		int[] tiles = new int[size * size];
+		int blank = 0;
+
+		for(int i = 0; i < tiles.length; i++) {
+			tiles[i] = g.goalTileAt(i);
+			blank = (tiles[i] == 0) ? i : blank;
+		}
+
+		int h = heuristic.estimate(tiles);
+
+		for(int i = 0; i < 2000; i++) {
+			int target = Move.target(blank, size, random.nextInt(4));
+
+			if(target < 0) {
+				continue;
+			}
+
+			int tile = tiles[target];
+
+			tiles[blank] = tile;
+			tiles[target] = 0;
+			h = heuristic.update(tiles, h, tile, target, blank);
+			blank = target;
+
+			assertEquals(heuristic.estimate(tiles), h);
+		}
+	}
+
+	/**
+	 * Returns the usual goal for a board too large to pack.
+	 *
+	 * @param size The width and height of the board
+	 *
+	 * @return int[][] The goal board
+	 */
+
+	private static int[][] wideGoal(int size) {
+		int[][] board = new int[size][size];
+
+		for(int i = 0; i < size * size - 1; i++) {
+			board[i / size][i % size] = i + 1;
+		}
+
+		return board;
+	}
+}
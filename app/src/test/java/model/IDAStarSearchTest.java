@@ -0,0 +1,67 @@
+package model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for IDAStarSearch, checked against the exact distances of 3x3
+ * boards.
+ *
+ * @author Edward B.
+ */
+
+class IDAStarSearchTest {
+
+	private static GoalTable goal;
+	private static ExactDistanceTable table;
+
+	@BeforeAll
+	static void buildTable() {
+		goal = Boards.goal(3);
+		table = ExactDistanceTable.build(goal);
+	}
+
+	@Test
+	void solutionsAreOptimal() {
+		Random random = new Random(28);
+
+		for(int i = 0; i < 200; i++) {
+			long state = Boards.shuffled(3, random);
+			List<Integer> bounds = new ArrayList<Integer>();
+			SearchResult result = EightPuzzleSearch.idaStarSolution(Boards.root(goal, state),
+					(bound, nodes) -> bounds.add(bound), SearchBudget.UNLIMITED);
+			Solution solution = result.getSolution();
+			int optimal = table.distance(state);
+
+			assertNull(result.getExceededLimit());
+			assertEquals(optimal, (solution == null) ? -1 : solution.length());
+
+			if(solution == null) {
+				// unsolvable boards are caught before the first iteration
+				assertTrue(bounds.isEmpty());
+				continue;
+			}
+
+			assertEquals(goal.getGoalState(), Boards.replay(solution));
+			assertEquals(optimal, bounds.get(bounds.size() - 1).intValue());
+		}
+	}
+
+	@Test
+	void runningOutOfBudgetReturnsTheLimit() {
+		long state = PackedState.pack(new int[][] {{8, 6, 7}, {2, 5, 4}, {3, 0, 1}});
+		SearchResult result = EightPuzzleSearch.idaStarSolution(Boards.root(goal, state), null,
+				SearchBudget.UNLIMITED.withMaxNodes(1000));
+
+		assertEquals(SearchBudget.Limit.NODES, result.getExceededLimit());
+		assertNull(result.getSolution());
+	}
+}
@@ -0,0 +1,112 @@
+package model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for LongIntHashMap, checked against a HashMap.
+ *
+ * @author Edward B.
+ */
+
+class LongIntHashMapTest {
+
+	@Test
+	void putReturnsThePreviousValue() {
+		LongIntHashMap map = new LongIntHashMap();
+
+		assertEquals(LongIntHashMap.NO_VALUE, map.put(42L, 1));
+		assertEquals(1, map.put(42L, 2));
+		assertEquals(2, map.get(42L));
+		assertEquals(1, map.size());
+	}
+
+	@Test
+	void zeroIsAnOrdinaryKey() {
+		LongIntHashMap map = new LongIntHashMap();
+
+		assertFalse(map.containsKey(0L));
+		assertEquals(LongIntHashMap.NO_VALUE, map.put(0L, 7));
+		assertTrue(map.containsKey(0L));
+		assertEquals(7, map.get(0L));
+		assertEquals(1, map.size());
+		assertEquals(7, map.remove(0L));
+		assertEquals(LongIntHashMap.NO_VALUE, map.remove(0L));
+		assertEquals(0, map.size());
+	}
+
+	@Test
+	void growsPastItsExpectedSize() {
+		LongIntHashMap map = new LongIntHashMap(0);
+
+		for(int i = 0; i < 10000; i++) {
+			map.put(i * 31L, i);
+		}
+
+		assertEquals(10000, map.size());
+
+		for(int i = 0; i < 10000; i++) {
+			assertEquals(i, map.get(i * 31L));
+		}
+	}
+
+	@Test
+	void removeKeepsEveryOtherKeyReachable() {
+		Random random = new Random(3);
+
+		// a small key range in a small table makes long probe runs that wrap around the end
+		for(int round = 0; round < 20; round++) {
+			LongIntHashMap map = new LongIntHashMap(random.nextInt(64));
+			Map<Long, Integer> expected = new HashMap<Long, Integer>();
+
+			for(int i = 0; i < 20000; i++) {
+				long key = random.nextInt(200);
+				int value = random.nextInt(1000);
+
+				if(random.nextInt(3) == 0) {
+					Integer removed = expected.remove(key);
+
+					assertEquals((removed == null) ? LongIntHashMap.NO_VALUE : removed.intValue(), map.remove(key));
+				}
+				else {
+					Integer previous = expected.put(key, value);
+
+					assertEquals((previous == null) ? LongIntHashMap.NO_VALUE : previous.intValue(), map.put(key, value));
+				}
+
+				assertEquals(expected.size(), map.size());
+			}
+
+			for(long key = 0; key < 200; key++) {
+				Integer value = expected.get(key);
+
+				assertEquals(value != null, map.containsKey(key));
+				assertEquals((value == null) ? LongIntHashMap.NO_VALUE : value.intValue(), map.get(key));
+			}
+		}
+	}
+
+	@Test
+	void clearEmptiesTheTable() {
+		LongIntHashMap map = new LongIntHashMap();
+
+		for(long key = 0; key < 100; key++) {
+			map.put(key, 1);
+		}
+
+		map.clear();
+
+		assertEquals(0, map.size());
+
+		for(long key = 0; key < 100; key++) {
+			assertFalse(map.containsKey(key));
+		}
+	}
+}
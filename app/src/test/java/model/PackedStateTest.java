@@ -0,0 +1,87 @@
+package model;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for PackedState.
+ *
+ * @author Edward B.
+ */
+
+class PackedStateTest {
+
+	@Test
+	void packAndUnpackRoundTrip() {
+		Random random = new Random(1);
+
+		for(int size = 2; size <= PackedState.MAX_SIZE; size++) {
+			for(int i = 0; i < 100; i++) {
+				long state = Boards.shuffled(size, random);
+				int[][] board = PackedState.unpack(state, size);
+
+				assertEquals(state, PackedState.pack(board));
+				assertEquals(state, PackedState.pack(PackedState.unpack(state, new int[size * size])));
+
+				for(int index = 0; index < size * size; index++) {
+					assertEquals(board[index / size][index % size], PackedState.tileAt(state, index));
+					assertEquals(index, PackedState.indexOf(state, size, board[index / size][index % size]));
+				}
+			}
+		}
+	}
+
+	@Test
+	void packUsesFourBitsPerTileInRowMajorOrder() {
+		int[][] board = {{1, 2, 3}, {4, 5, 6}, {7, 8, 0}};
+
+		assertEquals(0x087654321L, PackedState.pack(board));
+		assertArrayEquals(board, PackedState.unpack(0x087654321L, 3));
+	}
+
+	@Test
+	void slideMovesOneTileIntoTheBlank() {
+		Random random = new Random(2);
+
+		for(int i = 0; i < 1000; i++) {
+			long state = Boards.shuffled(4, random);
+			int[] tiles = PackedState.unpack(state, new int[16]);
+			int blank = PackedState.indexOf(state, 4, 0);
+			int move = random.nextInt(4);
+			int target = Move.target(blank, 4, move);
+
+			if(target < 0) {
+				continue;
+			}
+
+			tiles[blank] = tiles[target];
+			tiles[target] = 0;
+
+			long slid = PackedState.slide(state, blank, target);
+
+			assertEquals(PackedState.pack(tiles), slid);
+			assertEquals(state, PackedState.slide(slid, target, blank));
+		}
+	}
+
+	@Test
+	void onlyBoardsUpTo4x4Fit() {
+		assertFalse(PackedState.fits(1));
+		assertTrue(PackedState.fits(2));
+		assertTrue(PackedState.fits(4));
+		assertFalse(PackedState.fits(5));
+		assertThrows(IllegalArgumentException.class, () -> PackedState.pack(new int[5][5]));
+	}
+
+	@Test
+	void indexOfMissingTileIsMinusOne() {
+		assertEquals(-1, PackedState.indexOf(Boards.goal(3).getGoalState(), 3, 9));
+	}
+}
@@ -0,0 +1,102 @@
+package model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for ParallelIDAStarSearch, checked against the exact distances
+ * of 3x3 boards and against A* on 4x4 boards.
+ *
+ * @author Edward B.
+ */
+
+class ParallelIDAStarSearchTest {
+
+	private static GoalTable goal;
+	private static ExactDistanceTable table;
+	private static ForkJoinPool pool;
+
+	@BeforeAll
+	static void buildTable() {
+		goal = Boards.goal(3);
+		table = ExactDistanceTable.build(goal);
+		pool = new ForkJoinPool(4);
+	}
+
+	@AfterAll
+	static void shutDownPool() {
+		pool.shutdown();
+	}
+
+	@Test
+	void solutionsAreOptimal() {
+		Random random = new Random(23);
+
+		for(int i = 0; i < 200; i++) {
+			long state = Boards.shuffled(3, random);
+			List<Integer> bounds = new ArrayList<Integer>();
+			SearchResult result = EightPuzzleSearch.parallelIdaStarSolution(Boards.root(goal, state), pool,
+					(bound, nodes) -> bounds.add(bound), SearchBudget.UNLIMITED);
+			Solution solution = result.getSolution();
+			int optimal = table.distance(state);
+
+			assertNull(result.getExceededLimit());
+			assertEquals(optimal, (solution == null) ? -1 : solution.length());
+
+			if(solution != null) {
+				assertEquals(goal.getGoalState(), Boards.replay(solution));
+
+				// every iteration raises the bound, and the last one is the solution's length
+				for(int j = 1; j < bounds.size(); j++) {
+					assertTrue(bounds.get(j) > bounds.get(j - 1));
+				}
+
+				assertEquals(optimal, bounds.get(bounds.size() - 1).intValue());
+			}
+		}
+	}
+
+	@Test
+	void solutionsMatchAStarOn4x4Boards() {
+		GoalTable wide = Boards.goal(4);
+		Random random = new Random(24);
+
+		for(int i = 0; i < 10; i++) {
+			long state = Boards.scrambled(wide, 60, random);
+			EightPuzzleNode root = Boards.root(wide, state);
+			Solution solution = EightPuzzleSearch.parallelIdaStarSolution(root, pool, null, SearchBudget.UNLIMITED).getSolution();
+
+			assertEquals(EightPuzzleSearch.aStarSolution(root).length(), solution.length());
+			assertEquals(wide.getGoalState(), Boards.replay(solution));
+		}
+	}
+
+	@Test
+	void solutionsFoundAsTheBudgetRunsOutAreOptimal() {
+		Random random = new Random(25);
+
+		for(int i = 0; i < 100; i++) {
+			long state = Boards.scrambled(goal, 200, random);
+			SearchResult result = EightPuzzleSearch.parallelIdaStarSolution(Boards.root(goal, state), pool, null,
+					SearchBudget.UNLIMITED.withMaxNodes(2000));
+			Solution solution = result.getSolution();
+
+			assertTrue((solution != null) || (result.getExceededLimit() == SearchBudget.Limit.NODES));
+
+			if(solution != null) {
+				assertEquals(table.distance(state), solution.length());
+				assertEquals(goal.getGoalState(), Boards.replay(solution));
+			}
+		}
+	}
+}
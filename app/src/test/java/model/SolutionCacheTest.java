@@ -0,0 +1,228 @@
+package model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests for SolutionCache, in memory and opened on a file.
+ *
+ * @author Edward B.
+ */
+
+class SolutionCacheTest {
+
+	private static final int HEADER_BYTES = 2 * Integer.BYTES + Long.BYTES;
+
+	private static GoalTable goal;
+	private static Symmetry symmetry;
+	private static List<Solution> solutions;
+
+	@TempDir
+	File directory;
+
+	@BeforeAll
+	static void solveBoards() {
+		ExactDistanceTable table;
+		Set<Long> canonical = new HashSet<Long>();
+		Random random = new Random(18);
+		int[] moves = new int[ExactDistanceTable.MAX_DISTANCE];
+
+		goal = Boards.goal(3);
+		symmetry = new Symmetry(goal);
+		table = ExactDistanceTable.build(goal);
+		solutions = new ArrayList<Solution>();
+
+		// boards that are not reflections of each other, so each takes its own entry
+		while(solutions.size() < 10) {
+			long state = Boards.scrambled(goal, 100, random);
+
+			if((symmetry.reflect(state) != state) && canonical.add(symmetry.canonical(state))) {
+				solutions.add(new Solution(3, state, moves, table.solve(state, moves)));
+			}
+		}
+	}
+
+	@Test
+	void aBoardAndItsReflectionShareOneEntry() throws IOException {
+		SolutionCache cache = new SolutionCache(goal, 10);
+		Solution solution = solutions.get(0);
+		long reflected = symmetry.reflect(solution.getStartState());
+
+		assertNull(cache.get(solution.getStartState()));
+
+		cache.put(solution);
+
+		assertEquals(1, cache.size());
+		assertEquals(solution.getStartState(), cache.get(solution.getStartState()).getStartState());
+
+		Solution other = cache.get(reflected);
+
+		assertEquals(reflected, other.getStartState());
+		assertEquals(solution.length(), other.length());
+		assertEquals(goal.getGoalState(), Boards.replay(other));
+
+		cache.put(symmetry.reflect(solution));
+
+		assertEquals(1, cache.size());
+		assertEquals(2, cache.getHits());
+		assertEquals(1, cache.getMisses());
+	}
+
+	@Test
+	void evictionSparesEntriesLookedUpSinceTheLastSweep() throws IOException {
+		SolutionCache cache = new SolutionCache(goal, 2);
+
+		cache.put(solutions.get(0));
+		cache.put(solutions.get(1));
+		cache.get(solutions.get(0).getStartState());
+		cache.put(solutions.get(2));
+
+		assertEquals(2, cache.size());
+		assertNotNull(cache.get(solutions.get(0).getStartState()));
+		assertNull(cache.get(solutions.get(1).getStartState()));
+		assertNotNull(cache.get(solutions.get(2).getStartState()));
+	}
+
+	@Test
+	void reopenedCacheHoldsTheSavedSolutions() throws IOException {
+		File file = new File(directory, "3x3.solutions");
+
+		try(SolutionCache cache = SolutionCache.open(file, goal, 10)) {
+			for(int i = 0; i < 5; i++) {
+				cache.put(solutions.get(i));
+			}
+		}
+
+		try(SolutionCache cache = SolutionCache.open(file, goal, 10)) {
+			assertEquals(5, cache.size());
+
+			for(int i = 0; i < 5; i++) {
+				Solution solution = cache.get(solutions.get(i).getStartState());
+
+				assertEquals(solutions.get(i).length(), solution.length());
+				assertEquals(goal.getGoalState(), Boards.replay(solution));
+			}
+		}
+	}
+
+	@Test
+	void aRecordCutShortIsDropped() throws IOException {
+		File file = new File(directory, "3x3.solutions");
+
+		try(SolutionCache cache = SolutionCache.open(file, goal, 10)) {
+			cache.put(solutions.get(0));
+			cache.put(solutions.get(1));
+		}
+
+		long complete = file.length();
+
+		// the start board and length of a record whose moves were never written
+		try(DataOutputStream out = new DataOutputStream(new FileOutputStream(file, true))) {
+			out.writeLong(solutions.get(2).getStartState());
+			out.writeShort(solutions.get(2).length());
+		}
+
+		try(SolutionCache cache = SolutionCache.open(file, goal, 10)) {
+			assertEquals(2, cache.size());
+			assertEquals(complete, file.length());
+		}
+	}
+
+	@Test
+	void aFileHoldingManyMoreRecordsThanTheCacheIsCompacted() throws IOException {
+		File file = new File(directory, "3x3.solutions");
+
+		try(SolutionCache cache = SolutionCache.open(file, goal, 10)) {
+			for(Solution solution : solutions) {
+				cache.put(solution);
+			}
+		}
+		try(SolutionCache cache = SolutionCache.open(file, goal, 2)) {
+			assertEquals(2, cache.size());
+		}
+
+		long kept = HEADER_BYTES;
+
+		for(Solution solution : solutions.subList(solutions.size() - 2, solutions.size())) {
+			kept += recordBytes(solution);
+		}
+
+		// the last two records loaded are the ones the cache kept
+		assertEquals(kept, file.length());
+
+		try(SolutionCache cache = SolutionCache.open(file, goal, 10)) {
+			assertEquals(2, cache.size());
+			assertNotNull(cache.get(solutions.get(solutions.size() - 1).getStartState()));
+		}
+	}
+
+	@Test
+	void loadRejectsInvalidFiles() throws IOException {
+		File file = new File(directory, "3x3.solutions");
+		Solution solution = solutions.get(0);
+
+		try(SolutionCache cache = SolutionCache.open(file, goal, 10)) {
+			cache.put(solution);
+		}
+
+		GoalTable other = new GoalTable(3, PackedState.pack(new int[][] {{0, 1, 2}, {3, 4, 5}, {6, 7, 8}}));
+
+		assertThrows(IOException.class, () -> SolutionCache.open(file, other, 10));
+
+		// a record whose moves stop one short of the goal
+		try(DataOutputStream out = new DataOutputStream(new FileOutputStream(file, true))) {
+			int[] moves = new int[solution.length()];
+
+			for(int i = 0; i < moves.length; i++) {
+				moves[i] = solution.getMove(i);
+			}
+
+			Solution shorter = new Solution(3, solution.getStartState(), moves, moves.length - 1);
+			byte[] packed = new byte[(shorter.length() + 3) / 4];
+
+			for(int i = 0; i < shorter.length(); i++) {
+				packed[i / 4] |= (byte) (shorter.getMove(i) << (2 * (i % 4)));
+			}
+
+			out.writeLong(shorter.getStartState());
+			out.writeShort(shorter.length());
+			out.write(packed);
+		}
+
+		assertThrows(IOException.class, () -> SolutionCache.open(file, goal, 10));
+	}
+
+	@Test
+	void onlyPackableGoalsAndPositiveCapacities() {
+		assertThrows(IllegalArgumentException.class, () -> new SolutionCache(goal, 0));
+		assertThrows(IllegalArgumentException.class, () -> new SolutionCache(new GoalTable(new int[5][5]), 10));
+	}
+
+	/**
+	 * Returns the number of bytes a solution's record takes in the file.
+	 *
+	 * @param solution The solution
+	 *
+	 * @return long The record's size in bytes
+	 */
+
+	private static long recordBytes(Solution solution) {
+		return Long.BYTES + Short.BYTES + (solution.length() + 3) / 4;
+	}
+}
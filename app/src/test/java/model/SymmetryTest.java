@@ -0,0 +1,106 @@
+package model;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for Symmetry.
+ *
+ * @author Edward B.
+ */
+
+class SymmetryTest {
+
+	@Test
+	void reflectingTwiceGivesTheBoardBack() {
+		Random random = new Random(15);
+
+		for(int size = 2; size <= PackedState.MAX_SIZE; size++) {
+			Symmetry symmetry = new Symmetry(Boards.goal(size));
+
+			for(int i = 0; i < 500; i++) {
+				long state = Boards.shuffled(size, random);
+				int[] tiles = PackedState.unpack(state, new int[size * size]);
+				int[] reflected = symmetry.reflect(tiles, new int[tiles.length]);
+
+				assertEquals(PackedState.pack(reflected), symmetry.reflect(state));
+				assertEquals(state, symmetry.reflect(symmetry.reflect(state)));
+				assertArrayEquals(tiles, symmetry.reflect(reflected, new int[tiles.length]));
+				assertEquals(symmetry.canonical(state), symmetry.canonical(symmetry.reflect(state)));
+			}
+		}
+	}
+
+	@Test
+	void theGoalReflectsOntoItself() {
+		for(int size = 2; size <= PackedState.MAX_SIZE; size++) {
+			GoalTable goal = Boards.goal(size);
+
+			assertEquals(goal.getGoalState(), new Symmetry(goal).reflect(goal.getGoalState()));
+		}
+	}
+
+	@Test
+	void reflectedBoardsAreAsFarFromTheGoal() {
+		GoalTable goal = Boards.goal(3);
+		ExactDistanceTable table = ExactDistanceTable.build(goal);
+		Symmetry symmetry = new Symmetry(goal);
+		Random random = new Random(16);
+
+		for(int i = 0; i < 5000; i++) {
+			long state = Boards.shuffled(3, random);
+
+			assertEquals(table.distance(state), table.distance(symmetry.reflect(state)));
+		}
+	}
+
+	@Test
+	void movesReflectOntoTheOtherAxis() {
+		Symmetry symmetry = new Symmetry(Boards.goal(4));
+
+		for(int blank = 0; blank < 16; blank++) {
+			for(int move = Move.UP; move <= Move.LEFT; move++) {
+				int target = Move.target(blank, 4, move);
+				int reflected = Move.target(symmetry.reflectCell(blank), 4, Symmetry.reflectMove(move));
+
+				assertEquals((target < 0) ? -1 : symmetry.reflectCell(target), reflected);
+				assertEquals(move, Symmetry.reflectMove(Symmetry.reflectMove(move)));
+			}
+		}
+	}
+
+	@Test
+	void reflectedSolutionsSolveTheReflectedBoard() {
+		GoalTable goal = Boards.goal(4);
+		Symmetry symmetry = new Symmetry(goal);
+		Random random = new Random(17);
+
+		for(int i = 0; i < 100; i++) {
+			long state = Boards.scrambled(goal, 60, random);
+			Solution solution = EightPuzzleSearch.aStarSolution(Boards.root(goal, state));
+			Solution reflected = symmetry.reflect(solution);
+
+			assertEquals(symmetry.reflect(state), reflected.getStartState());
+			assertEquals(solution.length(), reflected.length());
+			assertEquals(goal.getGoalState(), Boards.replay(reflected));
+		}
+	}
+
+	@Test
+	void onlyGoalsWithTheEmptyTileOnTheDiagonalReflect() {
+		GoalTable corner = new GoalTable(3, PackedState.pack(new int[][] {{0, 1, 2}, {3, 4, 5}, {6, 7, 8}}));
+		GoalTable edge = new GoalTable(3, PackedState.pack(new int[][] {{1, 0, 2}, {3, 4, 5}, {6, 7, 8}}));
+
+		assertTrue(Symmetry.isSymmetric(corner));
+		assertEquals(corner.getGoalState(), new Symmetry(corner).reflect(corner.getGoalState()));
+		assertFalse(Symmetry.isSymmetric(edge));
+		assertThrows(IllegalArgumentException.class, () -> new Symmetry(edge));
+	}
+}
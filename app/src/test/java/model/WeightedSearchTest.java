@@ -0,0 +1,138 @@
+package model;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Iterator;
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for WeightedSearch: weighted A* stays within its bound of the
+ * exact distances of 3x3 boards, and both it and greedy best-first
+ * search solve boards too large to pack.
+ *
+ * @author Edward B.
+ */
+
+class WeightedSearchTest {
+
+	private static GoalTable goal;
+	private static ExactDistanceTable table;
+
+	@BeforeAll
+	static void buildTable() {
+		goal = Boards.goal(3);
+		table = ExactDistanceTable.build(goal);
+	}
+
+	@Test
+	void weightedSolutionsAreWithinTheirBound() {
+		int[][] goalBoard = PackedState.unpack(goal.getGoalState(), 3);
+		Random random = new Random(26);
+
+		for(double weight : new double[] {1.0, 1.5, 3.0}) {
+			for(int i = 0; i < 100; i++) {
+				long state = Boards.shuffled(3, random);
+				int optimal = table.distance(state);
+				SearchResult result = EightPuzzleSearch.weightedSolution(PackedState.unpack(state, 3), goalBoard, weight,
+						SearchBudget.UNLIMITED);
+
+				if(optimal < 0) {
+					assertNull(result.getSolution());
+					continue;
+				}
+
+				assertEquals(weight, result.getSuboptimalityBound());
+				assertTrue(result.getSolution().length() <= weight * optimal);
+				assertEquals(goal.getGoalState(), Boards.replay(result.getSolution()));
+
+				if(weight == 1.0) {
+					assertEquals(optimal, result.getSolution().length());
+				}
+			}
+		}
+	}
+
+	@Test
+	void boardsTooLargeToPackAreSolved() {
+		int[][] goalBoard = {{1, 2, 3, 4, 5}, {6, 7, 8, 9, 10}, {11, 12, 13, 14, 15}, {16, 17, 18, 19, 20}, {21, 22, 23, 24, 0}};
+		Random random = new Random(27);
+
+		for(int i = 0; i < 5; i++) {
+			int[][] board = scrambled(goalBoard, 300, random);
+
+			assertReachesGoal(EightPuzzleSearch.weightedSolution(board, goalBoard, 2.0, SearchBudget.UNLIMITED).getSolution(),
+					goalBoard);
+			assertReachesGoal(EightPuzzleSearch.greedySolution(board, goalBoard, SearchBudget.UNLIMITED).getSolution(),
+					goalBoard);
+		}
+	}
+
+	@Test
+	void weightsMustBeWholeTenths() {
+		int[][] board = PackedState.unpack(goal.getGoalState(), 3);
+
+		assertThrows(IllegalArgumentException.class,
+				() -> EightPuzzleSearch.weightedSolution(board, board, 0.9, SearchBudget.UNLIMITED));
+		assertThrows(IllegalArgumentException.class,
+				() -> EightPuzzleSearch.weightedSolution(board, board, 1.25, SearchBudget.UNLIMITED));
+	}
+
+	/**
+	 * Checks that replaying a solution ends at the goal.
+	 *
+	 * @param solution The solution to replay
+	 * @param goalBoard The goal board
+	 *
+	 * @return Nothing
+	 */
+
+	private static void assertReachesGoal(Solution solution, int[][] goalBoard) {
+		Iterator<int[][]> boards = solution.replay();
+		int[][] board = solution.getStartBoard();
+
+		while(boards.hasNext()) {
+			board = boards.next();
+		}
+
+		assertArrayEquals(goalBoard, board);
+	}
+
+	/**
+	 * Returns a board reached from the goal by random moves.
+	 *
+	 * @param goalBoard The goal board
+	 * @param moves The number of random moves to make
+	 * @param random The source of the moves
+	 *
+	 * @return int[][] The scrambled board
+	 */
+
+	private static int[][] scrambled(int[][] goalBoard, int moves, Random random) {
+		int size = goalBoard.length;
+		int[][] board = new int[size][];
+		int blank = size * size - 1;
+
+		for(int i = 0; i < size; i++) {
+			board[i] = goalBoard[i].clone();
+		}
+
+		for(int i = 0; i < moves; i++) {
+			int target = Move.target(blank, size, random.nextInt(4));
+
+			if(target >= 0) {
+				board[blank / size][blank % size] = board[target / size][target % size];
+				board[target / size][target % size] = 0;
+				blank = target;
+			}
+		}
+
+		return board;
+	}
+}
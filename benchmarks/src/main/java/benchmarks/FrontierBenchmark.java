@@ -0,0 +1,93 @@
+package benchmarks;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import model.BucketFrontier;
+import model.EightPuzzleNode;
+import model.Frontier;
+import model.PriorityQueueFrontier;
+
+/**
+ * FrontierBenchmark measures the open lists by adding a few thousand
+ * nodes, the first ones a breadth-first expansion of a Korf instance
+ * reaches, and then polling them all. Scores are per node, counting one
+ * add and one poll.
+ *
+ * @author Edward B.
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FrontierBenchmark {
+
+	private static final int NODES = 4096;
+
+	@Param({"bucket", "priority-queue"})
+	public String frontierName;
+
+	private Frontier frontier;
+	private ArrayList<EightPuzzleNode> nodes;
+
+	/**
+	 * Creates the frontier and the nodes to add to it.
+	 *
+	 * @return Nothing
+	 */
+
+	@Setup
+	public void setUp() {
+		if(frontierName.equals("bucket")) {
+			frontier = new BucketFrontier();
+		}
+		else if(frontierName.equals("priority-queue")) {
+			frontier = new PriorityQueueFrontier();
+		}
+		else {
+			throw new IllegalArgumentException("Unknown frontier " + frontierName);
+		}
+
+		nodes = new ArrayList<EightPuzzleNode>(NODES);
+		nodes.add(InstanceSet.load("korf100.txt").root(0));
+
+		for(int i = 0; nodes.size() < NODES; i++) {
+			for(EightPuzzleNode successor : nodes.get(i).generateSuccessors()) {
+				if(nodes.size() < NODES) {
+					nodes.add(successor);
+				}
+			}
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(NODES)
+	public int addThenPoll() {
+		for(EightPuzzleNode node : nodes) {
+			frontier.add(node);
+		}
+
+		int sum = 0;
+
+		while(!frontier.isEmpty()) {
+			sum += frontier.poll().getTotalCost();
+		}
+
+		return sum;
+	}
+}
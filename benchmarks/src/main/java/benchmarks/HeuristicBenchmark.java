@@ -0,0 +1,156 @@
+package benchmarks;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import model.GoalTable;
+import model.Heuristic;
+import model.LinearConflictHeuristic;
+import model.ManhattanHeuristic;
+import model.Move;
+import model.PatternDatabaseHeuristic;
+
+/**
+ * HeuristicBenchmark measures each heuristic on the 100 Korf
+ * instances, both estimated from scratch and updated after one move
+ * of the empty tile. Scores are per board.
+ *
+ * @author Edward B.
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HeuristicBenchmark {
+
+	private static final int BOARDS = 100;
+
+	@Param({"manhattan", "linear-conflict", "pattern-database", "pattern-database-reflected"})
+	public String heuristicName;
+
+	private Heuristic heuristic;
+	private int[][] boards;
+	private int[][] movedBoards;
+	private int[] estimates;
+	private int[] movedTiles;
+	private int[] froms;
+	private int[] tos;
+
+	/**
+	 * Creates the heuristic and, for every board, the board after the
+	 * empty tile's first legal move.
+	 *
+	 * @return Nothing
+	 */
+
+	@Setup
+	public void setUp() {
+		InstanceSet set = InstanceSet.load("korf100.txt");
+		GoalTable goal = new GoalTable(set.getGoal());
+		int size = set.getSize();
+
+		if(heuristicName.equals("manhattan")) {
+			heuristic = new ManhattanHeuristic(goal);
+		}
+		else if(heuristicName.equals("linear-conflict")) {
+			heuristic = new LinearConflictHeuristic(goal);
+		}
+		else if(heuristicName.equals("pattern-database")) {
+			heuristic = new PatternDatabaseHeuristic(goal);
+		}
+		else if(heuristicName.equals("pattern-database-reflected")) {
+			heuristic = new PatternDatabaseHeuristic(goal).withReflection();
+		}
+		else {
+			throw new IllegalArgumentException("Unknown heuristic " + heuristicName);
+		}
+
+		boards = new int[BOARDS][];
+		movedBoards = new int[BOARDS][];
+		estimates = new int[BOARDS];
+		movedTiles = new int[BOARDS];
+		froms = new int[BOARDS];
+		tos = new int[BOARDS];
+
+		for(int i = 0; i < BOARDS; i++) {
+			int[] tiles = new int[size * size];
+
+			for(int j = 0; j < tiles.length; j++) {
+				tiles[j] = set.getBoard(i)[j / size][j % size];
+			}
+
+			int blank = indexOf(tiles, 0);
+			int target = Move.NONE;
+
+			for(int move = Move.UP; target < 0; move++) {
+				target = Move.target(blank, size, move);
+			}
+
+			boards[i] = tiles;
+			estimates[i] = heuristic.estimate(tiles);
+			movedBoards[i] = tiles.clone();
+			movedBoards[i][blank] = tiles[target];
+			movedBoards[i][target] = 0;
+			movedTiles[i] = tiles[target];
+			froms[i] = target;
+			tos[i] = blank;
+		}
+	}
+
+	/**
+	 * Finds a tile on a board.
+	 *
+	 * @param tiles The board
+	 * @param tile The tile to find
+	 *
+	 * @return int The tile's index
+	 */
+
+	private static int indexOf(int[] tiles, int tile) {
+		int i = 0;
+
+		while(tiles[i] != tile) {
+			i++;
+		}
+
+		return i;
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(BOARDS)
+	public int estimate() {
+		int sum = 0;
+
+		for(int i = 0; i < BOARDS; i++) {
+			sum += heuristic.estimate(boards[i]);
+		}
+
+		return sum;
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(BOARDS)
+	public int update() {
+		int sum = 0;
+
+		for(int i = 0; i < BOARDS; i++) {
+			sum += heuristic.update(movedBoards[i], estimates[i], movedTiles[i], froms[i], tos[i]);
+		}
+
+		return sum;
+	}
+}
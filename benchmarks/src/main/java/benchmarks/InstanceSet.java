@@ -0,0 +1,169 @@
+package benchmarks;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import model.EightPuzzleNode;
+
+/**
+ * InstanceSet is a list of puzzle instances read from one of the files
+ * in the instances resource directory. A file starts with a "size"
+ * line and a "goal" line giving the goal board in row-major order,
+ * followed by one instance per line: its optimal solution length and
+ * then its tiles in row-major order. Lines starting with # are
+ * comments.
+ *
+ * @author Edward B.
+ */
+
+public class InstanceSet {
+
+	private int size;
+	private int[][] goal;
+	private List<int[][]> boards = new ArrayList<int[][]>();
+	private List<Integer> optimalLengths = new ArrayList<Integer>();
+
+	/**
+	 * Reads an instance set from the instances resource directory.
+	 *
+	 * @param name The file name, such as "korf100.txt"
+	 *
+	 * @return InstanceSet The instances in the file
+	 */
+
+	public static InstanceSet load(String name) {
+		InputStream in = InstanceSet.class.getResourceAsStream("/instances/" + name);
+
+		if(in == null) {
+			throw new IllegalArgumentException("No instance set named " + name);
+		}
+
+		try(BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+			InstanceSet set = new InstanceSet();
+			String line;
+
+			while((line = reader.readLine()) != null) {
+				line = line.trim();
+
+				if(line.isEmpty() || line.startsWith("#")) {
+					continue;
+				}
+
+				String[] fields = line.split("\\s+");
+
+				if(fields[0].equals("size")) {
+					set.size = Integer.parseInt(fields[1]);
+				}
+				else if(fields[0].equals("goal")) {
+					set.goal = parseBoard(fields, 1, set.size);
+				}
+				else {
+					set.optimalLengths.add(Integer.parseInt(fields[0]));
+					set.boards.add(parseBoard(fields, 1, set.size));
+				}
+			}
+
+			assert set.goal != null;
+
+			return set;
+		}
+		catch(IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * Parses size * size tiles into a board.
+	 *
+	 * @param fields The fields of one line
+	 * @param first The index of the first tile in fields
+	 * @param size The width and height of the board
+	 *
+	 * @return int[][] The board
+	 */
+
+	private static int[][] parseBoard(String[] fields, int first, int size) {
+		if(fields.length != first + size * size) {
+			throw new IllegalArgumentException("Expected " + (size * size) + " tiles: " + String.join(" ", fields));
+		}
+
+		int[][] board = new int[size][size];
+
+		for(int i = 0; i < size * size; i++) {
+			board[i / size][i % size] = Integer.parseInt(fields[first + i]);
+		}
+
+		return board;
+	}
+
+	/**
+	 * Returns the width and height of the boards.
+	 *
+	 * @return int The dimensions of the boards
+	 */
+
+	public int getSize() {
+		return size;
+	}
+
+	/**
+	 * Returns the goal shared by every instance.
+	 *
+	 * @return int[][] The goal board
+	 */
+
+	public int[][] getGoal() {
+		return goal;
+	}
+
+	/**
+	 * Returns the number of instances.
+	 *
+	 * @return int The number of instances
+	 */
+
+	public int count() {
+		return boards.size();
+	}
+
+	/**
+	 * Returns one instance's board.
+	 *
+	 * @param index The instance's position in the file, counting from 0
+	 *
+	 * @return int[][] The board
+	 */
+
+	public int[][] getBoard(int index) {
+		return boards.get(index);
+	}
+
+	/**
+	 * Returns one instance's optimal solution length.
+	 *
+	 * @param index The instance's position in the file, counting from 0
+	 *
+	 * @return int The number of moves in an optimal solution
+	 */
+
+	public int getOptimalLength(int index) {
+		return optimalLengths.get(index);
+	}
+
+	/**
+	 * Creates a search root for one instance.
+	 *
+	 * @param index The instance's position in the file, counting from 0
+	 *
+	 * @return EightPuzzleNode The root node
+	 */
+
+	public EightPuzzleNode root(int index) {
+		return new EightPuzzleNode(size, boards.get(index), goal, null, 0, "START");
+	}
+}
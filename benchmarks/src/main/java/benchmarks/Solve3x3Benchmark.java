@@ -0,0 +1,112 @@
+package benchmarks;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import model.EightPuzzleNode;
+import model.EightPuzzleSearch;
+import model.ExactDistanceTable;
+import model.GoalTable;
+import model.SearchContext;
+import model.Solution;
+
+/**
+ * Solve3x3Benchmark measures end-to-end solves of every board in a 3x3
+ * instance set, so scores are per set. Every solution's length is
+ * checked against the instance's optimal length.
+ *
+ * @author Edward B.
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class Solve3x3Benchmark {
+
+	@Param({"hardest-3x3.txt", "random-3x3.txt"})
+	public String instances;
+
+	@Param({"a-star", "ida-star", "bidirectional", "table"})
+	public String solver;
+
+	private InstanceSet set;
+	private EightPuzzleNode[] roots;
+	private SearchContext context;
+	private ExactDistanceTable table;
+
+	/**
+	 * Creates the roots, and the distance table if it is used.
+	 *
+	 * @return Nothing
+	 */
+
+	@Setup
+	public void setUp() {
+		set = InstanceSet.load(instances);
+		roots = new EightPuzzleNode[set.count()];
+		context = new SearchContext();
+
+		for(int i = 0; i < roots.length; i++) {
+			roots[i] = set.root(i);
+		}
+		if(solver.equals("table")) {
+			table = ExactDistanceTable.build(new GoalTable(set.getGoal()));
+		}
+	}
+
+	/**
+	 * Solves one board with the chosen solver.
+	 *
+	 * @param root The board's root node
+	 *
+	 * @return Solution The solution found
+	 */
+
+	private Solution solve(EightPuzzleNode root) {
+		if(solver.equals("a-star")) {
+			return EightPuzzleSearch.aStarSolution(root, context);
+		}
+		else if(solver.equals("ida-star")) {
+			return EightPuzzleSearch.idaStarSolution(root, null);
+		}
+		else if(solver.equals("bidirectional")) {
+			return EightPuzzleSearch.bidirectionalSolution(root);
+		}
+		else if(solver.equals("table")) {
+			return EightPuzzleSearch.tableSolution(root, table);
+		}
+
+		throw new IllegalArgumentException("Unknown solver " + solver);
+	}
+
+	@Benchmark
+	public int solveAll() {
+		int moves = 0;
+
+		for(int i = 0; i < roots.length; i++) {
+			Solution solution = solve(roots[i]);
+
+			if(solution.length() != set.getOptimalLength(i)) {
+				throw new IllegalStateException(solver + " solved instance " + i + " in "
+						+ solution.length() + " moves instead of " + set.getOptimalLength(i));
+			}
+
+			moves += solution.length();
+		}
+
+		return moves;
+	}
+}
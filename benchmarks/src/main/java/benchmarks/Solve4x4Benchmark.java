@@ -0,0 +1,126 @@
+package benchmarks;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import model.BucketFrontier;
+import model.EightPuzzleNode;
+import model.EightPuzzleSearch;
+import model.GoalTable;
+import model.PatternDatabaseHeuristic;
+
+/**
+ * Solve4x4Benchmark measures end-to-end solves of 4x4 instances with
+ * the default pattern databases. The instance parameter is an index
+ * into the set, counting from 0, or "all" for every board in it; the
+ * defaults are a few Korf instances that take well under a second, and
+ * the whole Korf set is run with
+ *
+ *     java -jar benchmarks.jar Solve4x4Benchmark -p solver=ida-star -p instance=all
+ *
+ * Every solution's length is checked against the instance's optimal
+ * length.
+ *
+ * @author Edward B.
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx3g"})
+public class Solve4x4Benchmark {
+
+	@Param({"korf100.txt"})
+	public String instances;
+
+	@Param({"1", "3", "5"})
+	public String instance;
+
+	@Param({"ida-star", "a-star"})
+	public String solver;
+
+	private InstanceSet set;
+	private int[] indexes;
+	private EightPuzzleNode[] roots;
+	private PatternDatabaseHeuristic heuristic;
+
+	/**
+	 * Creates the roots and builds the pattern databases.
+	 *
+	 * @return Nothing
+	 */
+
+	@Setup
+	public void setUp() {
+		set = InstanceSet.load(instances);
+
+		if(instance.equals("all")) {
+			indexes = new int[set.count()];
+
+			for(int i = 0; i < indexes.length; i++) {
+				indexes[i] = i;
+			}
+		}
+		else {
+			indexes = new int[] {Integer.parseInt(instance)};
+		}
+
+		roots = new EightPuzzleNode[indexes.length];
+
+		for(int i = 0; i < indexes.length; i++) {
+			roots[i] = set.root(indexes[i]);
+		}
+
+		heuristic = new PatternDatabaseHeuristic(new GoalTable(set.getGoal()));
+	}
+
+	/**
+	 * Solves one board with the chosen solver.
+	 *
+	 * @param root The board's root node
+	 *
+	 * @return EightPuzzleNode The leaf of the solution path
+	 */
+
+	private EightPuzzleNode solve(EightPuzzleNode root) {
+		if(solver.equals("ida-star")) {
+			return EightPuzzleSearch.idaStarSearch(root, heuristic, null);
+		}
+		else if(solver.equals("a-star")) {
+			return EightPuzzleSearch.aStarSearch(root, new BucketFrontier(), heuristic);
+		}
+
+		throw new IllegalArgumentException("Unknown solver " + solver);
+	}
+
+	@Benchmark
+	public int solve() {
+		int moves = 0;
+
+		for(int i = 0; i < roots.length; i++) {
+			EightPuzzleNode leaf = solve(roots[i]);
+			int optimal = set.getOptimalLength(indexes[i]);
+
+			if(leaf.getDepth() != optimal) {
+				throw new IllegalStateException(solver + " solved instance " + indexes[i] + " in "
+						+ leaf.getDepth() + " moves instead of " + optimal);
+			}
+
+			moves += leaf.getDepth();
+		}
+
+		return moves;
+	}
+}
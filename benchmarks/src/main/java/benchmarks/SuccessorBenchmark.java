@@ -0,0 +1,62 @@
+package benchmarks;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import model.EightPuzzleNode;
+
+/**
+ * SuccessorBenchmark measures EightPuzzleNode.generateSuccessors() on
+ * the first board of an instance set: as a root, which has no parent
+ * to prune, and as the parent of one of its children, which does.
+ *
+ * @author Edward B.
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SuccessorBenchmark {
+
+	@Param({"hardest-3x3.txt", "korf100.txt"})
+	public String instances;
+
+	private EightPuzzleNode root;
+	private EightPuzzleNode child;
+
+	/**
+	 * Creates the nodes to expand.
+	 *
+	 * @return Nothing
+	 */
+
+	@Setup
+	public void setUp() {
+		root = InstanceSet.load(instances).root(0);
+		child = root.generateSuccessors().get(0);
+	}
+
+	@Benchmark
+	public ArrayList<EightPuzzleNode> root() {
+		return root.generateSuccessors();
+	}
+
+	@Benchmark
+	public ArrayList<EightPuzzleNode> child() {
+		return child.generateSuccessors();
+	}
+}
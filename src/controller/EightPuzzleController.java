@@ -1,17 +1,30 @@
 package controller;
 
 import java.awt.event.*;
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
 import java.util.List;
-import java.util.Stack;
+import java.util.concurrent.TimeUnit;
 
+import javax.swing.SwingUtilities;
 import javax.swing.SwingWorker;
 
 import exceptions.InvalidDirectionException;
 import exceptions.InvalidTileException;
 import exceptions.MismatchedArraySizeException;
+import model.CancellationToken;
 import model.EightPuzzleModel;
 import model.EightPuzzleNode;
 import model.EightPuzzleSearch;
+import model.ExactDistanceTable;
+import model.GoalTable;
+import model.Move;
+import model.PackedState;
+import model.SearchBudget;
+import model.SearchResult;
+import model.SolutionCache;
+import model.Solution;
 import view.EightPuzzleGUI;
 
 /**
@@ -23,8 +36,18 @@ import view.EightPuzzleGUI;
 
 public class EightPuzzleController {
 	
+	private static final File DISTANCE_TABLE_FILE = new File("eightpuzzle-3x3.table");
+	private static final File SOLUTION_CACHE_FILE = new File("eightpuzzle-4x4.solutions");
+	private static final int SOLUTION_CACHE_CAPACITY = 4096;
+	private static final long SEARCH_SECONDS = 2;
+	private static final double LARGE_BOARD_WEIGHT = 2.0;
+	
 	private EightPuzzleModel model;
 	private EightPuzzleGUI view;
+	private int[][] tiles;
+	private ExactDistanceTable distanceTable;
+	private SolutionCache solutionCache;
+	private PrintSolution solver;
 	
 	/**
 	 * Constructor for an EightPuzzleController. Initializes the
@@ -42,7 +65,8 @@ public class EightPuzzleController {
 	}
 	
 	/** 
-	 * Sets the model of the puzzle for the controller.
+	 * Sets the model of the puzzle for the controller, and
+	 * allocates the board the view is updated from.
 	 * 
 	 * @param m This is the model of the puzzle
 	 * @return Nothing
@@ -52,6 +76,7 @@ public class EightPuzzleController {
 		assert m != null;
 		
 		model = m;
+		tiles = new int[m.getSize()][m.getSize()];
 	}
 	
 	/** 
@@ -78,7 +103,7 @@ public class EightPuzzleController {
 	
 	public void start() throws InvalidTileException{
 		view.initializeTiles(model.getSize());
-		view.updateTiles(model.getCurrentState());
+		view.updateTiles(model.copyCurrentState(tiles));
 		
 		// handles when a tile on the board is clicked
 		view.addPuzzlePanelListener(new ActionListener() {
@@ -95,13 +120,13 @@ public class EightPuzzleController {
 	    		if(!action.isEmpty()) {
 	    			view.updateMoveList("Empty tile shifted: " + action);
 	    		}
-	    		view.updateTiles(model.getCurrentState());
+	    		view.updateTiles(model.copyCurrentState(tiles));
 	    		
 	    		if(model.isSolved()) {
 	    			view.displaySolutionMessage();
 	    			view.clearMoveList();
 		    		model.generateNewPuzzle();
-		    		view.updateTiles(model.getCurrentState());
+		    		view.updateTiles(model.copyCurrentState(tiles));
 	    		}
 	    		}
 	    	});
@@ -111,90 +136,253 @@ public class EightPuzzleController {
 	    	public void actionPerformed(ActionEvent e) {
 	    		view.clearMoveList();
 	    		model.generateNewPuzzle();
-	    		view.updateTiles(model.getCurrentState());
+	    		view.updateTiles(model.copyCurrentState(tiles));
 	    		}
 	      });
 	    
-	    // handles when the "Solve Puzzle button is pressed
+	    // handles when the "Solve Puzzle" button is pressed, which reads "Stop" while solving
 	    view.addSolvePuzzleListener(new ActionListener() {
 	    	public void actionPerformed(ActionEvent e) {
-	    		(new PrintSolution()).execute();
+	    		if((solver != null) && !solver.isDone()) {
+	    			solver.stop();
+	    			return;
+	    		}
+	    		
+	    		view.disableGenerateNewPuzzleButton();
+	    		view.disablePuzzlePanelButtons();
+	    		view.showStopButton();
+	    		
+	    		solver = new PrintSolution();
+	    		solver.execute();
 	    		}
 	    	});
 	}
 	
+	/**
+	 * Returns the exact distance table for 3x3 boards, loading it from
+	 * DISTANCE_TABLE_FILE on first use. If the file is missing or was
+	 * built for another goal, the table is built and saved instead.
+	 * 
+	 * @param goal The goal the table has to be built for
+	 * @return ExactDistanceTable The table for goal
+	 */
+	
+	private ExactDistanceTable getDistanceTable(GoalTable goal) {
+		if((distanceTable == null) || (distanceTable.getGoalState() != goal.getGoalState())) {
+			try {
+				distanceTable = ExactDistanceTable.load(DISTANCE_TABLE_FILE, goal);
+			} catch (IOException e) {
+				distanceTable = ExactDistanceTable.build(goal);
+				
+				try {
+					distanceTable.save(DISTANCE_TABLE_FILE);
+				} catch (IOException e1) {
+					System.out.println(e1.getMessage());
+				}
+			}
+		}
+		
+		return distanceTable;
+	}
+	
+	/**
+	 * Returns the cache of optimal 4x4 solutions for the given goal,
+	 * loading the solutions saved by earlier runs. If the file cannot
+	 * be used, solutions are only cached until the program exits.
+	 * 
+	 * @param goal The goal the solutions reach
+	 * 
+	 * @return SolutionCache The cache
+	 */
 	
-    private class PrintSolution extends SwingWorker<Void, EightPuzzleNode> {
+	private SolutionCache getSolutionCache(GoalTable goal) {
+		if((solutionCache == null) || (solutionCache.getGoalState() != goal.getGoalState())) {
+			try {
+				if(solutionCache != null) {
+					solutionCache.close();
+				}
+				
+				solutionCache = SolutionCache.open(SOLUTION_CACHE_FILE, goal, SOLUTION_CACHE_CAPACITY);
+			} catch (IOException e) {
+				System.out.println(e.getMessage());
+				solutionCache = new SolutionCache(goal, SOLUTION_CACHE_CAPACITY);
+			}
+		}
+		
+		return solutionCache;
+	}
+	
+	
+    /**
+     * PrintSolution solves the puzzle in the background and plays the
+     * solution back one move at a time. The search may use at most half
+     * of the heap, so a board too hard for A* ends the search instead of
+     * the program, and stop() cancels it.
+     */
+    
+    private class PrintSolution extends SwingWorker<Void, Integer> {
+    	
+    	private Iterator<int[][]> replay;
+    	private CancellationToken cancellation = new CancellationToken();
+    	private SearchBudget.Limit exceeded;
+    	private double bound = 1.0;
     	
     	/**
-    	 * Overridden doInBackground() method that goes through
-    	 * each node in the solution list and updates the view
-    	 * and model for each node through the process() method.
+    	 * Stops the search, or the playback if the solution has been found.
+    	 * 
+    	 * @return Nothing
+    	 */
+    	
+    	private void stop() {
+    		cancellation.cancel();
+    		cancel(true);
+    	}
+    	
+    	/**
+    	 * Overridden doInBackground() method that solves the puzzle and
+    	 * publishes each move of the solution, which process() then
+    	 * applies to the view and model. 4x4 boards are searched with
+    	 * anytime A* for a few seconds, and the best solution found by
+    	 * then is played back even if it has not been proven optimal.
+    	 * Larger boards get a solution at most twice as long as optimal
+    	 * from weighted A*, or any solution from greedy search.
     	 */
     	
         @Override
         protected Void doInBackground() {
-
-        	view.disableGenerateNewPuzzleButton();
-        	view.disableSolvePuzzleButton();
-        	view.disablePuzzlePanelButtons();
+        	SearchBudget budget = SearchBudget.UNLIMITED
+        			.withTimeout(SEARCH_SECONDS, TimeUnit.SECONDS)
+        			.withMaxBytes(Runtime.getRuntime().maxMemory() / 2)
+        			.withCancellation(cancellation);
+        	SearchResult result;
+        	Solution solution;
         	
-        	EightPuzzleNode currNode = new EightPuzzleNode(3, model.getCurrentState(), model.getGoalState(), null, 0, "START");
-	        EightPuzzleNode solution = EightPuzzleSearch.aStarSearch(currNode);
-	        
-        	Stack<EightPuzzleNode> printStack = new Stack<EightPuzzleNode>();
-        	
-        	// reorders nodes for printing in order from the root
-    		while(solution != null) {
-    			printStack.push(solution);
-    			solution = solution.getParent();
-    		}
+        	// 3x3 boards are looked up instead of searched
+        	if(model.getSize() == ExactDistanceTable.SIZE) {
+        		EightPuzzleNode root = new EightPuzzleNode(model.getSize(), model.getCurrentState(), model.getGoalState(), null, 0, "START");
+        		
+        		solution = EightPuzzleSearch.tableSolution(root, getDistanceTable(root.getGoal()));
+        	}
+        	// boards too large to pack are out of reach of optimal search, so settle for weighted A*, or greedy search if even that runs out of time
+        	else if(!PackedState.fits(model.getSize())) {
+        		result = EightPuzzleSearch.weightedSolution(model.getCurrentState(), model.getGoalState(), LARGE_BOARD_WEIGHT, budget);
+        		
+        		if(result.getExceededLimit() == SearchBudget.Limit.TIME) {
+        			result = EightPuzzleSearch.greedySolution(model.getCurrentState(), model.getGoalState(), budget);
+        		}
+        		
+        		exceeded = result.getExceededLimit();
+        		solution = result.getSolution();
+        	}
+        	else {
+        		EightPuzzleNode root = new EightPuzzleNode(model.getSize(), model.getCurrentState(), model.getGoalState(), null, 0, "START");
+        		SolutionCache solutions = getSolutionCache(root.getGoal());
+        		
+        		solution = solutions.get(root.getPackedState());
+        		
+        		if(solution == null) {
+        			result = EightPuzzleSearch.anytimeSolution(root, (improved, improvedBound) -> {
+        				String message = "Found " + improved.length() + " moves, at most "
+        						+ String.format("%.2f", improvedBound) + "x optimal.";
+        				
+        				SwingUtilities.invokeLater(() -> view.updateMoveList(message));
+        			}, budget);
+        			
+        			exceeded = result.getExceededLimit();
+        			bound = result.getSuboptimalityBound();
+        			solution = result.getSolution();
+        			
+        			// only solutions proven optimal are cached
+        			if((solution != null) && (exceeded == null)) {
+        				try {
+        					solutions.put(solution);
+        				} catch (IOException e) {
+        					System.out.println(e.getMessage());
+        				}
+        			}
+        		}
+        	}
     		
     		int delay = 500;
     		
-            while (!printStack.isEmpty()) {
-            	currNode = printStack.pop();
-                publish(currNode);
-                try {
-                    Thread.sleep(delay);
-                } catch (InterruptedException ex) {
-                    System.out.println("Background interrupted");
-                }
-            }
-            
-            view.enableGenerateNewPuzzleButton();
-            view.enableSolvePuzzleButton();
-            view.enablePuzzlePanelButtons();
-            view.updateMoveList("End of generated solution.");
+    		if(solution != null) {
+    			replay = solution.replay();
+    			
+    			for(int i = 0; (i < solution.length()) && !isCancelled(); i++) {
+    				try {
+    					Thread.sleep(delay);
+    				} catch (InterruptedException ex) {
+    					break;
+    				}
+    				publish(solution.getMove(i));
+    			}
+    		}
             
             return null;
         }
         
         /**
-         * Overridden process() method that updates the model and view
-         * in between each pop off the solution stack.
+         * Overridden done() method that gives the buttons back to the
+         * user and says how the search ended.
+         */
+        
+        @Override
+        protected void done() {
+        	view.enableGenerateNewPuzzleButton();
+        	view.enablePuzzlePanelButtons();
+        	view.showSolvePuzzleButton();
+        	
+        	if(isCancelled()) {
+        		view.updateMoveList("Stopped.");
+        	}
+        	else if((exceeded != null) && (replay != null)) {
+        		view.updateMoveList("End of best solution found before the " + exceeded + " limit, at most "
+        				+ String.format("%.2f", bound) + "x optimal.");
+        	}
+        	else if(exceeded == SearchBudget.Limit.MEMORY) {
+        		view.updateMoveList("Search stopped: this board needs more memory than A* may use.");
+        	}
+        	else if(exceeded != null) {
+        		view.updateMoveList("Search stopped: " + exceeded + " limit reached.");
+        	}
+        	else {
+        		view.updateMoveList("End of generated solution.");
+        	}
+        }
+        
+        /**
+         * Overridden process() method that replays each published move
+         * on the solution's board and updates the model and view.
          */
 
         @Override
-        protected void process(List<EightPuzzleNode> nodes) {
-            EightPuzzleNode currNode = nodes.get(nodes.size() - 1);
-            String curAction = currNode.getAction();
-            if(!curAction.equals("START")) {
-            	view.updateMoveList("Empty tile shifted: " + curAction);
-				try {
-					model.updateZeroCoords(curAction);
-				} catch (InvalidDirectionException e) {
-					System.out.println(e.getMessage());
-					e.printStackTrace();
-				}
-            }
+        protected void process(List<Integer> moves) {
+        	int[][] board = null;
+        	
+        	// moves published just before stop() are dropped, so the board stays where the user saw it stop
+        	if(isCancelled()) {
+        		return;
+        	}
+        	
+        	for(int move : moves) {
+        		String curAction = Move.name(move);
+        		
+        		board = replay.next();
+        		view.updateMoveList("Empty tile shifted: " + curAction);
+        		try {
+        			model.updateZeroCoords(curAction);
+        		} catch (InvalidDirectionException e) {
+        			System.out.println(e.getMessage());
+        			e.printStackTrace();
+        		}
+        	}
 			try {
-				model.setCurrentState(currNode.getCurrentState());
+				model.setCurrentState(board);
 			} catch (NullPointerException | MismatchedArraySizeException e) {
 				System.out.println(e.getMessage());
 				e.printStackTrace();
 			}
-			view.updateTiles(model.getCurrentState());
+			view.updateTiles(model.copyCurrentState(tiles));
         }
     }
 }
\ No newline at end of file
@@ -3,7 +3,7 @@ import java.util.Comparator;
 
 /**
  * AStarComparator is a comparator used for EightPuzzleSearch to
- * compare the Manhattan distance between two EightPuzzleNodes.
+ * compare the estimated total cost of two EightPuzzleNodes.
  * 
  * @author Edward B.
  */
@@ -11,8 +11,9 @@ import java.util.Comparator;
 public class AStarComparator implements Comparator<EightPuzzleNode>
 {
 	/**
-	 * Overridden compare() method that compares the
-	 * Manhattan distance between two EightPuzzleNodes.
+	 * Overridden compare() method that compares the path cost
+	 * plus heuristic estimate of two EightPuzzleNodes, both of
+	 * which are cached on the nodes when they are created.
 	 * 
 	 * @param x The first node to be compared
 	 * @param y The second node to be compared
@@ -21,8 +22,8 @@ public class AStarComparator implements Comparator<EightPuzzleNode>
     @Override
     public int compare(EightPuzzleNode x, EightPuzzleNode y)
     {
-    	int totalCostX = x.pathCost() + x.getManhattanDistance();
-    	int totalCostY = y.pathCost() + y.getManhattanDistance();
+    	int totalCostX = x.getTotalCost();
+    	int totalCostY = y.getTotalCost();
     	
         if (totalCostX < totalCostY)
         {
@@ -0,0 +1,24 @@
+package model;
+
+/**
+ * AnytimeListener is notified by anytime searches each time they find
+ * a better solution or prove a tighter bound on how far the current
+ * one can be from optimal.
+ *
+ * @author Edward B.
+ */
+
+public interface AnytimeListener {
+
+	/**
+	 * Called on the searching thread after each pass of the search that
+	 * has a solution. The search waits for the call to return.
+	 *
+	 * @param solution The best solution found so far
+	 * @param bound The solution is at most this many times longer than an optimal one, 1.0 once it is optimal
+	 *
+	 * @return Nothing
+	 */
+
+	void solutionImproved(Solution solution, double bound);
+}
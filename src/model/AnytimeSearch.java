@@ -0,0 +1,400 @@
+package model;
+
+/**
+ * AnytimeSearch is Anytime Repairing A* (ARA*, Likhachev, Gordon and
+ * Thrun, 2003). It runs a series of weighted A* passes, ordering nodes
+ * by g + w * h, starting with a large weight w that finds a solution
+ * after few expansions and lowering w after every pass. Each pass
+ * reuses the nodes of the one before: states whose path cost improved
+ * after they were expanded in the current pass are set aside as
+ * inconsistent instead of being expanded again, and are put back on the
+ * open list, reordered for the new weight, when the next pass starts.
+ *
+ * A pass ends once no node left on the open list orders before the
+ * incumbent solution. Nodes whose g + h is not below the incumbent's
+ * length cannot lead to a shorter solution and are dropped. After every
+ * pass the incumbent is at most min(w, incumbent / lower) times longer
+ * than an optimal solution, where lower is the smallest g + h of any
+ * node kept for the next pass, and it is optimal once no such node is
+ * left. That bound also caps the next weight, so a pass that proves a
+ * tight bound skips the weights above it. When the budget runs out
+ * during a pass, the incumbent is still returned, bounded by
+ * incumbent / lower over the nodes left on the open and inconsistent
+ * lists.
+ *
+ * Weights and steps are kept in tenths (see Weights), so that nodes can
+ * be ordered by integer keys in the context's HandleFrontier.
+ *
+ * @author Edward B.
+ */
+
+class AnytimeSearch {
+
+	private static final int NOT_FOUND = Integer.MAX_VALUE;
+
+	private int initialWeight;
+	private int weightStep;
+
+	private NodeArena arena;
+	private HandleFrontier open;
+	private LongIntHashMap bestNodes;
+	private LongIntHashMap closed;
+	private HandleList inconsistent;
+	private HandleList kept;
+	private Heuristic heuristic;
+	private int size;
+	private int[] tiles;
+	private long goalState;
+	private int first;
+	private int goalNode;
+	private int goalCost;
+
+	private SearchBudget budget;
+	private long deadline;
+	private long expanded;
+	private long generated;
+	private long reopened;
+	private long duplicates;
+	private long evaluations;
+	private int peakOpen;
+
+	/**
+	 * AnytimeSearch constructor.
+	 *
+	 * @param initialWeight The weight of the first pass, at least 1.0 and a whole number of tenths
+	 * @param weightStep How much the weight is lowered after each pass, at least 0.1 and a whole number of tenths
+	 *
+	 * @throws IllegalArgumentException Thrown when either is too small or not a whole number of tenths
+	 */
+
+	AnytimeSearch(double initialWeight, double weightStep) {
+		if(!(initialWeight >= 1.0)) {
+			throw new IllegalArgumentException("Weight must be at least 1.0: " + initialWeight);
+		}
+		if(!(weightStep >= 1.0 / Weights.WEIGHT_SCALE)) {
+			throw new IllegalArgumentException("Weight step must be at least " + (1.0 / Weights.WEIGHT_SCALE) + ": " + weightStep);
+		}
+
+		this.initialWeight = Weights.toTenths(initialWeight);
+		this.weightStep = Weights.toTenths(weightStep);
+	}
+
+	/**
+	 * Runs passes with lower and lower weights until the incumbent is
+	 * proven optimal, the board is found to have no solution, or the
+	 * budget runs out. The budget counts the arena, the tables of best
+	 * nodes and of states expanded in the current pass, and the open and
+	 * inconsistent lists.
+	 *
+	 * @param root The node to start searching from
+	 * @param context The node storage, open list, closed sets and node lists to use, which are cleared before searching
+	 * @param listener Notified after every pass that has a solution, including one the budget cut short, may be null
+	 * @param budget The limits the search must stay within
+	 *
+	 * @return SearchResult The best solution found and its bound, and the limit that stopped the search if any
+	 */
+
+	SearchResult search(EightPuzzleNode root, SearchContext context, AnytimeListener listener, SearchBudget budget) {
+		long start = System.nanoTime();
+		SearchStats stats = context.getStats();
+		Solution solution = null;
+		double bound = Double.POSITIVE_INFINITY;
+		SearchBudget.Limit exceeded = null;
+		int weight = initialWeight;
+		int solved = NodeArena.NO_PARENT;
+
+		arena = context.getArena();
+		open = context.getHandles();
+		bestNodes = context.getBestPathCosts();
+		closed = context.getExpandedStates();
+		inconsistent = context.getInconsistentNodes();
+		kept = context.getKeptNodes();
+		heuristic = root.getHeuristic();
+		size = root.getSize();
+		tiles = context.getTiles(size * size);
+		goalState = root.getGoal().getGoalState();
+		this.budget = budget;
+		deadline = budget.deadline(start);
+		expanded = 0;
+		generated = 0;
+		reopened = 0;
+		duplicates = 0;
+		evaluations = 1;
+		peakOpen = 1;
+
+		context.clear();
+		stats.reset("ARA*");
+
+		// every pass of an unsolvable board would run until the open list or the budget ran out
+		if(!root.getGoal().isSolvable(PackedState.unpack(root.getPackedState(), tiles))) {
+			stats.finish(start, null, null);
+
+			return new SearchResult(null, bound, stats);
+		}
+
+		first = arena.add(root.getPackedState(), NodeArena.NO_PARENT, 0, Move.NONE, root.getEstimate());
+		bestNodes.put(root.getPackedState(), first);
+
+		if(root.getPackedState() == goalState) {
+			goalNode = first;
+			goalCost = 0;
+		}
+		else {
+			goalNode = NodeArena.NO_PARENT;
+			goalCost = NOT_FOUND;
+			open.add(first, key(0, root.getEstimate(), weight), root.getEstimate());
+		}
+
+		while(true) {
+			exceeded = improvePath(weight);
+
+			if(goalNode == NodeArena.NO_PARENT) {
+				break;
+			}
+
+			int lower = keepOpenNodes();
+			double passBound = (lower == NOT_FOUND) ? 1.0 : (double) goalCost / lower;
+
+			// a pass the budget cut short has not proven its weight, but the bounds of earlier passes still hold
+			if(exceeded == null) {
+				passBound = Math.min(Weights.fromTenths(weight), passBound);
+			}
+
+			bound = Math.min(bound, passBound);
+
+			if(solved != goalNode) {
+				solution = EightPuzzleSearch.packPath(root, arena, goalNode);
+				solved = goalNode;
+			}
+			if(listener != null) {
+				listener.solutionImproved(solution, bound);
+			}
+			if((exceeded != null) || (lower == NOT_FOUND)) {
+				break;
+			}
+
+			// the proven bound may already be below the next weight in the schedule
+			weight = Math.max(Weights.WEIGHT_SCALE, Math.min(weight - weightStep, (int) (bound * Weights.WEIGHT_SCALE)));
+			reopenKeptNodes(weight);
+		}
+
+		stats.expanded = expanded;
+		stats.generated = generated;
+		stats.reopened = reopened;
+		stats.duplicates = duplicates;
+		stats.heuristicEvaluations = evaluations;
+		stats.peakOpen = peakOpen;
+		stats.peakClosed = bestNodes.size();
+		stats.finish(start, solution, exceeded);
+
+		return new SearchResult(solution, bound, stats);
+	}
+
+	/**
+	 * Runs one weighted A* pass, ending when no node on the open list
+	 * orders before the incumbent, or when the open list runs out.
+	 * States whose path cost improves after they were expanded in this
+	 * pass go on the inconsistent list.
+	 *
+	 * @param weight The weight in tenths
+	 *
+	 * @return SearchBudget.Limit The limit that stopped the pass, or null if it ended normally
+	 */
+
+	private SearchBudget.Limit improvePath(int weight) {
+		while(!open.isEmpty()) {
+			int node = open.poll();
+			long state = arena.getState(node);
+
+			// a cheaper path to this state was found after it was queued
+			if(bestNodes.get(state) != node) {
+				continue;
+			}
+
+			int g = arena.getPathCost(node);
+			int h = arena.getEstimate(node);
+
+			if(g + h >= goalCost) {
+				continue;
+			}
+			if((goalCost != NOT_FOUND) && (key(g, h, weight) >= (long) goalCost * Weights.WEIGHT_SCALE)) {
+				open.add(node, key(g, h, weight), h);
+				return null;
+			}
+
+			if((expanded & (SearchBudget.CHECK_INTERVAL - 1)) == 0) {
+				long bytes = arena.byteSize() + bestNodes.byteSize() + closed.byteSize()
+						+ (open.size() + inconsistent.size()) * (long) Integer.BYTES;
+				SearchBudget.Limit limit = budget.exceeded(generated, bytes, deadline);
+
+				if(limit != null) {
+					// put the node back, so it still counts towards the bound on the incumbent
+					open.add(node, key(g, h, weight), h);
+					return limit;
+				}
+			}
+
+			expand(node, state, g, h, weight);
+		}
+
+		return null;
+	}
+
+	/**
+	 * Expands one node, storing every successor that improves on the
+	 * best known path to its state and could still lead to a shorter
+	 * solution than the incumbent.
+	 *
+	 * @param node The node's handle
+	 * @param state The node's packed state
+	 * @param g The node's path cost
+	 * @param h The node's estimate
+	 * @param weight The weight of the current pass in tenths
+	 *
+	 * @return Nothing
+	 */
+
+	private void expand(int node, long state, int g, int h, int weight) {
+		int blank = PackedState.indexOf(state, size, 0);
+		int previous = (node == first) ? Move.NONE : arena.getMove(node);
+		int childCost = g + 1;
+
+		PackedState.unpack(state, tiles);
+		closed.put(state, node);
+		expanded++;
+
+		for(int move = Move.UP; move <= Move.LEFT; move++) {
+			int target = Move.target(blank, size, move);
+
+			if((target < 0) || ((previous != Move.NONE) && (move == Move.opposite(previous)))) {
+				continue;
+			}
+
+			long next = PackedState.slide(state, blank, target);
+			int best = bestNodes.get(next);
+
+			generated++;
+
+			if((best != LongIntHashMap.NO_VALUE) && (arena.getPathCost(best) <= childCost)) {
+				duplicates++;
+				continue;
+			}
+
+			// make the move on the scratch board to update the estimate, then unmake it
+			int tile = tiles[target];
+			tiles[blank] = tile;
+			tiles[target] = 0;
+
+			int estimate = heuristic.update(tiles, h, tile, target, blank);
+
+			tiles[target] = tile;
+			tiles[blank] = 0;
+			evaluations++;
+
+			if(childCost + estimate >= goalCost) {
+				continue;
+			}
+			if(best != LongIntHashMap.NO_VALUE) {
+				reopened++;
+			}
+
+			int child = arena.add(next, node, childCost, move, estimate);
+
+			bestNodes.put(next, child);
+
+			if(next == goalState) {
+				goalNode = child;
+				goalCost = childCost;
+			}
+			else if(closed.containsKey(next)) {
+				inconsistent.add(child);
+			}
+			else {
+				open.add(child, key(childCost, estimate, weight), estimate);
+			}
+		}
+
+		peakOpen = Math.max(peakOpen, open.size() + inconsistent.size());
+	}
+
+	/**
+	 * Empties the open and inconsistent lists into the kept list,
+	 * dropping nodes that have been improved on or that cannot lead to
+	 * a shorter solution than the incumbent.
+	 *
+	 * @return int The smallest g + h of the kept nodes, or NOT_FOUND if none were kept
+	 */
+
+	private int keepOpenNodes() {
+		int lower = NOT_FOUND;
+
+		kept.clear();
+
+		while(!open.isEmpty()) {
+			lower = keep(open.poll(), lower);
+		}
+		for(int i = 0; i < inconsistent.size(); i++) {
+			lower = keep(inconsistent.get(i), lower);
+		}
+
+		inconsistent.clear();
+
+		return lower;
+	}
+
+	/**
+	 * Adds a node to the kept list if it is still the best node for its
+	 * state and could lead to a shorter solution than the incumbent.
+	 *
+	 * @param node The node's handle
+	 * @param lower The smallest g + h kept so far
+	 *
+	 * @return int The smallest g + h kept, including this node
+	 */
+
+	private int keep(int node, int lower) {
+		int f = arena.getPathCost(node) + arena.getEstimate(node);
+
+		if((bestNodes.get(arena.getState(node)) != node) || (f >= goalCost)) {
+			return lower;
+		}
+
+		kept.add(node);
+
+		return Math.min(lower, f);
+	}
+
+	/**
+	 * Starts a new pass: puts every kept node back on the open list,
+	 * ordered for the new weight, and forgets which states were expanded.
+	 *
+	 * @param weight The weight of the new pass in tenths
+	 *
+	 * @return Nothing
+	 */
+
+	private void reopenKeptNodes(int weight) {
+		for(int i = 0; i < kept.size(); i++) {
+			int node = kept.get(i);
+			int h = arena.getEstimate(node);
+
+			open.add(node, key(arena.getPathCost(node), h, weight), h);
+		}
+
+		closed.clear();
+	}
+
+	/**
+	 * Returns the key a node is ordered by in a pass.
+	 *
+	 * @param g The node's path cost
+	 * @param h The node's estimate
+	 * @param weight The weight of the pass in tenths
+	 *
+	 * @return int g + weight * h, scaled by WEIGHT_SCALE
+	 */
+
+	private static int key(int g, int h, int weight) {
+		return g * Weights.WEIGHT_SCALE + weight * h;
+	}
+}
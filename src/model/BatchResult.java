@@ -0,0 +1,154 @@
+package model;
+
+/**
+ * BatchResult is the outcome of solving one board in a batch (see
+ * BatchSolver).
+ *
+ * @author Edward B.
+ */
+
+public class BatchResult {
+
+	private long index;
+	private int[][] board;
+	private int length;
+	private String moves;
+	private long nodes;
+	private long nanos;
+	private SearchBudget.Limit exceeded;
+
+	/**
+	 * BatchResult constructor.
+	 *
+	 * @param index The position of the board in the input, counting from 0
+	 * @param board The board that was solved
+	 * @param length The optimal number of moves, or -1 if the board cannot be solved
+	 * @param moves The moves as one letter each (U, R, D or L)
+	 * @param nodes The number of nodes generated
+	 * @param nanos The time taken to solve the board in nanoseconds
+	 */
+
+	BatchResult(long index, int[][] board, int length, String moves, long nodes, long nanos) {
+		this(index, board, length, moves, nodes, nanos, null);
+	}
+
+	/**
+	 * BatchResult constructor for a board whose search may have run
+	 * out of budget.
+	 *
+	 * @param exceeded The limit the search ran out of, or null if it finished
+	 */
+
+	BatchResult(long index, int[][] board, int length, String moves, long nodes, long nanos, SearchBudget.Limit exceeded) {
+		this.index = index;
+		this.board = board;
+		this.length = length;
+		this.moves = moves;
+		this.nodes = nodes;
+		this.nanos = nanos;
+		this.exceeded = exceeded;
+	}
+
+	/**
+	 * Returns the position of the board in the input.
+	 *
+	 * @return long The index, counting from 0
+	 */
+
+	public long getIndex() {
+		return index;
+	}
+
+	/**
+	 * Returns the board that was solved.
+	 *
+	 * @return int[][] The board
+	 */
+
+	public int[][] getBoard() {
+		return board;
+	}
+
+	/**
+	 * Returns the optimal number of moves.
+	 *
+	 * @return int The solution length, or -1 if the board cannot be solved or the budget ran out
+	 */
+
+	public int getLength() {
+		return length;
+	}
+
+	/**
+	 * Returns the moves of the empty tile, one letter each.
+	 *
+	 * @return String The moves, such as "ULDR"
+	 */
+
+	public String getMoves() {
+		return moves;
+	}
+
+	/**
+	 * Returns the number of nodes generated while solving.
+	 *
+	 * @return long The number of nodes
+	 */
+
+	public long getNodes() {
+		return nodes;
+	}
+
+	/**
+	 * Returns the time taken to solve the board.
+	 *
+	 * @return long The time in nanoseconds
+	 */
+
+	public long getNanos() {
+		return nanos;
+	}
+
+	/**
+	 * Returns the part of the solver's budget that ran out before the
+	 * board was solved (see BatchSolver.setBudget).
+	 *
+	 * @return SearchBudget.Limit The limit, or null if the search finished
+	 */
+
+	public SearchBudget.Limit getExceededLimit() {
+		return exceeded;
+	}
+
+	/**
+	 * Formats the result as one tab-separated line: index, board
+	 * tiles separated by commas, length, moves, nodes and
+	 * microseconds. A board whose budget ran out has the exceeded
+	 * limit, such as TIME, in place of its moves.
+	 *
+	 * @return String The formatted result
+	 */
+
+	@Override
+	public String toString() {
+		StringBuilder line = new StringBuilder();
+
+		line.append(index).append('\t');
+
+		for(int i = 0; i < board.length; i++) {
+			for(int j = 0; j < board[i].length; j++) {
+				if((i > 0) || (j > 0)) {
+					line.append(',');
+				}
+				line.append(board[i][j]);
+			}
+		}
+
+		line.append('\t').append(length)
+			.append('\t').append((exceeded == null) ? moves : exceeded.name())
+			.append('\t').append(nodes)
+			.append('\t').append(nanos / 1000);
+
+		return line.toString();
+	}
+}
@@ -0,0 +1,275 @@
+package model;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+
+/**
+ * BatchSolver solves a sequence of boards on a pool of threads and
+ * hands each result to a ResultSink as soon as it is ready. Boards are
+ * taken from the input only while fewer than maxPending of them are
+ * being solved or waiting for the sink, so memory use does not depend
+ * on how many boards the input holds.
+ *
+ * Each board is solved with iterative-deepening A*, which keeps memory
+ * per board proportional to the solution length. Boards that are not
+ * a permutation of the goal's tiles throw, and boards that cannot
+ * reach the goal are reported with a length of -1. A budget set with
+ * setBudget() applies to each board on its own, and a board that runs
+ * out of it is reported with a length of -1 and the limit it exceeded.
+ * Boards found in a SolutionCache set with setCache() are answered
+ * from it, with no nodes generated, and every other solution found is
+ * added to it.
+ *
+ * @author Edward B.
+ */
+
+public class BatchSolver {
+
+	private GoalTable goal;
+	private Heuristic heuristic;
+	private ExecutorService executor;
+	private int threads;
+	private int maxPending;
+	private boolean ownsExecutor;
+	private volatile SearchBudget budget = SearchBudget.UNLIMITED;
+	private volatile SolutionCache cache;
+
+	/**
+	 * BatchSolver constructor that solves on one thread per available processor.
+	 *
+	 * @param goal The goal every board is solved to, at most 4x4
+	 * @param heuristic The heuristic to estimate nodes with, created for goal
+	 */
+
+	public BatchSolver(GoalTable goal, Heuristic heuristic) {
+		this(goal, heuristic, Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 * BatchSolver constructor that solves on a new pool of the given
+	 * number of threads, created for each batch.
+	 *
+	 * @param goal The goal every board is solved to, at most 4x4
+	 * @param heuristic The heuristic to estimate nodes with, created for goal
+	 * @param threads The number of boards solved at once
+	 */
+
+	public BatchSolver(GoalTable goal, Heuristic heuristic, int threads) {
+		this(goal, heuristic, null, threads * 4);
+
+		this.threads = threads;
+	}
+
+	/**
+	 * BatchSolver constructor that solves on an existing executor,
+	 * which is left running after each batch.
+	 *
+	 * @param goal The goal every board is solved to, at most 4x4
+	 * @param heuristic The heuristic to estimate nodes with, created for goal
+	 * @param executor The executor boards are solved on, or null for a new pool per batch
+	 * @param maxPending The most boards taken from the input but not yet given to the sink
+	 */
+
+	public BatchSolver(GoalTable goal, Heuristic heuristic, ExecutorService executor, int maxPending) {
+		assert (goal != null) && (heuristic != null) && (maxPending > 0);
+
+		if(!PackedState.fits(goal.getSize())) {
+			throw new IllegalArgumentException("Only boards up to " + PackedState.MAX_SIZE
+					+ "x" + PackedState.MAX_SIZE + " can be solved in a batch");
+		}
+
+		this.goal = goal;
+		this.heuristic = heuristic;
+		this.executor = executor;
+		this.threads = Runtime.getRuntime().availableProcessors();
+		this.maxPending = maxPending;
+		this.ownsExecutor = (executor == null);
+	}
+
+	/**
+	 * Sets the limits each board's search must stay within. A timeout
+	 * counts from when the board's search starts, and a deadline or a
+	 * cancellation token applies to every board at once.
+	 *
+	 * @param budget The budget for each board
+	 *
+	 * @return Nothing
+	 */
+
+	public void setBudget(SearchBudget budget) {
+		assert budget != null;
+
+		this.budget = budget;
+	}
+
+	/**
+	 * Sets the cache boards are looked up in before they are searched.
+	 * The cache must have been created for this solver's goal.
+	 *
+	 * @param solutions The cache, or null to search every board
+	 *
+	 * @return Nothing
+	 */
+
+	public void setCache(SolutionCache solutions) {
+		this.cache = solutions;
+	}
+
+	/**
+	 * Solves every board in a stream.
+	 *
+	 * @param boards The boards to solve
+	 * @param sink Receives each result as it is ready
+	 *
+	 * @return long The number of boards solved
+	 *
+	 * @throws IOException Thrown when the sink fails or the cache cannot be written
+	 * @throws InterruptedException Thrown when the calling thread is interrupted while waiting
+	 */
+
+	public long solve(Stream<int[][]> boards, ResultSink sink) throws IOException, InterruptedException {
+		return solve(boards.iterator(), sink);
+	}
+
+	/**
+	 * Solves every board an iterator returns. Boards are read on the
+	 * calling thread, which blocks while maxPending boards are in
+	 * flight, and this returns once every result has been given to
+	 * the sink.
+	 *
+	 * @param boards The boards to solve
+	 * @param sink Receives each result as it is ready
+	 *
+	 * @return long The number of boards solved
+	 *
+	 * @throws IOException Thrown when the sink fails or the cache cannot be written
+	 * @throws InterruptedException Thrown when the calling thread is interrupted while waiting
+	 */
+
+	public long solve(Iterator<int[][]> boards, ResultSink sink) throws IOException, InterruptedException {
+		assert (boards != null) && (sink != null);
+
+		ExecutorService pool = ownsExecutor ? Executors.newFixedThreadPool(threads) : executor;
+		Semaphore pending = new Semaphore(maxPending);
+		AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+		long count = 0;
+
+		try {
+			while((failure.get() == null) && boards.hasNext()) {
+				pending.acquire();
+
+				int[][] board = boards.next();
+				long index = count++;
+
+				pool.execute(() -> {
+					try {
+						BatchResult result = solve(index, board);
+
+						synchronized(sink) {
+							if(failure.get() == null) {
+								sink.accept(result);
+							}
+						}
+					}
+					catch(Throwable e) {
+						failure.compareAndSet(null, e);
+					}
+					finally {
+						pending.release();
+					}
+				});
+			}
+
+			// wait for every board still in flight
+			pending.acquire(maxPending);
+			pending.release(maxPending);
+		}
+		finally {
+			if(ownsExecutor) {
+				pool.shutdownNow();
+			}
+		}
+
+		Throwable e = failure.get();
+
+		if(e instanceof IOException) {
+			throw (IOException) e;
+		}
+		if(e instanceof RuntimeException) {
+			throw (RuntimeException) e;
+		}
+		if(e instanceof Error) {
+			throw (Error) e;
+		}
+
+		return count;
+	}
+
+	/**
+	 * Solves one board.
+	 *
+	 * @param index The position of the board in the input
+	 * @param board The board to solve
+	 *
+	 * @return BatchResult The outcome
+	 *
+	 * @throws IOException Thrown when the solution cannot be added to the cache
+	 * @throws IllegalArgumentException Thrown when the board does not hold the goal's tiles
+	 */
+
+	private BatchResult solve(long index, int[][] board) throws IOException {
+		long start = System.nanoTime();
+		int size = goal.getSize();
+		int[] tiles = new int[size * size];
+		boolean[] seen = new boolean[size * size];
+
+		if(board.length != size) {
+			throw new IllegalArgumentException("Board " + index + " is not " + size + "x" + size);
+		}
+
+		for(int i = 0; i < size; i++) {
+			if(board[i].length != size) {
+				throw new IllegalArgumentException("Board " + index + " is not " + size + "x" + size);
+			}
+
+			for(int j = 0; j < size; j++) {
+				int tile = board[i][j];
+
+				if((tile < 0) || (tile >= tiles.length) || seen[tile]) {
+					throw new IllegalArgumentException("Board " + index + " has an invalid or repeated tile " + tile);
+				}
+
+				seen[tile] = true;
+				tiles[i * size + j] = tile;
+			}
+		}
+
+		if(!goal.isSolvable(tiles)) {
+			return new BatchResult(index, board, -1, "", 0, System.nanoTime() - start);
+		}
+
+		SolutionCache solutions = cache;
+		Solution cached = (solutions == null) ? null : solutions.get(PackedState.pack(tiles));
+
+		if(cached != null) {
+			return new BatchResult(index, board, cached.length(), cached.toString(), 0, System.nanoTime() - start);
+		}
+
+		SearchStats stats = new SearchStats();
+		EightPuzzleNode root = new EightPuzzleNode(size, PackedState.pack(tiles), goal, heuristic, null, 0, "START");
+		Solution solution = new IDAStarSearch(root).search(root, null, stats, budget);
+
+		if(solution == null) {
+			return new BatchResult(index, board, -1, "", stats.getGenerated(), System.nanoTime() - start, stats.getExceededLimit());
+		}
+		if(solutions != null) {
+			solutions.put(solution);
+		}
+
+		return new BatchResult(index, board, solution.length(), solution.toString(), stats.getGenerated(), System.nanoTime() - start);
+	}
+}
@@ -0,0 +1,235 @@
+package model;
+import java.util.Arrays;
+
+/**
+ * BidirectionalSearch runs a breadth-first search forwards from the
+ * root and backwards from the goal at the same time, always expanding
+ * a whole layer of whichever side has the smaller frontier. The two
+ * searches meet in the middle, so each only has to reach about half the
+ * solution depth.
+ *
+ * Each side records the states it has reached in a LongIntHashMap
+ * keyed by packed state, storing the distance from its own start and
+ * the last move (distance * 4 + move). A state generated by one side
+ * that is already in the other side's table is a meeting point. Every
+ * meeting is seen by whichever side reaches it second, so finishing the
+ * layer in which the first meeting appears and keeping the shortest
+ * one gives an optimal solution.
+ *
+ * @author Edward B.
+ */
+
+class BidirectionalSearch {
+
+	private static final int NOT_FOUND = Integer.MAX_VALUE;
+
+	private int size;
+	private LongIntHashMap forward = new LongIntHashMap();
+	private LongIntHashMap backward = new LongIntHashMap();
+	private long meeting;
+	private int best;
+	private int layerCount;
+	private long expanded;
+	private long generated;
+	private long duplicates;
+	private int peakLayer;
+	private SearchBudget budget;
+	private long deadline;
+	private SearchBudget.Limit exceeded;
+
+	/**
+	 * Searches from root towards the root's goal and records the
+	 * search's counters. The open set is counted as the largest layer.
+	 * The budget counts both tables and the layers being expanded.
+	 *
+	 * @param root The node to start searching from
+	 * @param stats Receives the search's counters and the limit it exceeded, if any
+	 * @param budget The limits the search must stay within
+	 *
+	 * @return Solution The moves that solve the puzzle, or null if there are none or the budget ran out
+	 */
+
+	Solution search(EightPuzzleNode root, SearchStats stats, SearchBudget budget) {
+		assert (root != null) && (budget != null);
+
+		long startNanos = System.nanoTime();
+
+		this.budget = budget;
+		deadline = budget.deadline(startNanos);
+		stats.reset("Bidirectional BFS");
+
+		Solution solution = search(root);
+
+		stats.expanded = expanded;
+		stats.generated = generated;
+		stats.duplicates = duplicates;
+		stats.peakOpen = peakLayer;
+		stats.peakClosed = forward.size() + backward.size();
+		stats.finish(startNanos, solution, exceeded);
+
+		return solution;
+	}
+
+	/**
+	 * Runs both searches until they meet or the budget runs out.
+	 *
+	 * @param root The node to start searching from
+	 *
+	 * @return Solution The moves that solve the puzzle, or null if there are none
+	 */
+
+	private Solution search(EightPuzzleNode root) {
+		long start = root.getPackedState();
+		long goal = root.getGoal().getGoalState();
+
+		size = root.getSize();
+
+		if(start == goal) {
+			return new Solution(size, start, new int[0], 0);
+		}
+
+		// the two searches never meet on an unsolvable board, so they would run until the tables fill the heap
+		if(!root.getGoal().isSolvable(PackedState.unpack(start, new int[size * size]))) {
+			return null;
+		}
+
+		long[] forwardLayer = {start};
+		long[] backwardLayer = {goal};
+		int forwardCount = 1;
+		int backwardCount = 1;
+		int forwardDepth = 0;
+		int backwardDepth = 0;
+
+		forward.put(start, 0);
+		backward.put(goal, 0);
+		best = NOT_FOUND;
+
+		while((forwardCount > 0) && (backwardCount > 0) && (best == NOT_FOUND) && (exceeded == null)) {
+			if(forwardCount <= backwardCount) {
+				forwardLayer = expand(forwardLayer, forwardCount, forwardDepth, forward, backward);
+				forwardCount = layerCount;
+				forwardDepth++;
+			}
+			else {
+				backwardLayer = expand(backwardLayer, backwardCount, backwardDepth, backward, forward);
+				backwardCount = layerCount;
+				backwardDepth++;
+			}
+		}
+
+		// a meeting in a layer that was not finished may not be the shortest one
+		if((best == NOT_FOUND) || (exceeded != null)) {
+			return null;
+		}
+
+		return buildPath(root);
+	}
+
+	/**
+	 * Expands one whole layer of one side of the search, or stops part
+	 * way through if the budget runs out.
+	 *
+	 * @param layer The states at depth on this side
+	 * @param count The number of states in layer
+	 * @param depth The distance of layer from this side's start
+	 * @param own This side's table of reached states
+	 * @param other The other side's table of reached states
+	 *
+	 * @return long[] The states at depth + 1, the first layerCount of them valid
+	 */
+
+	private long[] expand(long[] layer, int count, int depth, LongIntHashMap own, LongIntHashMap other) {
+		long[] next = new long[Math.max(16, count * 2)];
+		int nextCount = 0;
+
+		for(int i = 0; i < count; i++) {
+			if((expanded & (SearchBudget.CHECK_INTERVAL - 1)) == 0) {
+				long bytes = forward.byteSize() + backward.byteSize() + (layer.length + next.length) * (long) Long.BYTES;
+
+				exceeded = budget.exceeded(generated, bytes, deadline);
+
+				if(exceeded != null) {
+					break;
+				}
+			}
+
+			long state = layer[i];
+			int blank = PackedState.indexOf(state, size, 0);
+
+			expanded++;
+
+			for(int move = Move.UP; move <= Move.LEFT; move++) {
+				int target = Move.target(blank, size, move);
+
+				if(target < 0) {
+					continue;
+				}
+
+				long neighbor = PackedState.slide(state, blank, target);
+
+				generated++;
+
+				if(own.containsKey(neighbor)) {
+					duplicates++;
+					continue;
+				}
+
+				own.put(neighbor, (depth + 1) * 4 + move);
+
+				if(nextCount == next.length) {
+					next = Arrays.copyOf(next, next.length * 2);
+				}
+				next[nextCount++] = neighbor;
+
+				int otherValue = other.get(neighbor);
+
+				if((otherValue != LongIntHashMap.NO_VALUE) && (depth + 1 + otherValue / 4 < best)) {
+					best = depth + 1 + otherValue / 4;
+					meeting = neighbor;
+				}
+			}
+		}
+
+		layerCount = nextCount;
+		peakLayer = Math.max(peakLayer, nextCount);
+
+		return next;
+	}
+
+	/**
+	 * Stitches the forward half-path (root to meeting) and backward
+	 * half-path (meeting to goal) into one solution.
+	 *
+	 * @param root The node the search started from
+	 *
+	 * @return Solution The moves from root to the goal
+	 */
+
+	private Solution buildPath(EightPuzzleNode root) {
+		int[] moves = new int[best];
+		int forwardLength = forward.get(meeting) / 4;
+		long state = meeting;
+
+		// walk back to the root, undoing each recorded move
+		for(int i = forwardLength - 1; i >= 0; i--) {
+			int move = forward.get(state) % 4;
+			int blank = PackedState.indexOf(state, size, 0);
+
+			moves[i] = move;
+			state = PackedState.slide(state, blank, Move.target(blank, size, Move.opposite(move)));
+		}
+
+		state = meeting;
+
+		// walk on to the goal, undoing each move the backward search made
+		for(int i = forwardLength; i < best; i++) {
+			int move = Move.opposite(backward.get(state) % 4);
+			int blank = PackedState.indexOf(state, size, 0);
+
+			moves[i] = move;
+			state = PackedState.slide(state, blank, Move.target(blank, size, move));
+		}
+
+		return new Solution(size, root.getPackedState(), moves, best);
+	}
+}
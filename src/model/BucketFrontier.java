@@ -0,0 +1,158 @@
+package model;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * BucketFrontier is a Frontier that takes advantage of the estimated
+ * total cost and heuristic estimate being small non-negative integers.
+ * Nodes are kept in one bucket per total cost, and each of those is
+ * split into sub-buckets per heuristic estimate. Sub-buckets are stacks,
+ * so among nodes with equal total cost the one with the lowest estimate
+ * (the deepest one) is expanded first, most recent first.
+ * Adding and polling are amortized constant time.
+ *
+ * @author Edward B.
+ */
+
+public class BucketFrontier implements Frontier {
+
+	private static final int INITIAL_BUCKETS = 64;
+
+	private ArrayList<ArrayList<EightPuzzleNode>>[] buckets;
+	private int[] bucketSizes;
+	private int[] minEstimates;
+	private int minTotalCost;
+	private int size;
+
+	/**
+	 * BucketFrontier constructor that creates an empty frontier.
+	 */
+
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	public BucketFrontier() {
+		buckets = new ArrayList[INITIAL_BUCKETS];
+		bucketSizes = new int[INITIAL_BUCKETS];
+		minEstimates = new int[INITIAL_BUCKETS];
+		clear();
+	}
+
+	@Override
+	public void add(EightPuzzleNode node) {
+		assert node != null;
+
+		int f = node.getTotalCost();
+		int h = node.getEstimate();
+
+		if(f >= buckets.length) {
+			grow(f);
+		}
+		if(buckets[f] == null) {
+			buckets[f] = new ArrayList<ArrayList<EightPuzzleNode>>();
+		}
+
+		ArrayList<ArrayList<EightPuzzleNode>> bucket = buckets[f];
+
+		while(bucket.size() <= h) {
+			bucket.add(null);
+		}
+		if(bucket.get(h) == null) {
+			bucket.set(h, new ArrayList<EightPuzzleNode>());
+		}
+
+		bucket.get(h).add(node);
+		bucketSizes[f]++;
+		size++;
+
+		if(h < minEstimates[f]) {
+			minEstimates[f] = h;
+		}
+		if(f < minTotalCost) {
+			minTotalCost = f;
+		}
+	}
+
+	@Override
+	public EightPuzzleNode poll() {
+		if(size == 0) {
+			return null;
+		}
+
+		while(bucketSizes[minTotalCost] == 0) {
+			minTotalCost++;
+		}
+
+		ArrayList<ArrayList<EightPuzzleNode>> bucket = buckets[minTotalCost];
+		int h = minEstimates[minTotalCost];
+
+		while((bucket.get(h) == null) || bucket.get(h).isEmpty()) {
+			h++;
+		}
+
+		ArrayList<EightPuzzleNode> stack = bucket.get(h);
+		EightPuzzleNode node = stack.remove(stack.size() - 1);
+
+		bucketSizes[minTotalCost]--;
+		minEstimates[minTotalCost] = (bucketSizes[minTotalCost] == 0) ? Integer.MAX_VALUE : h;
+		size--;
+
+		return node;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Removes every node from the frontier. The bucket lists
+	 * themselves are kept so they can be reused.
+	 *
+	 * @return Nothing
+	 */
+
+	@Override
+	public void clear() {
+		for(ArrayList<ArrayList<EightPuzzleNode>> bucket : buckets) {
+			if(bucket != null) {
+				for(ArrayList<EightPuzzleNode> stack : bucket) {
+					if(stack != null) {
+						stack.clear();
+					}
+				}
+			}
+		}
+
+		Arrays.fill(bucketSizes, 0);
+		Arrays.fill(minEstimates, Integer.MAX_VALUE);
+		minTotalCost = Integer.MAX_VALUE;
+		size = 0;
+	}
+
+	/**
+	 * Grows the bucket arrays so that totalCost has a bucket.
+	 *
+	 * @param totalCost The largest total cost that must fit
+	 *
+	 * @return Nothing
+	 */
+
+	private void grow(int totalCost) {
+		int capacity = buckets.length;
+
+		while(capacity <= totalCost) {
+			capacity *= 2;
+		}
+
+		int oldCapacity = buckets.length;
+
+		buckets = Arrays.copyOf(buckets, capacity);
+		bucketSizes = Arrays.copyOf(bucketSizes, capacity);
+		minEstimates = Arrays.copyOf(minEstimates, capacity);
+		Arrays.fill(minEstimates, oldCapacity, capacity, Integer.MAX_VALUE);
+	}
+}
@@ -0,0 +1,36 @@
+package model;
+
+/**
+ * CancellationToken lets one thread ask a search running on another
+ * to stop. The search sees the request the next time it checks its
+ * SearchBudget and returns a SearchResult whose exceeded limit is
+ * CANCELLED. A token can be shared by several searches and cannot be
+ * reset.
+ *
+ * @author Edward B.
+ */
+
+public class CancellationToken {
+
+	private volatile boolean cancelled;
+
+	/**
+	 * Asks every search using this token to stop. May be called from any thread.
+	 *
+	 * @return Nothing
+	 */
+
+	public void cancel() {
+		cancelled = true;
+	}
+
+	/**
+	 * Returns whether or not cancel() has been called.
+	 *
+	 * @return boolean Whether the token is cancelled
+	 */
+
+	public boolean isCancelled() {
+		return cancelled;
+	}
+}
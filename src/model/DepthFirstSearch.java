@@ -0,0 +1,222 @@
+package model;
+import java.util.Arrays;
+
+/**
+ * DepthFirstSearch is one iteration of iterative-deepening A* below a
+ * single mutable board. Moves are made and unmade in place and the
+ * heuristic estimate is updated incrementally, and the moves on the
+ * current path are kept in a growing array. IDAStarSearch runs it from
+ * the root, and ParallelIDAStarSearch runs one below every board at its
+ * split depth.
+ *
+ * Subclasses decide when to stop: isStopped() is checked at every
+ * node, and isOverBudget() every SearchBudget.CHECK_INTERVAL
+ * expansions.
+ *
+ * @author Edward B.
+ */
+
+abstract class DepthFirstSearch {
+
+	static final int FOUND = -1;
+	static final int STOPPED = -2;
+	static final int NOT_FOUND = Integer.MAX_VALUE;
+
+	private GoalTable goal;
+	private Heuristic heuristic;
+	private int size;
+	private int[] tiles;
+	private int blank;
+	private int[] path;
+	private int pathLength;
+	private long expanded;
+	private long generated;
+
+	/**
+	 * DepthFirstSearch constructor. The search keeps tiles and path
+	 * as its own, so callers must pass copies.
+	 *
+	 * @param goal The goal board
+	 * @param heuristic The heuristic, created for the goal
+	 * @param tiles The board to search below, in row-major order
+	 * @param blank The index of the empty tile
+	 * @param path The moves that reached the board, followed by room for more
+	 */
+
+	DepthFirstSearch(GoalTable goal, Heuristic heuristic, int[] tiles, int blank, int[] path) {
+		assert (goal != null) && (heuristic != null) && (path.length > 0);
+
+		this.goal = goal;
+		this.heuristic = heuristic;
+		this.size = goal.getSize();
+		this.tiles = tiles;
+		this.blank = blank;
+		this.path = path;
+	}
+
+	/**
+	 * Depth-first search below the current board, cut off at bound.
+	 *
+	 * @param g The path cost to the current board
+	 * @param h The heuristic estimate of the current board
+	 * @param bound The f-cost bound of this iteration
+	 * @param previous The move that led to the current board, never undone
+	 *
+	 * @return int FOUND, STOPPED, or the smallest f-cost that exceeded the bound
+	 */
+
+	int search(int g, int h, int bound, int previous) {
+		int f = g + h;
+
+		if(f > bound) {
+			return f;
+		}
+		if(isStopped()) {
+			return STOPPED;
+		}
+		if((h == 0) && goal.isGoal(tiles)) {
+			pathLength = g;
+			return FOUND;
+		}
+
+		int min = NOT_FOUND;
+
+		expanded++;
+
+		if(((expanded & (SearchBudget.CHECK_INTERVAL - 1)) == 0) && isOverBudget()) {
+			return STOPPED;
+		}
+
+		for(int move = Move.UP; move <= Move.LEFT; move++) {
+			if((previous != Move.NONE) && (move == Move.opposite(previous))) {
+				continue;
+			}
+
+			int target = Move.target(blank, size, move);
+
+			if(target < 0) {
+				continue;
+			}
+
+			// make the move
+			int tile = tiles[target];
+			int from = blank;
+			tiles[from] = tile;
+			tiles[target] = 0;
+			blank = target;
+			generated++;
+
+			if(g == path.length) {
+				path = Arrays.copyOf(path, path.length * 2);
+			}
+			path[g] = move;
+
+			int result = search(g + 1, heuristic.update(tiles, h, tile, target, from), bound, move);
+
+			// unmake the move
+			tiles[target] = tile;
+			tiles[from] = 0;
+			blank = from;
+
+			if((result == FOUND) || (result == STOPPED)) {
+				return result;
+			}
+			if(result < min) {
+				min = result;
+			}
+		}
+
+		return min;
+	}
+
+	/**
+	 * Returns whether or not the search must stop at once, which is
+	 * checked at every node. By default it never must.
+	 *
+	 * @return boolean Whether to stop
+	 */
+
+	boolean isStopped() {
+		return false;
+	}
+
+	/**
+	 * Checks the search's budget, which is done every
+	 * SearchBudget.CHECK_INTERVAL expansions.
+	 *
+	 * @return boolean Whether the search has run out of budget and must stop
+	 */
+
+	abstract boolean isOverBudget();
+
+	/**
+	 * Returns the goal board.
+	 *
+	 * @return GoalTable The goal
+	 */
+
+	GoalTable getGoal() {
+		return goal;
+	}
+
+	/**
+	 * Returns the width and height of the board.
+	 *
+	 * @return int The dimensions of the board
+	 */
+
+	int getSize() {
+		return size;
+	}
+
+	/**
+	 * Returns the board being searched, as it is between moves.
+	 *
+	 * @return int[] The board in row-major order
+	 */
+
+	int[] getTiles() {
+		return tiles;
+	}
+
+	/**
+	 * Returns the moves of the last solution found, in an array that
+	 * may be longer than the solution.
+	 *
+	 * @return int[] The moves, the first getPathLength() of which are the solution
+	 */
+
+	int[] getPath() {
+		return path;
+	}
+
+	/**
+	 * Returns the length of the last solution found.
+	 *
+	 * @return int The number of moves
+	 */
+
+	int getPathLength() {
+		return pathLength;
+	}
+
+	/**
+	 * Returns the number of boards expanded so far.
+	 *
+	 * @return long The number of expansions
+	 */
+
+	long getExpanded() {
+		return expanded;
+	}
+
+	/**
+	 * Returns the number of boards generated so far.
+	 *
+	 * @return long The number of successors generated
+	 */
+
+	long getGenerated() {
+		return generated;
+	}
+}
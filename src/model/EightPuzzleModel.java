@@ -17,6 +17,7 @@ public class EightPuzzleModel {
 	private int size;
 	private int[][] goalState;
 	private int[][] currentState;
+	private int[] positions;
 	private int zeroX;
 	private int zeroY;
 	
@@ -94,7 +95,8 @@ public class EightPuzzleModel {
 	}
 	
 	/**
-	 * Updates the current state of the board
+	 * Updates the current state of the board, along with the
+	 * position of every tile and the empty tile's coordinates.
 	 * 
 	 * @param curr The new board state
 	 * 
@@ -117,6 +119,8 @@ public class EightPuzzleModel {
 				currentState[i][j] = curr[i][j]; 
 			}
 		}
+		
+		indexTiles();
 	}
 	
 	/**
@@ -130,7 +134,9 @@ public class EightPuzzleModel {
 	}
 	
 	/**
-	 * Returns a copy of the board's current state
+	 * Returns a copy of the board's current state. Callers that
+	 * read the board on every update should use copyCurrentState()
+	 * or getTile() instead, which do not allocate.
 	 * 
 	 * @return int[][] The current board state
 	 */
@@ -147,6 +153,38 @@ public class EightPuzzleModel {
 		return temp;
 	}
 	
+	/**
+	 * Copies the board's current state into a board the caller
+	 * owns, so that it can be reused across updates.
+	 * 
+	 * @param board The board to copy into, with the same dimensions as the puzzle
+	 * 
+	 * @return int[][] The board copied into
+	 */
+	
+	public int[][] copyCurrentState(int[][] board) {
+		assert (board != null) && (board.length == size);
+		
+		for(int i = 0; i < size; i++) {
+			System.arraycopy(currentState[i], 0, board[i], 0, size);
+		}
+		
+		return board;
+	}
+	
+	/**
+	 * Returns the tile at (x, y) on the current board.
+	 * 
+	 * @param x The row of the tile
+	 * @param y The column of the tile
+	 * 
+	 * @return int The tile, 0 for the empty tile
+	 */
+	
+	public int getTile(int x, int y) {
+		return currentState[x][y];
+	}
+	
 	/**
 	 * Returns a copy of the board's goal state
 	 * 
@@ -165,6 +203,25 @@ public class EightPuzzleModel {
 		return temp;
 	}
 	
+	/**
+	 * Copies the board's goal state into a board the caller owns,
+	 * so that it can be reused across updates.
+	 * 
+	 * @param board The board to copy into, with the same dimensions as the puzzle
+	 * 
+	 * @return int[][] The board copied into
+	 */
+	
+	public int[][] copyGoalState(int[][] board) {
+		assert (board != null) && (board.length == size);
+		
+		for(int i = 0; i < size; i++) {
+			System.arraycopy(goalState[i], 0, board[i], 0, size);
+		}
+		
+		return board;
+	}
+	
 	/**
 	 * Swaps the tiles located at (x1, y1) and (x2, y2)
 	 * 
@@ -183,6 +240,27 @@ public class EightPuzzleModel {
 		int temp = currentState[x1][y1];
 		currentState[x1][y1] = currentState[x2][y2];
 		currentState[x2][y2] = temp;
+		
+		positions[currentState[x1][y1]] = x1 * size + y1;
+		positions[currentState[x2][y2]] = x2 * size + y2;
+	}
+	
+	/**
+	 * Rebuilds the position of every tile from the current board
+	 * and moves the empty tile's coordinates to where it lies.
+	 * 
+	 * @return Nothing
+	 */
+	
+	private void indexTiles() {
+		for(int i = 0; i < size; i++) {
+			for(int j = 0; j < size; j++) {
+				positions[currentState[i][j]] = i * size + j;
+			}
+		}
+		
+		zeroX = positions[0] / size;
+		zeroY = positions[0] % size;
 	}
 	
 	/**
@@ -224,24 +302,29 @@ public class EightPuzzleModel {
 	 */
 	
 	public String move(String str) throws InvalidTileException{
-		int tile = Integer.parseInt(str);
+		return move(Integer.parseInt(str));
+	}
+	
+	/**
+	 * Moves the tile specified and the empty tile. The tile is
+	 * found through its indexed position rather than by searching
+	 * the board.
+	 * 
+	 * @param tile The tile to be moved
+	 * 
+	 * @return String The direction the empty tile moved, or an empty string if the tile is not next to it
+	 * 
+	 * @throws InvalidTileException Thrown when the tile is out of range of the board
+	 */
+	
+	public String move(int tile) throws InvalidTileException{
 		if((tile < 0) || (tile > (size * size - 1))) {
 			throw new InvalidTileException("Tiles must be between 0-" + (size * size - 1) + ", inclusive");
 		}
-		int tileX = 0;
-		int tileY = 0;
+		int tileX = positions[tile] / size;
+		int tileY = positions[tile] % size;
 		String action = "";
 		
-		for(int i = 0; i < size; i++) {
-			for(int j = 0; j < size; j++) {
-				if(currentState[i][j] == tile) {
-					tileX = i;
-					tileY = j;
-					break;
-				}
-			}
-		}
-		
 		if((Math.abs(zeroX - tileX) + Math.abs(zeroY - tileY)) == 1) {
 			swapTiles(zeroX, zeroY, tileX, tileY);
 			
@@ -375,17 +458,18 @@ public class EightPuzzleModel {
 	 */
 	
 	public void generateNewPuzzle() {
-		currentState = new int[size][size];
-		zeroX = 0;
-		zeroY = 0;
+		// the board and index are allocated once and reused by every puzzle
+		if(currentState == null) {
+			currentState = new int[size][size];
+			positions = new int[size * size];
+		}
 		
 		// reset current state to goal state
 		for(int i = 0; i < size; i++) {
-			for(int j = 0; j < size; j++) {
-				currentState[i][j] = goalState[i][j];
-			}
+			System.arraycopy(goalState[i], 0, currentState[i], 0, size);
 		}
 		
+		indexTiles();
 		initTiles();
 		
 		// checks to see if the board generated is solvable
@@ -401,14 +485,7 @@ public class EightPuzzleModel {
 		}
 		
 		// sets the zero coordinates
-		for(int i = 0; i < size; i++) {
-			for(int j = 0; j < size; j++) {
-				if(currentState[i][j] == 0) {
-					zeroX = i;
-					zeroY = j;
-					break;
-				}
-			}
-		}
+		zeroX = positions[0] / size;
+		zeroY = positions[0] % size;
 	}
 }
\ No newline at end of file
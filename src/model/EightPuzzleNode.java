@@ -10,12 +10,19 @@ import java.util.ArrayList;
 
 public class EightPuzzleNode {
 	
+	// about the size of a node and one reference to it, as counted by a SearchBudget
+	static final int APPROXIMATE_BYTES = 72;
+	
 	private EightPuzzleNode parent;
-	private int[][] currentState;
-	private int[][] goalState;
+	private long currentState;
+	private GoalTable goal;
+	private Heuristic heuristic;
+	private int blankIndex;
 	private int depth;
-	private int manhattanDistance;
+	private int estimate;
 	private int cost;
+	private int pathCost;
+	private int totalCost;
 	private int size;
 	private String action;
 	
@@ -33,14 +40,60 @@ public class EightPuzzleNode {
 	 */
 	
 	public EightPuzzleNode(int size, int[][] current, int[][]goal, EightPuzzleNode parent, int cost, String action) {
+		this(size, PackedState.pack(current), new GoalTable(size, PackedState.pack(goal)), parent, cost, action);
+	}
+	
+	/**
+	 * Constructor for an EightPuzzleNode from a packed board state and
+	 * a goal table shared with the rest of the search. Calculates the
+	 * Manhattan distance from scratch.
+	 * 
+	 * @param size This is the dimensions (height and width) of the board
+	 * @param current This is the packed current state of the board
+	 * @param goal This is the goal table shared by every node in the search
+	 * @param parent This is the parent of this node, which holds the previous state of the board
+	 * @param cost This is the cost of the action taken to get to the current state, used for A* search
+	 * @param action This is the direction the empty tile shifted to get to the current state
+	 */
+	
+	EightPuzzleNode(int size, long current, GoalTable goal, EightPuzzleNode parent, int cost, String action) {
+		this(size, current, goal, new ManhattanHeuristic(goal), parent, cost, action);
+	}
+	
+	/**
+	 * Constructor for an EightPuzzleNode whose estimate comes from the
+	 * given heuristic, calculated from scratch. Its successors share
+	 * the same goal table and heuristic.
+	 * 
+	 * @param heuristic This is the heuristic created for goal
+	 */
+	
+	EightPuzzleNode(int size, long current, GoalTable goal, Heuristic heuristic,
+			EightPuzzleNode parent, int cost, String action) {
+		this(size, current, goal, heuristic, parent, cost, action,
+				heuristic.estimate(PackedState.unpack(current, new int[size * size])));
+	}
+	
+	/**
+	 * Constructor used by successor generation, where the estimate
+	 * has already been derived from the parent's.
+	 * 
+	 * @param estimate This is the heuristic estimate of the current state
+	 */
+	
+	private EightPuzzleNode(int size, long current, GoalTable goal, Heuristic heuristic,
+			EightPuzzleNode parent, int cost, String action, int estimate) {
 		setSize(size);
 		setCurrentState(current);
-		setGoalState(goal);
+		setGoal(goal);
+		setHeuristic(heuristic);
 		setParent(parent);
 		setCost(cost);
 		setAction(action);
 		setDepth();
-		setManhattanDistance();
+		setEstimate(estimate);
+		setPathCost();
+		setTotalCost();
 	}
 	
 	/**
@@ -50,7 +103,7 @@ public class EightPuzzleNode {
 	 */
 	
 	private void setSize(int s) {
-		assert(s > 1);
+		assert PackedState.fits(s);
 		
 		size = s;
 	}
@@ -61,34 +114,35 @@ public class EightPuzzleNode {
 	 * @return Nothing
 	 */
 	
-	private void setCurrentState(int[][] current) {
-		assert current != null;
+	private void setCurrentState(long current) {
+		currentState = current;
+		blankIndex = PackedState.indexOf(current, size, 0);
 		
-		currentState = new int[size][size];
-		
-		for(int i = 0; i < size; i++) {
-			for(int j = 0; j < size; j++) {
-				currentState[i][j] = current[i][j];
-			}
-		}
+		assert blankIndex >= 0;
 	}
 	
 	/**
-	 * Sets this node's goal state.
+	 * Sets this node's goal table.
 	 * 
 	 * @return Nothing
 	 */
 	
-	private void setGoalState(int[][] goal) {
-		assert goal != null;
+	private void setGoal(GoalTable g) {
+		assert (g != null) && (g.getSize() == size);
 		
-		goalState = new int[size][size];
+		goal = g;
+	}
+	
+	/**
+	 * Sets the heuristic used to estimate this node and its successors.
+	 * 
+	 * @return Nothing
+	 */
+	
+	private void setHeuristic(Heuristic h) {
+		assert h != null;
 		
-		for(int i = 0; i < size; i++) {
-			for(int j = 0; j < size; j++) {
-				goalState[i][j] = goal[i][j];
-			}
-		}
+		heuristic = h;
 	}
 	
 	/**
@@ -144,28 +198,46 @@ public class EightPuzzleNode {
 	}
 	
 	/**
-	 * Calculates the Manhattan distance, or absolute value of the distance
-	 * each tile needs to travel vertically and horizontally to get to the
-	 * goal position.
+	 * Sets the total cost of the path from the root to this node
+	 * to be this node's cost plus the parent's path cost, if any.
 	 * 
 	 * @return Nothing
 	 */
 	
-	private void setManhattanDistance() {
-		int sum = 0;
-		
-		for(int i = 0; i < size; i++) {
-			for(int j = 0; j < size; j++) {
-				if(currentState[i][j] != 0) {
-					if(currentState[i][j] != goalState[i][j]) {
-						int[] goalCoordinates = getCoordinates(currentState[i][j], goalState);
-						sum += (Math.abs(goalCoordinates[0] - i) + Math.abs(goalCoordinates[1] - j));
-					}
-				}
-			}
+	private void setPathCost() {
+		if (parent == null) {
+			pathCost = cost;
 		}
+		else {
+			pathCost = parent.pathCost() + cost;
+		}
+	}
+	
+	/**
+	 * Sets the estimated total cost of a solution through this node,
+	 * the path cost plus the heuristic estimate. Must be called after
+	 * setPathCost() and setEstimate().
+	 * 
+	 * @return Nothing
+	 */
+	
+	private void setTotalCost() {
+		totalCost = pathCost + estimate;
+	}
+	
+	/**
+	 * Sets the heuristic estimate of the moves left to reach the goal
+	 * (by default the Manhattan distance, or absolute value of the
+	 * distance each tile needs to travel vertically and horizontally
+	 * to get to the goal position).
+	 * 
+	 * @return Nothing
+	 */
+	
+	private void setEstimate(int e) {
+		assert e == heuristic.estimate(PackedState.unpack(currentState, new int[size * size]));
 		
-		manhattanDistance = sum;
+		estimate = e;
 	}
 	
 	/**
@@ -185,33 +257,58 @@ public class EightPuzzleNode {
 	 */
 	
 	public int[][] getCurrentState() {
-		int[][] temp = new int[size][size];
-		
-		for(int i = 0; i < size; i++) {
-			for(int j = 0; j < size; j++) {
-				temp[i][j] = currentState[i][j];
-			}
-		}
-		
-		return temp;
+		return PackedState.unpack(currentState, size);
 	}
 	
 	/**
-	 * Returns a copy of this node's goalState
+	 * Returns a copy of this node's goal state
 	 * 
 	 * @return int[][] Copy of the board's goal state
 	 */
 	
 	public int[][] getGoalState() {
-		int[][] temp = new int[size][size];
-		
-		for(int i = 0; i < size; i++) {
-			for(int j = 0; j < size; j++) {
-				temp[i][j] = goalState[i][j];
-			}
-		}
-		
-		return temp;
+		return PackedState.unpack(goal.getGoalState(), size);
+	}
+	
+	/**
+	 * Returns this node's current state packed into a long
+	 * (see PackedState).
+	 * 
+	 * @return long The packed board state
+	 */
+	
+	public long getPackedState() {
+		return currentState;
+	}
+	
+	/**
+	 * Returns the row-major index of the empty tile.
+	 * 
+	 * @return int The empty tile's index
+	 */
+	
+	public int getBlankIndex() {
+		return blankIndex;
+	}
+	
+	/**
+	 * Returns the goal table shared by this node's search.
+	 * 
+	 * @return GoalTable This node's goal table
+	 */
+	
+	public GoalTable getGoal() {
+		return goal;
+	}
+	
+	/**
+	 * Returns the heuristic shared by this node's search.
+	 * 
+	 * @return Heuristic This node's heuristic
+	 */
+	
+	public Heuristic getHeuristic() {
+		return heuristic;
 	}
 	
 	/**
@@ -244,33 +341,6 @@ public class EightPuzzleNode {
 		return action;
 	}
 	
-	/**
-	 * Determines the x and y position of a given number's tile on a given board state.
-	 * 
-	 * @param target This is the number whose tile will be searched for
-	 * @param state This is the board that will be searched through
-	 * 
-	 * @return int[] These are the array indices, or coordinates of the target in state
-	 */
-	
-	private int[] getCoordinates(int target, int[][]state) {
-		assert (target >= 0) && (target < (size * size));
-		assert (state != null) && (state[0].length == size);
-		
-		int[] coordinates = new int[2];
-		
-		for(int i = 0; i < size; i++) { //i
-			for(int j = 0; j < size; j++) {
-				if(state[i][j] == target) {
-					coordinates[0] = i;
-					coordinates[1] = j;
-				}
-			}
-		}
-		
-		return coordinates;
-	}
-	
 	/**
 	 * Returns the current node's depth.
 	 * 
@@ -282,13 +352,13 @@ public class EightPuzzleNode {
 	}
 	
 	/**
-	 * Returns the Manhattan distance of this node
+	 * Returns the heuristic estimate of this node
 	 * 
-	 * @return int This node's Manhattan distance
+	 * @return int This node's estimated number of moves to the goal
 	 */
 	
-	public int getManhattanDistance() {
-		return manhattanDistance;
+	public int getEstimate() {
+		return estimate;
 	}
 	
 	/**
@@ -299,75 +369,147 @@ public class EightPuzzleNode {
 	 */
 	
 	public ArrayList<EightPuzzleNode> generateSuccessors() {
-		ArrayList<EightPuzzleNode> successors = new ArrayList<EightPuzzleNode>();
-		int[] coordinates = getCoordinates(0, currentState);
+		return generateSuccessors(new int[size * size]);
+	}
+	
+	/**
+	 * Generates successor nodes, using tiles as scratch space for
+	 * the heuristic's incremental updates so that searches can
+	 * reuse one buffer for every expansion.
+	 * 
+	 * @param tiles Scratch buffer with room for every tile on the board
+	 * 
+	 * @return ArrayList<EightPuzzleNode> This is the list of nodes with valid tile swap actions
+	 */
+	
+	ArrayList<EightPuzzleNode> generateSuccessors(int[] tiles) {
+		return generateSuccessors(tiles, new ArrayList<EightPuzzleNode>(4));
+	}
+	
+	/**
+	 * Generates successor nodes into a list that is cleared first, so
+	 * that searches can reuse one list for every expansion.
+	 * 
+	 * @param tiles Scratch buffer with room for every tile on the board
+	 * @param successors The list to fill
+	 * 
+	 * @return ArrayList<EightPuzzleNode> The filled list
+	 */
+	
+	ArrayList<EightPuzzleNode> generateSuccessors(int[] tiles, ArrayList<EightPuzzleNode> successors) {
+		successors.clear();
+		
+		int x = blankIndex / size;
+		int y = blankIndex % size;
 		
-		if((coordinates[0] - 1) >= 0) { // swap empty tile with tile above
-			newSuccessor(coordinates[0], coordinates[1], coordinates[0] - 1, coordinates[1], successors, "UP");
+		PackedState.unpack(currentState, tiles);
+		
+		if((x - 1) >= 0) { // swap empty tile with tile above
+			newSuccessor(blankIndex - size, tiles, successors, "UP");
 		}
-		if((coordinates[1] + 1) < size) { // swap empty tile with tile to the right
-			newSuccessor(coordinates[0], coordinates[1], coordinates[0], coordinates[1] + 1, successors, "RIGHT");
+		if((y + 1) < size) { // swap empty tile with tile to the right
+			newSuccessor(blankIndex + 1, tiles, successors, "RIGHT");
 		}
-		if((coordinates[0] + 1) < size) { // swap empty tile with tile below
-			newSuccessor(coordinates[0], coordinates[1], coordinates[0] + 1, coordinates[1], successors, "DOWN");
+		if((x + 1) < size) { // swap empty tile with tile below
+			newSuccessor(blankIndex + size, tiles, successors, "DOWN");
 		}
-		if((coordinates[1] - 1) >= 0) { // swap empty tile with tile to the left
-			newSuccessor(coordinates[0], coordinates[1], coordinates[0], coordinates[1] - 1, successors, "LEFT");
+		if((y - 1) >= 0) { // swap empty tile with tile to the left
+			newSuccessor(blankIndex - 1, tiles, successors, "LEFT");
 		}
 		
 		return successors;
 	}
 	
 	/**
-	 * Creates a successor EightPuzzleNode where the tiles at (x1, y1)
-	 * and (x2, y2) are swapped. This successor is then added to the
-	 * list of successors.
+	 * Creates a successor EightPuzzleNode where the empty tile and the
+	 * tile at target are swapped. This successor is then added to the
+	 * list of successors, unless it would undo the move into this node.
+	 * The successor's estimate is derived from this node's by the
+	 * heuristic's incremental update.
 	 * 
-	 * @param x1 The x-coordinate of the first tile to be swapped
-	 * @param y1 The y-coordinate of the first tile to be swapped
-	 * @param x2 The x-coordinate of the second tile to be swapped
-	 * @param y2 The y-coordinate of the second tile to be swapped
+	 * @param target The index of the tile to be swapped with the empty tile
+	 * @param tiles This node's board, unpacked, which is left unchanged
 	 * @param storage The list of EightPuzzleNodes where the newly created node will be added
 	 * @param act The action taken that results in the two tiles being swapped
 	 * 
 	 * @return Nothing
 	 */
 	
-	private void newSuccessor(int x1, int y1, int x2, int y2,
-			ArrayList<EightPuzzleNode> storage, String act) {
-		assert (x1 >= 0) && (x1 < size);
-		assert (x2 >= 0) && (x2 < size);
-		assert (y1 >= 0) && (y1 < size);
-		assert (y2 >= 0) && (y2 < size);
+	private void newSuccessor(int target, int[] tiles, ArrayList<EightPuzzleNode> storage, String act) {
+		assert (target >= 0) && (target < (size * size));
 		assert storage != null;
 		assert act.equals("UP") || act.equals("DOWN")
 				|| act.equals("LEFT") || act.equals("RIGHT");
 		
+		long nextState = PackedState.slide(currentState, blankIndex, target);
 		
-		int[][] stateCopy = new int[size][size];
-		int[][] goalCopy = new int[size][size];
-		
-		for(int i = 0; i < size; i++) {
-			for(int j = 0; j < size; j++) {
-				stateCopy[i][j] = currentState[i][j];
-				goalCopy[i][j] = goalState[i][j];
-			}
+		if((parent == null) || (nextState != parent.currentState)) {
+			storage.add(new EightPuzzleNode(size, nextState, goal, heuristic, this, 1, act,
+					successorEstimate(tiles, target)));
 		}
+	}
+	
+	/**
+	 * Returns the estimate of the board reached by sliding the tile at
+	 * target into the empty tile.
+	 * 
+	 * @param tiles This node's board, unpacked, which is left unchanged
+	 * @param target The index of the tile that slides
+	 * 
+	 * @return int The successor's estimate
+	 */
+	
+	private int successorEstimate(int[] tiles, int target) {
+		int tile = tiles[target];
 		
-		int temp = stateCopy[x2][y2];
-		stateCopy[x2][y2] = stateCopy[x1][y1];
-		stateCopy[x1][y1] = temp;
+		tiles[blankIndex] = tile;
+		tiles[target] = 0;
 		
-		EightPuzzleNode successor = new EightPuzzleNode(size, stateCopy, goalCopy, this, 1, act);
+		int next = heuristic.update(tiles, estimate, tile, target, blankIndex);
 		
-		if(parent != null) {
-			if(!successor.equals(parent)) {
-				storage.add(successor);
-			}
-		}
-		else {
-			storage.add(successor);
+		tiles[target] = tile;
+		tiles[blankIndex] = 0;
+		
+		return next;
+	}
+	
+	/**
+	 * Creates the child of this node reached by shifting the empty
+	 * tile in the given direction. Used to rebuild a chain of nodes
+	 * from a list of moves.
+	 * 
+	 * @param move The move code (see Move)
+	 * 
+	 * @return EightPuzzleNode The child node
+	 */
+	
+	EightPuzzleNode child(int move) {
+		int target = Move.target(blankIndex, size, move);
+		
+		assert target >= 0;
+		
+		int[] tiles = PackedState.unpack(currentState, new int[size * size]);
+		
+		return new EightPuzzleNode(size, PackedState.slide(currentState, blankIndex, target),
+				goal, heuristic, this, 1, Move.name(move), successorEstimate(tiles, target));
+	}
+	
+	/**
+	 * Creates a copy of this node whose estimate, and that of all its
+	 * successors, comes from the given heuristic. The copy keeps this
+	 * node's parent, cost, and action.
+	 * 
+	 * @param h The heuristic, created for this node's goal
+	 * 
+	 * @return EightPuzzleNode The re-estimated node
+	 */
+	
+	EightPuzzleNode withHeuristic(Heuristic h) {
+		if(h == heuristic) {
+			return this;
 		}
+		
+		return new EightPuzzleNode(size, currentState, goal, h, parent, cost, action);
 	}
 	
 	/**
@@ -384,22 +526,24 @@ public class EightPuzzleNode {
 		boolean result = false;
 		
 		if(other instanceof EightPuzzleNode) {
-			result = true;
 			EightPuzzleNode o = (EightPuzzleNode) other;
-			int[][] otherState = o.getCurrentState();
-			
-			for(int i = 0; i < size; i++) {
-				for(int j = 0; j < size; j++) {
-					if(currentState[i][j] != otherState[i][j]) {
-						result = false;
-					}
-				}
-			}
+			result = (size == o.size) && (currentState == o.currentState);
 		}
 		
 		return result;
 	}
 	
+	/**
+	 * Hash code consistent with equals(), based on the packed board.
+	 * 
+	 * @return int Hash of the current board state
+	 */
+	
+	@Override
+	public int hashCode() {
+		return Long.hashCode(currentState);
+	}
+	
 	/**
 	 * Checks whether or not the current state is equivalent to
 	 * the goal state.
@@ -408,17 +552,7 @@ public class EightPuzzleNode {
 	 */
 	
 	public boolean isGoal() {
-		boolean result = true;
-		
-		for(int i = 0; i < size; i++) {
-			for(int j = 0; j < size; j++) {
-				if(currentState[i][j] != goalState[i][j]) {
-					result = false;
-				}
-			}
-		}
-		
-		return result;
+		return currentState == goal.getGoalState();
 	}
 	
 	/**
@@ -429,34 +563,17 @@ public class EightPuzzleNode {
 	 */
 	
 	public int pathCost() {
-		int count = 0;
-		EightPuzzleNode currNode = this;
-		
-		while (currNode != null) {
-			count += currNode.getCost();
-			currNode = currNode.getParent();
-		}
-		
-		return count;
+		return pathCost;
 	}
 	
 	/**
-	 * Generates string representation of currentState.
-	 * For use in storing visited nodes during EightPuzzleSearch
-	 * as opposed to storing the whole node.
+	 * Returns the estimated cost of a solution through this node,
+	 * the path cost plus the heuristic estimate.
 	 * 
-	 * @return String Representation of the current node's board state as a string
+	 * @return int This node's estimated total cost
 	 */
 	
-	public String generateNumberString() {
-		StringBuilder sb = new StringBuilder(9);
-		
-		for(int i = 0; i < size; i++) {
-			for(int j = 0; j < size; j++) {
-				sb.append(currentState[i][j]);
-			}
-		}
-		
-		return sb.toString();
+	public int getTotalCost() {
+		return totalCost;
 	}
 }
\ No newline at end of file
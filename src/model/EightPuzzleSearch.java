@@ -1,21 +1,27 @@
 package model;
 import java.util.ArrayList;
-import java.util.Comparator;
-import java.util.HashMap;
-import java.util.HashSet;
-import java.util.PriorityQueue;
+import java.util.concurrent.ForkJoinPool;
 
 public class EightPuzzleSearch {
 	
-	private static HashSet<String> previouslyVisited = new HashSet<String>();
-	private static HashMap<String, Integer> inQueue = new HashMap<String, Integer>();
+	private static final ThreadLocal<SearchContext> CONTEXTS = ThreadLocal.withInitial(SearchContext::new);
 	
 	/**
-	 * Implementation of A* search with repeated state checking
-	 * for visited states and duplicate states with lower path costs
-	 * in the priority queue. Uses Java standard priority queue with
-	 * a custom comparator (found in AStarComparator) to order the
-	 * queue by Manhattan distance and path cost.
+	 * Returns the counters of the last search the calling thread ran
+	 * without passing its own SearchContext. The object is reused by
+	 * the next such search, so callers that keep it must copy what
+	 * they need.
+	 * 
+	 * @return SearchStats The last search's counters
+	 */
+	
+	public static SearchStats getLastStats() {
+		return CONTEXTS.get().getStats();
+	}
+	
+	/**
+	 * Implementation of A* search with nodes stored in an arena (see
+	 * NodeArena). Each thread reuses its own SearchContext between calls.
 	 * 
 	 * @param root The root of the EightPuzzleNode tree to search through
 	 * 
@@ -23,37 +29,866 @@ public class EightPuzzleSearch {
 	 */
 	
 	public static EightPuzzleNode aStarSearch(EightPuzzleNode root) {
+		return aStarSearch(root, CONTEXTS.get());
+	}
+	
+	/**
+	 * Implementation of A* search with nodes stored in an arena that
+	 * returns the solution as packed moves. Each thread reuses its own
+	 * SearchContext between calls.
+	 * 
+	 * @param root The root of the EightPuzzleNode tree to search through
+	 * 
+	 * @return Solution The moves that solve the puzzle, or null if there are none
+	 */
+	
+	public static Solution aStarSolution(EightPuzzleNode root) {
+		return aStarSolution(root, CONTEXTS.get());
+	}
+	
+	/**
+	 * Implementation of A* search with nodes stored in the context's
+	 * arena (see aStarSolution).
+	 * 
+	 * @param root The root of the EightPuzzleNode tree to search through
+	 * @param context The node storage, open list and closed set to use, which are cleared before searching
+	 * 
+	 * @return EightPuzzleNode The leaf of the path of nodes that are a solution to the puzzle
+	 */
+	
+	public static EightPuzzleNode aStarSearch(EightPuzzleNode root, SearchContext context) {
+		Solution solution = aStarSolution(root, context);
+		
+		return (solution == null) ? null : solution.toPath(root);
+	}
+	
+	/**
+	 * Implementation of A* search with nodes stored in the context's
+	 * arena that returns the solution as packed moves.
+	 * 
+	 * @param root The root of the EightPuzzleNode tree to search through
+	 * @param context The node storage, open list and closed set to use, which are cleared before searching
+	 * 
+	 * @return Solution The moves that solve the puzzle, or null if there are none
+	 */
+	
+	public static Solution aStarSolution(EightPuzzleNode root, SearchContext context) {
+		SearchResult result = aStarSolution(root, context, SearchBudget.UNLIMITED);
+		
+		return (result == null) ? null : result.getSolution();
+	}
+	
+	/**
+	 * Implementation of A* search with nodes stored in an arena that
+	 * stops when it runs out of budget. Each thread reuses its own
+	 * SearchContext between calls.
+	 * 
+	 * @param root The root of the EightPuzzleNode tree to search through
+	 * @param budget The limits the search must stay within
+	 * 
+	 * @return SearchResult The solution, or the limit that stopped the search
+	 */
+	
+	public static SearchResult aStarSolution(EightPuzzleNode root, SearchBudget budget) {
+		return aStarSolution(root, CONTEXTS.get(), budget);
+	}
+	
+	/**
+	 * Implementation of A* search with repeated state checking, with
+	 * every node stored as a handle into the context's NodeArena. The
+	 * closed set maps each generated state to the handle of the
+	 * cheapest node reaching it, so a successor is only stored when it
+	 * improves on that node, and frontier entries that have since been
+	 * improved on are skipped. Nodes with the same estimated total cost
+	 * are ordered like BucketFrontier orders them. The budget counts the
+	 * arena, the closed set and the frontier's handles.
+	 * 
+	 * @param root The root of the EightPuzzleNode tree to search through
+	 * @param context The node storage, open list and closed set to use, which are cleared before searching
+	 * @param budget The limits the search must stay within
+	 * 
+	 * @return SearchResult The solution, or the limit that stopped the search
+	 */
+	
+	public static SearchResult aStarSolution(EightPuzzleNode root, SearchContext context, SearchBudget budget) {
+		if (root != null) {
+			assert (context != null) && (budget != null);
+			
+			long start = System.nanoTime();
+			long deadline = budget.deadline(start);
+			SearchBudget.Limit exceeded = null;
+			NodeArena arena = context.getArena();
+			HandleFrontier frontier = context.getHandles();
+			LongIntHashMap bestNodes = context.getBestPathCosts();
+			SearchStats stats = context.getStats();
+			Heuristic heuristic = root.getHeuristic();
+			long goalState = root.getGoal().getGoalState();
+			int size = root.getSize();
+			int[] tiles = context.getTiles(size * size);
+			int found = NodeArena.NO_PARENT;
+			long expanded = 0;
+			long generated = 0;
+			long reopened = 0;
+			long duplicates = 0;
+			int peakOpen = 1;
+			
+			context.clear();
+			stats.reset("A*");
+			
+			int first = arena.add(root.getPackedState(), NodeArena.NO_PARENT, 0, Move.NONE, root.getEstimate());
+			
+			frontier.add(first, root.getEstimate(), root.getEstimate());
+			bestNodes.put(root.getPackedState(), first);
+			
+			while(!frontier.isEmpty()) {
+				int node = frontier.poll();
+				long state = arena.getState(node);
+				
+				// a cheaper path to this state was found after it was queued
+				if(bestNodes.get(state) != node) {
+					continue;
+				}
+				
+				if(state == goalState) {
+					found = node;
+					break;
+				}
+				
+				if((expanded & (SearchBudget.CHECK_INTERVAL - 1)) == 0) {
+					long bytes = arena.byteSize() + bestNodes.byteSize() + frontier.size() * (long) Integer.BYTES;
+					
+					exceeded = budget.exceeded(generated, bytes, deadline);
+					
+					if(exceeded != null) {
+						break;
+					}
+				}
+				
+				int g = arena.getPathCost(node) + 1;
+				int h = arena.getEstimate(node);
+				int blank = PackedState.indexOf(state, size, 0);
+				int previous = (node == first) ? Move.NONE : arena.getMove(node);
+				
+				PackedState.unpack(state, tiles);
+				expanded++;
+				
+				for(int move = Move.UP; move <= Move.LEFT; move++) {
+					int target = Move.target(blank, size, move);
+					
+					if((target < 0) || ((previous != Move.NONE) && (move == Move.opposite(previous)))) {
+						continue;
+					}
+					
+					long next = PackedState.slide(state, blank, target);
+					int best = bestNodes.get(next);
+					
+					generated++;
+					
+					if(best != LongIntHashMap.NO_VALUE) {
+						if(arena.getPathCost(best) <= g) {
+							duplicates++;
+							continue;
+						}
+						
+						reopened++;
+					}
+					
+					// make the move on the scratch board to update the estimate, then unmake it
+					int tile = tiles[target];
+					tiles[blank] = tile;
+					tiles[target] = 0;
+					
+					int estimate = heuristic.update(tiles, h, tile, target, blank);
+					
+					tiles[target] = tile;
+					tiles[blank] = 0;
+					
+					int child = arena.add(next, node, g, move, estimate);
+					
+					frontier.add(child, g + estimate, estimate);
+					bestNodes.put(next, child);
+				}
+				
+				if(frontier.size() > peakOpen) {
+					peakOpen = frontier.size();
+				}
+			}
+			
+			Solution solution = (found == NodeArena.NO_PARENT) ? null : packPath(root, arena, found);
+			
+			stats.expanded = expanded;
+			stats.generated = generated;
+			stats.reopened = reopened;
+			stats.duplicates = duplicates;
+			stats.heuristicEvaluations = generated - duplicates + 1;
+			stats.peakOpen = peakOpen;
+			stats.peakClosed = bestNodes.size();
+			stats.finish(start, solution, exceeded);
+			
+			return new SearchResult(solution, stats);
+		}
+		
+		return null;
+	}
+	
+	/**
+	 * Implementation of A* search over EightPuzzleNode objects with
+	 * the given open list. The closed set is created for this search only.
+	 * 
+	 * @param root The root of the EightPuzzleNode tree to search through
+	 * @param frontier The open list to use, which is cleared before searching
+	 * 
+	 * @return EightPuzzleNode The leaf of the path of nodes that are a solution to the puzzle
+	 */
+	
+	public static EightPuzzleNode aStarSearch(EightPuzzleNode root, Frontier frontier) {
+		return nodeSearch(root, frontier, SearchBudget.UNLIMITED);
+	}
+	
+	/**
+	 * Implementation of A* search over EightPuzzleNode objects with
+	 * the given open list that stops when it runs out of budget.
+	 * 
+	 * @param root The root of the EightPuzzleNode tree to search through
+	 * @param frontier The open list to use, which is cleared before searching
+	 * @param budget The limits the search must stay within
+	 * 
+	 * @return SearchResult The solution, or the limit that stopped the search
+	 */
+	
+	public static SearchResult aStarSolution(EightPuzzleNode root, Frontier frontier, SearchBudget budget) {
+		if (root != null) {
+			EightPuzzleNode found = nodeSearch(root, frontier, budget);
+			
+			return new SearchResult(Solution.of(found), CONTEXTS.get().getStats());
+		}
+		
+		return null;
+	}
+	
+	/**
+	 * Implementation of Anytime Repairing A* (see AnytimeSearch) with
+	 * the default weights: the first pass weighs the estimate 3.0 times
+	 * the path cost, and every pass after lowers that by 0.5 until it
+	 * reaches 1.0. Each thread reuses its own SearchContext between calls.
+	 * 
+	 * @param root The root of the EightPuzzleNode tree to search through
+	 * @param listener Notified after every pass that has a solution, including one the budget cut short, may be null
+	 * @param budget The limits the search must stay within
+	 * 
+	 * @return SearchResult The best solution found and its suboptimality bound, and the limit that stopped the search if any
+	 */
+	
+	public static SearchResult anytimeSolution(EightPuzzleNode root, AnytimeListener listener, SearchBudget budget) {
+		return anytimeSolution(root, CONTEXTS.get(), 3.0, 0.5, listener, budget);
+	}
+	
+	/**
+	 * Implementation of Anytime Repairing A* with nodes stored in the
+	 * context's arena. The search finds a first solution quickly with a
+	 * high weight, then keeps lowering the weight and reporting shorter
+	 * solutions or tighter bounds to the listener until its solution is
+	 * proven optimal or the budget runs out.
+	 * 
+	 * @param root The root of the EightPuzzleNode tree to search through
+	 * @param context The node storage, open list, closed sets and node lists to use, which are cleared before searching
+	 * @param initialWeight The weight of the first pass, at least 1.0 and a whole number of tenths
+	 * @param weightStep How much the weight is lowered after each pass, at least 0.1 and a whole number of tenths
+	 * @param listener Notified after every pass that has a solution, including one the budget cut short, may be null
+	 * @param budget The limits the search must stay within
+	 * 
+	 * @return SearchResult The best solution found and its suboptimality bound, and the limit that stopped the search if any
+	 */
+	
+	public static SearchResult anytimeSolution(EightPuzzleNode root, SearchContext context, double initialWeight,
+			double weightStep, AnytimeListener listener, SearchBudget budget) {
+		AnytimeSearch search = new AnytimeSearch(initialWeight, weightStep);
+		
+		if (root != null) {
+			assert (context != null) && (budget != null);
+			
+			return search.search(root, context, listener, budget);
+		}
+		
+		return null;
+	}
+	
+	/**
+	 * Implementation of weighted A* on boards of any size, guided by
+	 * Manhattan distance with linear conflicts. Each thread reuses its
+	 * own SearchContext between calls.
+	 * 
+	 * @param board The start board
+	 * @param goal The goal board, the same size as board
+	 * @param weight The weight on the heuristic, at least 1.0 and a whole number of tenths
+	 * @param budget The limits the search must stay within
+	 * 
+	 * @return SearchResult The solution, at most weight times longer than optimal, or the limit that stopped the search
+	 */
+	
+	public static SearchResult weightedSolution(int[][] board, int[][] goal, double weight, SearchBudget budget) {
+		GoalTable table = new GoalTable(goal);
+		
+		return weightedSolution(board, table, new LinearConflictHeuristic(table), weight, budget);
+	}
+	
+	/**
+	 * Implementation of weighted A* on boards of any size (see
+	 * WeightedSearch), with nodes stored in the calling thread's
+	 * SearchContext.
+	 * 
+	 * @param board The start board
+	 * @param goal The goal board, the same size as board
+	 * @param heuristic The heuristic, which must be admissible for the bound to hold
+	 * @param weight The weight on the heuristic, at least 1.0 and a whole number of tenths
+	 * @param budget The limits the search must stay within
+	 * 
+	 * @return SearchResult The solution, at most weight times longer than optimal, or the limit that stopped the search
+	 */
+	
+	public static SearchResult weightedSolution(int[][] board, GoalTable goal, Heuristic heuristic, double weight, SearchBudget budget) {
+		WeightedSearch search = WeightedSearch.weighted(weight);
+		
+		return search.search(toTiles(board, goal), goal, heuristic, CONTEXTS.get(), budget);
+	}
+	
+	/**
+	 * Implementation of greedy best-first search on boards of any size,
+	 * guided by Manhattan distance with linear conflicts. Each thread
+	 * reuses its own SearchContext between calls.
+	 * 
+	 * @param board The start board
+	 * @param goal The goal board, the same size as board
+	 * @param budget The limits the search must stay within
+	 * 
+	 * @return SearchResult The solution, with no bound on its length, or the limit that stopped the search
+	 */
+	
+	public static SearchResult greedySolution(int[][] board, int[][] goal, SearchBudget budget) {
+		GoalTable table = new GoalTable(goal);
+		
+		return greedySolution(board, table, new LinearConflictHeuristic(table), budget);
+	}
+	
+	/**
+	 * Implementation of greedy best-first search on boards of any size
+	 * (see WeightedSearch), with nodes stored in the calling thread's
+	 * SearchContext.
+	 * 
+	 * @param board The start board
+	 * @param goal The goal board, the same size as board
+	 * @param heuristic The heuristic
+	 * @param budget The limits the search must stay within
+	 * 
+	 * @return SearchResult The solution, with no bound on its length, or the limit that stopped the search
+	 */
+	
+	public static SearchResult greedySolution(int[][] board, GoalTable goal, Heuristic heuristic, SearchBudget budget) {
+		return WeightedSearch.greedy().search(toTiles(board, goal), goal, heuristic, CONTEXTS.get(), budget);
+	}
+	
+	/**
+	 * Copies a board into a row-major array of tiles.
+	 * 
+	 * @param board The board
+	 * @param goal The goal the board is solved towards
+	 * 
+	 * @return int[] The board's tiles
+	 */
+	
+	private static int[] toTiles(int[][] board, GoalTable goal) {
+		int size = goal.getSize();
+		int[] tiles = new int[size * size];
+		
+		if(board.length != size) {
+			throw new IllegalArgumentException("Board is " + board.length + "x" + board.length
+					+ " but the goal is " + size + "x" + size);
+		}
+		
+		for(int i = 0; i < size; i++) {
+			System.arraycopy(board[i], 0, tiles, i * size, size);
+		}
+		
+		return tiles;
+	}
+	
+	/**
+	 * Packs the moves from the root to an arena node into a Solution.
+	 * 
+	 * @param root The root of the search
+	 * @param arena The arena the search stored its nodes in
+	 * @param leaf The handle of the last node on the path
+	 * 
+	 * @return Solution The packed path
+	 */
+	
+	static Solution packPath(EightPuzzleNode root, NodeArena arena, int leaf) {
+		int[] moves = new int[arena.getPathCost(leaf)];
+		
+		for(int node = leaf; arena.getParent(node) != NodeArena.NO_PARENT; node = arena.getParent(node)) {
+			moves[arena.getPathCost(node) - 1] = arena.getMove(node);
+		}
+		
+		return new Solution(root.getSize(), root.getPackedState(), moves, moves.length);
+	}
+	
+	/**
+	 * Runs nodeSearch with this thread's context, with the given open
+	 * list swapped in for the duration of the search, so the closed set
+	 * and buffers grown by earlier searches are reused.
+	 * 
+	 * @param root The root of the EightPuzzleNode tree to search through
+	 * @param frontier The open list to use, which is cleared before searching
+	 * @param budget The limits the search must stay within
+	 * 
+	 * @return EightPuzzleNode The leaf of the path of nodes that are a solution to the puzzle
+	 */
+	
+	private static EightPuzzleNode nodeSearch(EightPuzzleNode root, Frontier frontier, SearchBudget budget) {
+		SearchContext context = CONTEXTS.get();
+		Frontier saved = context.setFrontier(frontier);
+		
+		try {
+			return nodeSearch(root, context, context.getStats(), budget);
+		} finally {
+			context.setFrontier(saved);
+		}
+	}
+	
+	/**
+	 * Implementation of A* search over EightPuzzleNode objects with
+	 * repeated state checking. The lowest path cost found so far for
+	 * every generated state is kept in a single table keyed by packed
+	 * state, covering both visited states and states still in the
+	 * frontier. A successor is only added when it improves on that
+	 * cost, and frontier entries that have since been improved on are
+	 * skipped. The frontier decides how nodes with the same estimated
+	 * total cost are ordered (see PriorityQueueFrontier and BucketFrontier).
+	 * The budget counts every state in the closed set as one node (see
+	 * EightPuzzleNode.APPROXIMATE_BYTES), since each is held by the
+	 * frontier or by its successors.
+	 * 
+	 * @param root The root of the EightPuzzleNode tree to search through
+	 * @param context The open list, closed set and buffers to use, which are cleared before searching
+	 * @param stats Receives the search's counters and the limit it exceeded, if any
+	 * @param budget The limits the search must stay within
+	 * 
+	 * @return EightPuzzleNode The leaf of the path of nodes that are a solution to the puzzle
+	 */
+	
+	private static EightPuzzleNode nodeSearch(EightPuzzleNode root, SearchContext context, SearchStats stats, SearchBudget budget) {
 		if (root != null) {
-			previouslyVisited = new HashSet<String>();
-			inQueue = new HashMap<String, Integer>();
-			Comparator<EightPuzzleNode> comparator = new AStarComparator();
-			PriorityQueue<EightPuzzleNode> pQueue = new PriorityQueue<EightPuzzleNode>(comparator);
+			assert context != null;
+			
+			long start = System.nanoTime();
+			long deadline = budget.deadline(start);
+			SearchBudget.Limit exceeded = null;
+			Frontier frontier = context.getFrontier();
+			LongIntHashMap bestPathCosts = context.getBestPathCosts();
+			ArrayList<EightPuzzleNode> successors = context.getSuccessors();
+			int[] tiles = context.getTiles(root.getSize() * root.getSize());
+			EightPuzzleNode found = null;
+			long expanded = 0;
+			long generated = 0;
+			long reopened = 0;
+			long duplicates = 0;
+			int peakOpen = 1;
 			
-			pQueue.add(root);
+			// only what this search uses, so the arena tables of a shared context are left alone
+			frontier.clear();
+			bestPathCosts.clear();
+			successors.clear();
+			stats.reset("A* (objects)");
+			frontier.add(root);
+			bestPathCosts.put(root.getPackedState(), root.pathCost());
 			
-			while(!pQueue.isEmpty()){
-		        EightPuzzleNode node = pQueue.poll();
+			while(!frontier.isEmpty()){
+		        EightPuzzleNode node = frontier.poll();
+		        
+		        // a cheaper path to this state was found after it was queued
+		        if(node.pathCost() > bestPathCosts.get(node.getPackedState())) {
+		        	continue;
+		        }
 		        
 		        if(node.isGoal()) {
-		        	return node;
+		        	found = node;
+		        	break;
 		        }
 		        
-		        previouslyVisited.add(node.generateNumberString());
-		        inQueue.remove(node.generateNumberString());
+		        if((expanded & (SearchBudget.CHECK_INTERVAL - 1)) == 0) {
+		        	long bytes = bestPathCosts.byteSize() + bestPathCosts.size() * (long) EightPuzzleNode.APPROXIMATE_BYTES;
+		        	
+		        	exceeded = budget.exceeded(generated, bytes, deadline);
+		        	
+		        	if(exceeded != null) {
+		        		break;
+		        	}
+		        }
 		        
-		        ArrayList<EightPuzzleNode> successors = node.generateSuccessors();
+		        node.generateSuccessors(tiles, successors);
+		        expanded++;
+		        generated += successors.size();
 		        
 		        for(EightPuzzleNode e : successors) {
-		        	String numberString = e.generateNumberString();
+		        	long packedState = e.getPackedState();
 		        	int costSoFar = e.pathCost();
+		        	int bestCost = bestPathCosts.get(packedState);
 		        	
-		        	if(!previouslyVisited.contains(numberString)) {
-		        		pQueue.add(e);
-		        		inQueue.put(numberString, costSoFar);
+		        	if((bestCost == LongIntHashMap.NO_VALUE) || (costSoFar < bestCost)) {
+		        		if(bestCost != LongIntHashMap.NO_VALUE) {
+		        			reopened++;
+		        		}
 		        		
+		        		frontier.add(e);
+		        		bestPathCosts.put(packedState, costSoFar);
+		        	}
+		        	else {
+		        		duplicates++;
 		        	}
 		        }
+		        
+		        if(frontier.size() > peakOpen) {
+		        	peakOpen = frontier.size();
+		        }
 		    }
+			
+			stats.expanded = expanded;
+			stats.generated = generated;
+			stats.reopened = reopened;
+			stats.duplicates = duplicates;
+			stats.heuristicEvaluations = generated + 1;
+			stats.peakOpen = peakOpen;
+			stats.peakClosed = bestPathCosts.size();
+			stats.finish(start, Solution.of(found), exceeded);
+		    
+		    // so the context does not keep this search's nodes alive
+		    frontier.clear();
+		    successors.clear();
+		    
+		    return found;
+		}
+		
+		return null;
+	}
+	
+	/**
+	 * Implementation of A* search that orders nodes with the given
+	 * heuristic instead of the root's.
+	 * 
+	 * @param root The root of the EightPuzzleNode tree to search through
+	 * @param frontier The open list to use, which is cleared before searching
+	 * @param heuristic The heuristic to estimate nodes with, created for the root's goal
+	 * 
+	 * @return EightPuzzleNode The leaf of the path of nodes that are a solution to the puzzle
+	 */
+	
+	public static EightPuzzleNode aStarSearch(EightPuzzleNode root, Frontier frontier, Heuristic heuristic) {
+		if (root != null) {
+			return aStarSearch(root.withHeuristic(heuristic), frontier);
+		}
+		
+		return null;
+	}
+	
+	/**
+	 * Looks up an optimal solution in a precomputed table instead of
+	 * searching (see ExactDistanceTable).
+	 * 
+	 * @param root The root of the EightPuzzleNode tree to solve, a 3x3 board
+	 * @param table The table built for the root's goal
+	 * 
+	 * @return EightPuzzleNode The leaf of the path of nodes that are a solution to the puzzle
+	 */
+	
+	public static EightPuzzleNode tableSearch(EightPuzzleNode root, ExactDistanceTable table) {
+		Solution solution = tableSolution(root, table);
+		
+		return (solution == null) ? null : solution.toPath(root);
+	}
+	
+	/**
+	 * Looks up an optimal solution in a precomputed table and returns
+	 * it as packed moves.
+	 * 
+	 * @param root The root of the EightPuzzleNode tree to solve, a 3x3 board
+	 * @param table The table built for the root's goal
+	 * 
+	 * @return Solution The moves that solve the puzzle, or null if there are none
+	 */
+	
+	public static Solution tableSolution(EightPuzzleNode root, ExactDistanceTable table) {
+		if (root != null) {
+			assert table.getGoalState() == root.getGoal().getGoalState();
+			
+			long start = System.nanoTime();
+			SearchStats stats = CONTEXTS.get().getStats();
+			int[] moves = new int[ExactDistanceTable.MAX_DISTANCE];
+			int length = table.solve(root.getPackedState(), moves);
+			Solution solution = (length < 0) ? null : new Solution(root.getSize(), root.getPackedState(), moves, length);
+			
+			// every board on the path is looked up once, and nothing else is stored
+			stats.reset("Table");
+			stats.expanded = Math.max(length, 0);
+			stats.finish(start, solution);
+			
+			return solution;
+		}
+		
+		return null;
+	}
+	
+	/**
+	 * Implementation of iterative-deepening A* (see IDAStarSearch).
+	 * Only the current path is kept in memory, so this can solve
+	 * boards whose A* search would not fit in the heap.
+	 * 
+	 * @param root The root of the EightPuzzleNode tree to search through
+	 * 
+	 * @return EightPuzzleNode The leaf of the path of nodes that are a solution to the puzzle
+	 */
+	
+	public static EightPuzzleNode idaStarSearch(EightPuzzleNode root) {
+		return idaStarSearch(root, null);
+	}
+	
+	/**
+	 * Implementation of iterative-deepening A* that reports the
+	 * number of nodes generated by each iteration.
+	 * 
+	 * @param root The root of the EightPuzzleNode tree to search through
+	 * @param listener Notified after every iteration, may be null
+	 * 
+	 * @return EightPuzzleNode The leaf of the path of nodes that are a solution to the puzzle
+	 */
+	
+	public static EightPuzzleNode idaStarSearch(EightPuzzleNode root, IterationListener listener) {
+		Solution solution = idaStarSolution(root, listener);
+		
+		return (solution == null) ? null : solution.toPath(root);
+	}
+	
+	/**
+	 * Implementation of iterative-deepening A* that returns the
+	 * solution as packed moves.
+	 * 
+	 * @param root The root of the EightPuzzleNode tree to search through
+	 * @param listener Notified after every iteration, may be null
+	 * 
+	 * @return Solution The moves that solve the puzzle, or null if there are none
+	 */
+	
+	public static Solution idaStarSolution(EightPuzzleNode root, IterationListener listener) {
+		SearchResult result = idaStarSolution(root, listener, SearchBudget.UNLIMITED);
+		
+		return (result == null) ? null : result.getSolution();
+	}
+	
+	/**
+	 * Implementation of iterative-deepening A* that stops when it runs
+	 * out of budget. Only the current path is stored, so the memory
+	 * limit never applies.
+	 * 
+	 * @param root The root of the EightPuzzleNode tree to search through
+	 * @param listener Notified after every completed iteration, may be null
+	 * @param budget The limits the search must stay within
+	 * 
+	 * @return SearchResult The solution, or the limit that stopped the search
+	 */
+	
+	public static SearchResult idaStarSolution(EightPuzzleNode root, IterationListener listener, SearchBudget budget) {
+		if (root != null) {
+			SearchStats stats = CONTEXTS.get().getStats();
+			Solution solution = new IDAStarSearch(root).search(root, listener, stats, budget);
+			
+			return new SearchResult(solution, stats);
+		}
+		
+		return null;
+	}
+	
+	/**
+	 * Implementation of iterative-deepening A* that estimates nodes
+	 * with the given heuristic instead of the root's.
+	 * 
+	 * @param root The root of the EightPuzzleNode tree to search through
+	 * @param heuristic The heuristic to estimate nodes with, created for the root's goal
+	 * @param listener Notified after every iteration, may be null
+	 * 
+	 * @return EightPuzzleNode The leaf of the path of nodes that are a solution to the puzzle
+	 */
+	
+	public static EightPuzzleNode idaStarSearch(EightPuzzleNode root, Heuristic heuristic, IterationListener listener) {
+		if (root != null) {
+			return idaStarSearch(root.withHeuristic(heuristic), listener);
+		}
+		
+		return null;
+	}
+	
+	/**
+	 * Implementation of bidirectional breadth-first search (see
+	 * BidirectionalSearch). No heuristic is used, so this is meant for
+	 * 3x3 boards and 4x4 boards that are close to the goal.
+	 * 
+	 * @param root The root of the EightPuzzleNode tree to search through
+	 * 
+	 * @return EightPuzzleNode The leaf of the path of nodes that are a solution to the puzzle
+	 */
+	
+	public static EightPuzzleNode bidirectionalSearch(EightPuzzleNode root) {
+		Solution solution = bidirectionalSolution(root);
+		
+		return (solution == null) ? null : solution.toPath(root);
+	}
+	
+	/**
+	 * Implementation of bidirectional breadth-first search that returns
+	 * the solution as packed moves.
+	 * 
+	 * @param root The root of the EightPuzzleNode tree to search through
+	 * 
+	 * @return Solution The moves that solve the puzzle, or null if there are none
+	 */
+	
+	public static Solution bidirectionalSolution(EightPuzzleNode root) {
+		SearchResult result = bidirectionalSolution(root, SearchBudget.UNLIMITED);
+		
+		return (result == null) ? null : result.getSolution();
+	}
+	
+	/**
+	 * Implementation of bidirectional breadth-first search that stops
+	 * when it runs out of budget.
+	 * 
+	 * @param root The root of the EightPuzzleNode tree to search through
+	 * @param budget The limits the search must stay within
+	 * 
+	 * @return SearchResult The solution, or the limit that stopped the search
+	 */
+	
+	public static SearchResult bidirectionalSolution(EightPuzzleNode root, SearchBudget budget) {
+		if (root != null) {
+			SearchStats stats = CONTEXTS.get().getStats();
+			Solution solution = new BidirectionalSearch().search(root, stats, budget);
+			
+			return new SearchResult(solution, stats);
+		}
+		
+		return null;
+	}
+	
+	/**
+	 * Implementation of hash-distributed parallel A* (see
+	 * HDAStarSearch) with one worker per available processor.
+	 * 
+	 * @param root The root of the EightPuzzleNode tree to search through
+	 * 
+	 * @return EightPuzzleNode The leaf of the path of nodes that are a solution to the puzzle
+	 * 
+	 * @throws InterruptedException Thrown when the calling thread is interrupted while waiting
+	 */
+	
+	public static EightPuzzleNode parallelAStarSearch(EightPuzzleNode root) throws InterruptedException {
+		return parallelAStarSearch(root, Runtime.getRuntime().availableProcessors());
+	}
+	
+	/**
+	 * Implementation of hash-distributed parallel A* on the given
+	 * number of worker threads.
+	 * 
+	 * @param root The root of the EightPuzzleNode tree to search through
+	 * @param threads The number of workers
+	 * 
+	 * @return EightPuzzleNode The leaf of the path of nodes that are a solution to the puzzle
+	 * 
+	 * @throws InterruptedException Thrown when the calling thread is interrupted while waiting
+	 */
+	
+	public static EightPuzzleNode parallelAStarSearch(EightPuzzleNode root, int threads) throws InterruptedException {
+		if (root != null) {
+			return new HDAStarSearch(threads).search(root, CONTEXTS.get().getStats(), SearchBudget.UNLIMITED);
+		}
+		
+		return null;
+	}
+	
+	/**
+	 * Implementation of hash-distributed parallel A* on the given
+	 * number of worker threads that stops when the workers together
+	 * run out of budget.
+	 * 
+	 * @param root The root of the EightPuzzleNode tree to search through
+	 * @param threads The number of workers
+	 * @param budget The limits the search must stay within
+	 * 
+	 * @return SearchResult The solution, or the limit that stopped the search
+	 * 
+	 * @throws InterruptedException Thrown when the calling thread is interrupted while waiting
+	 */
+	
+	public static SearchResult parallelAStarSolution(EightPuzzleNode root, int threads, SearchBudget budget) throws InterruptedException {
+		if (root != null) {
+			SearchStats stats = CONTEXTS.get().getStats();
+			EightPuzzleNode found = new HDAStarSearch(threads).search(root, stats, budget);
+			
+			return new SearchResult(Solution.of(found), stats);
+		}
+		
+		return null;
+	}
+	
+	/**
+	 * Implementation of iterative-deepening A* that searches subtrees
+	 * in parallel on the common ForkJoinPool (see ParallelIDAStarSearch).
+	 * 
+	 * @param root The root of the EightPuzzleNode tree to search through
+	 * 
+	 * @return EightPuzzleNode The leaf of the path of nodes that are a solution to the puzzle
+	 */
+	
+	public static EightPuzzleNode parallelIdaStarSearch(EightPuzzleNode root) {
+		return parallelIdaStarSearch(root, ForkJoinPool.commonPool(), null);
+	}
+	
+	/**
+	 * Implementation of iterative-deepening A* that searches subtrees
+	 * in parallel on the given pool and reports the number of nodes
+	 * generated by each iteration.
+	 * 
+	 * @param root The root of the EightPuzzleNode tree to search through
+	 * @param pool The pool the subtrees are searched on
+	 * @param listener Notified after every iteration, may be null
+	 * 
+	 * @return EightPuzzleNode The leaf of the path of nodes that are a solution to the puzzle
+	 */
+	
+	public static EightPuzzleNode parallelIdaStarSearch(EightPuzzleNode root, ForkJoinPool pool, IterationListener listener) {
+		if (root != null) {
+			return new ParallelIDAStarSearch(root, pool).search(root, listener, CONTEXTS.get().getStats(), SearchBudget.UNLIMITED);
+		}
+		
+		return null;
+	}
+	
+	/**
+	 * Implementation of parallel iterative-deepening A* that stops
+	 * when its tasks together run out of budget. Only the current
+	 * paths are stored, so the memory limit never applies.
+	 * 
+	 * @param root The root of the EightPuzzleNode tree to search through
+	 * @param pool The pool the subtrees are searched on
+	 * @param listener Notified after every completed iteration, may be null
+	 * @param budget The limits the search must stay within
+	 * 
+	 * @return SearchResult The solution, or the limit that stopped the search
+	 */
+	
+	public static SearchResult parallelIdaStarSolution(EightPuzzleNode root, ForkJoinPool pool, IterationListener listener, SearchBudget budget) {
+		if (root != null) {
+			SearchStats stats = CONTEXTS.get().getStats();
+			EightPuzzleNode found = new ParallelIDAStarSearch(root, pool).search(root, listener, stats, budget);
+			
+			return new SearchResult(Solution.of(found), stats);
 		}
 		
 		return null;
@@ -0,0 +1,329 @@
+package model;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+
+/**
+ * ExactDistanceTable holds the optimal number of moves to the goal for
+ * every solvable 3x3 board, all 181,440 of them. It is built once by
+ * breadth-first search from the goal and can be saved to and loaded
+ * from a compact binary file of one byte per board, followed by a
+ * checksum so that a corrupt file is rejected rather than followed.
+ *
+ * Boards are indexed by the empty tile's position and the Lehmer code
+ * rank of the other eight tiles in reading order. Swapping the last two
+ * tiles changes only the lowest digit of the rank and always turns a
+ * solvable board into an unsolvable one, so dividing the rank by two
+ * leaves exactly one entry per solvable board.
+ *
+ * Solutions are found by greedy descent: from any board, some move
+ * leads to a board one move closer, so following those moves gives an
+ * optimal solution without any search.
+ *
+ * @author Edward B.
+ */
+
+public class ExactDistanceTable {
+
+	public static final int SIZE = 3;
+	public static final int MAX_DISTANCE = 31;
+
+	private static final int TILE_COUNT = SIZE * SIZE;
+	private static final int PERMUTATIONS = 20160; // 8! / 2
+	private static final int ENTRIES = TILE_COUNT * PERMUTATIONS;
+	private static final int[] FACTORIALS = {1, 1, 2, 6, 24, 120, 720, 5040};
+	private static final int MAGIC = 0x38505A32; // "8PZ2"
+	private static final byte UNREACHABLE = (byte) 0xFF;
+
+	private long goalState;
+	private int goalParity;
+	private byte[] distances;
+
+	/**
+	 * ExactDistanceTable constructor for a table that has already been filled.
+	 *
+	 * @param goalState The packed goal the distances are measured to
+	 * @param distances One distance per board index
+	 */
+
+	private ExactDistanceTable(long goalState, byte[] distances) {
+		assert distances.length == ENTRIES;
+
+		this.goalState = goalState;
+		this.goalParity = parity(goalState);
+		this.distances = distances;
+	}
+
+	/**
+	 * Builds the table by breadth-first search from the goal.
+	 *
+	 * @param goal The 3x3 goal the distances are measured to
+	 *
+	 * @return ExactDistanceTable The filled table
+	 *
+	 * @throws IllegalArgumentException Thrown when the goal is not a 3x3 board
+	 */
+
+	public static ExactDistanceTable build(GoalTable goal) {
+		if(goal.getSize() != SIZE) {
+			throw new IllegalArgumentException("Exact distance tables are only built for "
+					+ SIZE + "x" + SIZE + " boards");
+		}
+
+		byte[] distances = new byte[ENTRIES];
+		long[] queue = new long[ENTRIES];
+		int head = 0;
+		int tail = 0;
+
+		Arrays.fill(distances, UNREACHABLE);
+		distances[index(goal.getGoalState())] = 0;
+		queue[tail++] = goal.getGoalState();
+
+		while(head < tail) {
+			long state = queue[head++];
+			int blank = PackedState.indexOf(state, SIZE, 0);
+			byte next = (byte) (distances[index(state)] + 1);
+
+			for(int move = Move.UP; move <= Move.LEFT; move++) {
+				int target = Move.target(blank, SIZE, move);
+
+				if(target < 0) {
+					continue;
+				}
+
+				long neighbor = PackedState.slide(state, blank, target);
+				int i = index(neighbor);
+
+				if(distances[i] == UNREACHABLE) {
+					distances[i] = next;
+					queue[tail++] = neighbor;
+				}
+			}
+		}
+
+		return new ExactDistanceTable(goal.getGoalState(), distances);
+	}
+
+	/**
+	 * Loads a table saved by save().
+	 *
+	 * @param file The file to read
+	 * @param goal The goal the table must have been built for
+	 *
+	 * @return ExactDistanceTable The loaded table
+	 *
+	 * @throws IOException Thrown when the file cannot be read, was built for a different goal or is corrupt
+	 */
+
+	public static ExactDistanceTable load(File file, GoalTable goal) throws IOException {
+		try(DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+			if(in.readInt() != MAGIC) {
+				throw new IOException(file + " is not an exact distance table");
+			}
+
+			long savedGoal = in.readLong();
+
+			if((goal.getSize() != SIZE) || (savedGoal != goal.getGoalState())) {
+				throw new IOException(file + " was built for a different goal");
+			}
+
+			byte[] distances = new byte[ENTRIES];
+			in.readFully(distances);
+
+			if((in.readLong() != checksum(distances)) || (in.read() != -1)) {
+				throw new IOException(file + " is corrupt");
+			}
+
+			// every solvable board is reachable, so every entry must hold a distance
+			for(byte d : distances) {
+				if((d < 0) || (d > MAX_DISTANCE)) {
+					throw new IOException(file + " holds an invalid distance " + d);
+				}
+			}
+			if(distances[index(savedGoal)] != 0) {
+				throw new IOException(file + " does not put the goal at distance 0");
+			}
+
+			return new ExactDistanceTable(savedGoal, distances);
+		}
+	}
+
+	/**
+	 * Saves the table as a short header followed by one byte per board
+	 * and a checksum of those bytes.
+	 *
+	 * @param file The file to write
+	 *
+	 * @return Nothing
+	 *
+	 * @throws IOException Thrown when the file cannot be written
+	 */
+
+	public void save(File file) throws IOException {
+		try(DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+			out.writeInt(MAGIC);
+			out.writeLong(goalState);
+			out.write(distances);
+			out.writeLong(checksum(distances));
+		}
+	}
+
+	/**
+	 * Returns the checksum saved after the distances.
+	 *
+	 * @param distances The distances
+	 *
+	 * @return long The CRC-32 of the distances
+	 */
+
+	private static long checksum(byte[] distances) {
+		CRC32 crc = new CRC32();
+
+		crc.update(distances);
+
+		return crc.getValue();
+	}
+
+	/**
+	 * Returns the packed goal the table was built for.
+	 *
+	 * @return long The goal state
+	 */
+
+	public long getGoalState() {
+		return goalState;
+	}
+
+	/**
+	 * Returns the optimal number of moves from a board to the goal.
+	 *
+	 * @param state The packed 3x3 board
+	 *
+	 * @return int The number of moves, or -1 if the board cannot be solved
+	 */
+
+	public int distance(long state) {
+		// an unsolvable board shares its index with a solvable one
+		if(parity(state) != goalParity) {
+			return -1;
+		}
+
+		byte d = distances[index(state)];
+
+		return (d == UNREACHABLE) ? -1 : d;
+	}
+
+	/**
+	 * Writes an optimal solution into moves by greedy descent through
+	 * the table. Nothing is allocated. Moving the empty tile left or
+	 * right keeps the other tiles in the same reading order, so those
+	 * neighbours reuse the current board's rank.
+	 *
+	 * @param state The packed 3x3 board
+	 * @param moves Receives the move codes (see Move), must hold MAX_DISTANCE entries
+	 *
+	 * @return int The number of moves written, or -1 if the board cannot be solved
+	 */
+
+	public int solve(long state, int[] moves) {
+		int d = distance(state);
+
+		if(d < 0) {
+			return -1;
+		}
+
+		int blank = PackedState.indexOf(state, SIZE, 0);
+		int halfRank = index(state) - blank * PERMUTATIONS;
+
+		for(int step = 0; step < d; step++) {
+			for(int move = Move.UP; move <= Move.LEFT; move++) {
+				int target = Move.target(blank, SIZE, move);
+
+				if(target < 0) {
+					continue;
+				}
+
+				boolean horizontal = (move == Move.LEFT) || (move == Move.RIGHT);
+				long neighbor = PackedState.slide(state, blank, target);
+				int i = horizontal ? target * PERMUTATIONS + halfRank : index(neighbor);
+
+				if(distances[i] == d - step - 1) {
+					moves[step] = move;
+					state = neighbor;
+					blank = target;
+					halfRank = i - target * PERMUTATIONS;
+					break;
+				}
+			}
+		}
+
+		return d;
+	}
+
+	/**
+	 * Returns the parity of the number of inversions among the tiles
+	 * other than the empty tile. On a board of odd width, moves never
+	 * change it, so a board is solvable exactly when it matches the goal's.
+	 *
+	 * @param state The packed 3x3 board
+	 *
+	 * @return int 0 for an even number of inversions, 1 for odd
+	 */
+
+	private static int parity(long state) {
+		int inversions = 0;
+		int used = 0;
+
+		for(int i = 0; i < TILE_COUNT; i++) {
+			int tile = PackedState.tileAt(state, i);
+
+			if(tile != 0) {
+				// smaller tiles not yet seen come after this one
+				inversions += tile - 1 - Integer.bitCount(used & ((1 << tile) - 1));
+				used |= 1 << tile;
+			}
+		}
+
+		return inversions & 1;
+	}
+
+	/**
+	 * Returns the table index of a board: the empty tile's position
+	 * times the number of half-ranks, plus half the Lehmer code rank
+	 * of the other tiles in reading order.
+	 *
+	 * @param state The packed 3x3 board
+	 *
+	 * @return int The board's index
+	 */
+
+	private static int index(long state) {
+		int blank = 0;
+		int rank = 0;
+		int used = 0;
+		int digit = TILE_COUNT - 2;
+
+		for(int i = 0; i < TILE_COUNT; i++) {
+			int tile = PackedState.tileAt(state, i);
+
+			if(tile == 0) {
+				blank = i;
+				continue;
+			}
+
+			// tiles 1-8, ranked by how many smaller tiles are still unused
+			rank += (tile - 1 - Integer.bitCount(used & ((1 << tile) - 1))) * FACTORIALS[digit];
+			used |= 1 << tile;
+			digit--;
+		}
+
+		return blank * PERMUTATIONS + (rank >>> 1);
+	}
+}
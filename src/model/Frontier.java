@@ -0,0 +1,54 @@
+package model;
+
+/**
+ * Frontier is the open list used by EightPuzzleSearch to hold nodes
+ * that have been generated but not yet expanded. Implementations must
+ * return the node with the lowest estimated total cost from poll().
+ * 
+ * @author Edward B.
+ */
+
+public interface Frontier {
+	
+	/**
+	 * Adds a node to the frontier.
+	 * 
+	 * @param node The node to be added
+	 * 
+	 * @return Nothing
+	 */
+	
+	void add(EightPuzzleNode node);
+	
+	/**
+	 * Removes and returns a node with the lowest estimated total cost.
+	 * 
+	 * @return EightPuzzleNode The next node to expand, or null if the frontier is empty
+	 */
+	
+	EightPuzzleNode poll();
+	
+	/**
+	 * Returns whether or not the frontier holds any nodes.
+	 * 
+	 * @return boolean Whether the frontier is empty
+	 */
+	
+	boolean isEmpty();
+	
+	/**
+	 * Returns the number of nodes in the frontier.
+	 * 
+	 * @return int The number of nodes
+	 */
+	
+	int size();
+	
+	/**
+	 * Removes every node from the frontier.
+	 * 
+	 * @return Nothing
+	 */
+	
+	void clear();
+}
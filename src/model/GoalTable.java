@@ -0,0 +1,209 @@
+package model;
+
+/**
+ * GoalTable holds a goal state along with lookup tables derived
+ * from it. It is built once per search and shared by every
+ * EightPuzzleNode in that search, so each node can find a tile's goal
+ * position or Manhattan distance without scanning the goal board.
+ * Boards of any size are supported, but the packed goal is only
+ * available for boards that fit in a long (see PackedState).
+ *
+ * @author Edward B.
+ */
+
+public class GoalTable {
+
+	private int size;
+	private long goalState;
+	private int[] goalTiles;
+	private int[] goalIndex;
+	private int[] distance;
+
+	/**
+	 * GoalTable constructor that stores the goal and builds the
+	 * goal position and Manhattan distance tables.
+	 *
+	 * @param size The width and height of the board
+	 * @param goal The packed goal state
+	 */
+
+	public GoalTable(int size, long goal) {
+		assert PackedState.fits(size);
+
+		initialize(size, PackedState.unpack(goal, new int[size * size]));
+	}
+
+	/**
+	 * GoalTable constructor for a goal board of any size.
+	 *
+	 * @param goal The goal state
+	 */
+
+	public GoalTable(int[][] goal) {
+		assert (goal != null) && (goal.length > 1);
+
+		int size = goal.length;
+		int[] tiles = new int[size * size];
+
+		for(int i = 0; i < size; i++) {
+			for(int j = 0; j < size; j++) {
+				tiles[i * size + j] = goal[i][j];
+			}
+		}
+
+		initialize(size, tiles);
+	}
+
+	/**
+	 * Builds the goal position and Manhattan distance tables.
+	 *
+	 * @param size The width and height of the board
+	 * @param tiles The goal state as a row-major array of tiles
+	 *
+	 * @return Nothing
+	 */
+
+	private void initialize(int size, int[] tiles) {
+		this.size = size;
+
+		int tileCount = size * size;
+		goalTiles = tiles.clone();
+		goalIndex = new int[tileCount];
+		distance = new int[tileCount * tileCount];
+
+		for(int i = 0; i < tileCount; i++) {
+			goalIndex[tiles[i]] = i;
+		}
+
+		if(PackedState.fits(size)) {
+			goalState = PackedState.pack(tiles);
+		}
+
+		// the empty tile is left at zero distance everywhere
+		for(int tile = 1; tile < tileCount; tile++) {
+			int goalX = goalIndex[tile] / size;
+			int goalY = goalIndex[tile] % size;
+
+			for(int i = 0; i < tileCount; i++) {
+				distance[tile * tileCount + i] = Math.abs(goalX - i / size) + Math.abs(goalY - i % size);
+			}
+		}
+	}
+
+	/**
+	 * Returns the width and height of the board.
+	 *
+	 * @return int The dimensions of the board
+	 */
+
+	public int getSize() {
+		return size;
+	}
+
+	/**
+	 * Returns the packed goal state.
+	 *
+	 * @return long The goal state
+	 */
+
+	public long getGoalState() {
+		assert PackedState.fits(size);
+
+		return goalState;
+	}
+
+	/**
+	 * Returns the tile at a row-major index of the goal board.
+	 *
+	 * @param index The index to look up
+	 *
+	 * @return int The goal tile at that index
+	 */
+
+	public int goalTileAt(int index) {
+		return goalTiles[index];
+	}
+
+	/**
+	 * Returns the row-major index of a tile on the goal board.
+	 *
+	 * @param tile The tile to look up
+	 *
+	 * @return int The tile's goal index
+	 */
+
+	public int goalIndexOf(int tile) {
+		return goalIndex[tile];
+	}
+
+	/**
+	 * Returns the Manhattan distance between index and the goal
+	 * position of tile. The empty tile always has a distance of 0.
+	 *
+	 * @param tile The tile to look up
+	 * @param index The row-major index the tile is located at
+	 *
+	 * @return int The tile's Manhattan distance
+	 */
+
+	public int distance(int tile, int index) {
+		return distance[tile * size * size + index];
+	}
+
+	/**
+	 * Checks whether or not a row-major board matches the goal.
+	 *
+	 * @param tiles The board to check
+	 *
+	 * @return boolean Whether the board is solved
+	 */
+
+	public boolean isGoal(int[] tiles) {
+		for(int i = 0; i < tiles.length; i++) {
+			if(goalIndex[tiles[i]] != i) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Checks whether or not a row-major board can be moved to the goal.
+	 * Every move swaps the empty tile with a neighbour, flipping the
+	 * parity of both the board's permutation of the goal and the empty
+	 * tile's distance from its goal cell, so a board is solvable
+	 * exactly when the two parities match.
+	 *
+	 * @param tiles The board to check, holding every tile once
+	 *
+	 * @return boolean Whether the board is solvable
+	 */
+
+	public boolean isSolvable(int[] tiles) {
+		int tileCount = tiles.length;
+		boolean[] seen = new boolean[tileCount];
+		int transpositions = 0;
+		int blank = 0;
+
+		for(int i = 0; i < tileCount; i++) {
+			if(tiles[i] == 0) {
+				blank = i;
+			}
+			if(seen[i]) {
+				continue;
+			}
+
+			// a cycle of length n is n - 1 transpositions
+			for(int j = i; !seen[j]; j = goalIndex[tiles[j]]) {
+				seen[j] = true;
+				transpositions++;
+			}
+			transpositions--;
+		}
+
+		int blankDistance = Math.abs(blank / size - goalIndex[0] / size) + Math.abs(blank % size - goalIndex[0] % size);
+
+		return (transpositions % 2) == (blankDistance % 2);
+	}
+}
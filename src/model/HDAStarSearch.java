@@ -0,0 +1,599 @@
+package model;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * HDAStarSearch is a hash-distributed parallel A* search. Every state
+ * is owned by one worker, chosen by hashing its packed state, and only
+ * the owner keeps that state in its arena, its open list and its table
+ * of best nodes, so workers never share a table or lock one. Successors
+ * owned by another worker are sent to it as packed states with their
+ * path costs, moves and estimates, gathered into batches of up to
+ * BATCH_SIZE per destination so that no object is allocated per node.
+ * A worker sends its partly filled batches every FLUSH_INTERVAL
+ * expansions and whenever its own open list runs out.
+ *
+ * A goal expanded by any worker lowers the incumbent cost if it is
+ * cheaper, and nodes whose estimated total cost is not below the
+ * incumbent's are dropped. The search ends when no node is left in any
+ * open list, batch or mailbox, at which point the incumbent is optimal.
+ * Its moves are then read back from the owners' tables: each state's
+ * best node records the move that reached it, and undoing that move
+ * gives a state with a smaller path cost, down to the root.
+ *
+ * The end is detected without any counter that every worker updates.
+ * Each worker counts the nodes it has sent and received, and marks
+ * itself idle once its open list, batches and mailbox are empty. When
+ * the first worker is idle it reads every worker's flag and counters
+ * twice in a row (the four-counter method): if every worker was idle
+ * both times and every node sent had been received, with no change in
+ * between, no node can still be in flight and the search is over.
+ *
+ * Each worker keeps its own counters, which are added together once
+ * every worker has stopped. Every SearchBudget.CHECK_INTERVAL
+ * expansions a worker adds what it has generated and stored since its
+ * last check to shared totals and checks those against the budget; the
+ * first worker to find it exceeded stops them all, and any incumbent is
+ * dropped because it has not been proven optimal. The peak open and closed sizes are the sums
+ * of each worker's peaks.
+ *
+ * A worker with nothing to do parks until a batch is sent to it,
+ * rather than spinning, so idle workers leave their cores to the
+ * others. It parks for at most IDLE_PARK_NANOS at a time, so that it
+ * also notices when the search has ended.
+ *
+ * @author Edward B.
+ */
+
+class HDAStarSearch {
+
+	private static final int NOT_FOUND = Integer.MAX_VALUE;
+	private static final long IDLE_PARK_NANOS = 1000000L;
+	private static final int BATCH_SIZE = 64;
+	private static final int FLUSH_INTERVAL = 64;
+
+	private Worker[] workers;
+	private volatile boolean done;
+	private AtomicInteger incumbentCost = new AtomicInteger(NOT_FOUND);
+	private AtomicReference<SearchBudget.Limit> exceeded = new AtomicReference<SearchBudget.Limit>();
+	private AtomicLong totalGenerated = new AtomicLong();
+	private AtomicLong totalBytes = new AtomicLong();
+	private Heuristic heuristic;
+	private int size;
+	private long goalState;
+	private SearchBudget budget;
+	private long deadline;
+
+	/**
+	 * HDAStarSearch constructor.
+	 *
+	 * @param threads The number of workers
+	 */
+
+	HDAStarSearch(int threads) {
+		assert threads > 0;
+
+		workers = new Worker[threads];
+	}
+
+	/**
+	 * Searches from root on every worker and waits for them to finish.
+	 *
+	 * @param root The node to start searching from
+	 * @param stats Receives the counters of every worker, added together, and the limit exceeded, if any
+	 * @param budget The limits the search must stay within
+	 *
+	 * @return EightPuzzleNode The leaf of the path of nodes that are a solution to the puzzle, or null if there is none or the budget ran out
+	 *
+	 * @throws InterruptedException Thrown when the calling thread is interrupted while waiting
+	 */
+
+	EightPuzzleNode search(EightPuzzleNode root, SearchStats stats, SearchBudget budget) throws InterruptedException {
+		assert (root != null) && (budget != null);
+
+		long start = System.nanoTime();
+		Thread[] threads = new Thread[workers.length];
+
+		this.budget = budget;
+		deadline = budget.deadline(start);
+		heuristic = root.getHeuristic();
+		size = root.getSize();
+		goalState = root.getGoal().getGoalState();
+
+		// an unsolvable board is only proven so once every reachable state has been expanded
+		if(!root.getGoal().isSolvable(PackedState.unpack(root.getPackedState(), new int[size * size]))) {
+			stats.reset("HDA*");
+			stats.finish(start, null, null);
+
+			return null;
+		}
+
+		for(int i = 0; i < workers.length; i++) {
+			workers[i] = new Worker(i);
+		}
+
+		owner(root.getPackedState()).accept(root.getPackedState(), 0, Move.NONE, root.getEstimate());
+
+		for(int i = 0; i < workers.length; i++) {
+			threads[i] = new Thread(workers[i], "HDA* worker " + i);
+			threads[i].setDaemon(true);
+			workers[i].thread = threads[i];
+		}
+		for(Thread thread : threads) {
+			thread.start();
+		}
+
+		try {
+			for(Thread thread : threads) {
+				thread.join();
+			}
+		}
+		finally {
+			// stop any workers still running if the wait was interrupted
+			done = true;
+		}
+
+		stats.reset("HDA*");
+
+		for(Worker worker : workers) {
+			stats.expanded += worker.expanded;
+			stats.generated += worker.generated;
+			stats.reopened += worker.reopened;
+			stats.duplicates += worker.duplicates;
+			stats.heuristicEvaluations += worker.generated;
+			stats.peakOpen += worker.peakOpen;
+			stats.peakClosed += worker.bestNodes.size();
+		}
+
+		Solution solution = null;
+
+		if((exceeded.get() == null) && (incumbentCost.get() != NOT_FOUND)) {
+			solution = new Solution(size, root.getPackedState(), tracePath(root.getPackedState()), incumbentCost.get());
+		}
+
+		// the root's estimate was computed before the search
+		stats.heuristicEvaluations++;
+		stats.finish(start, solution, exceeded.get());
+
+		return (solution == null) ? null : solution.toPath(root);
+	}
+
+	/**
+	 * Reads the moves of the incumbent back from the owners' tables,
+	 * once every worker has stopped.
+	 *
+	 * @param rootState The packed root
+	 *
+	 * @return int[] The moves from the root to the goal
+	 */
+
+	private int[] tracePath(long rootState) {
+		int[] moves = new int[incumbentCost.get()];
+		int remaining = moves.length;
+		long state = goalState;
+
+		// every step back leads to a state one move closer to the root, since any shortcut would have improved the incumbent
+		while(state != rootState) {
+			Worker owner = owner(state);
+			int node = owner.bestNodes.get(state);
+			int move = owner.arena.getMove(node);
+			int blank = PackedState.indexOf(state, size, 0);
+
+			assert owner.arena.getPathCost(node) == remaining;
+
+			moves[--remaining] = move;
+			state = PackedState.slide(state, blank, Move.target(blank, size, Move.opposite(move)));
+		}
+
+		return moves;
+	}
+
+	/**
+	 * Returns the worker that owns a state.
+	 *
+	 * @param state The packed state
+	 *
+	 * @return Worker The owning worker
+	 */
+
+	private Worker owner(long state) {
+		// a different multiplier than LongIntHashMap, so owners do not cluster in each table
+		long h = state * 0xC2B2AE3D27D4EB4FL;
+
+		return workers[(int) ((h >>> 33) % workers.length)];
+	}
+
+	/**
+	 * Offers the path cost of an expanded goal as the new incumbent.
+	 *
+	 * @param cost The goal's path cost
+	 *
+	 * @return Nothing
+	 */
+
+	private void offerSolution(int cost) {
+		int current = incumbentCost.get();
+
+		while((cost < current) && !incumbentCost.compareAndSet(current, cost)) {
+			current = incumbentCost.get();
+		}
+	}
+
+	/**
+	 * Returns whether or not the search is over, which only the first
+	 * worker checks, while it is idle itself. Every worker must be
+	 * idle in two passes over the workers, and the nodes sent and
+	 * received must add up to the same total in both.
+	 *
+	 * @return boolean Whether every node has been received and no worker has work left
+	 */
+
+	private boolean isQuiescent() {
+		long sent = 0;
+		long received = 0;
+
+		for(Worker worker : workers) {
+			if(!worker.idle) {
+				return false;
+			}
+
+			received += worker.received;
+			sent += worker.sent;
+		}
+		if(sent != received) {
+			return false;
+		}
+
+		long sentAgain = 0;
+		long receivedAgain = 0;
+
+		for(Worker worker : workers) {
+			if(!worker.idle) {
+				return false;
+			}
+
+			receivedAgain += worker.received;
+			sentAgain += worker.sent;
+		}
+
+		return (sentAgain == receivedAgain) && (sentAgain == sent);
+	}
+
+	/**
+	 * Wakes every worker, so that parked workers see the search has ended.
+	 *
+	 * @return Nothing
+	 */
+
+	private void wakeAll() {
+		for(Worker worker : workers) {
+			LockSupport.unpark(worker.thread);
+		}
+	}
+
+	/**
+	 * Batch is a group of nodes sent to one worker together, each as
+	 * a packed state, a path cost, the move that reached it and an
+	 * estimate. Batches are pushed onto the receiver's mailbox as a
+	 * linked stack.
+	 */
+
+	private static final class Batch {
+
+		private final long[] states = new long[BATCH_SIZE];
+		private final int[] costs = new int[BATCH_SIZE];
+		private final byte[] moves = new byte[BATCH_SIZE];
+		private final short[] estimates = new short[BATCH_SIZE];
+		private int count;
+		private Batch next;
+	}
+
+	/**
+	 * Worker owns a NodeArena holding the nodes of its states, a
+	 * HandleFrontier as its open list, a table of each state's best
+	 * node, a batch being filled for every other worker, and a mailbox.
+	 * Any thread may push a batch onto the mailbox with a
+	 * compare-and-set, and only the owner takes everything off it at
+	 * once, so the mailbox never needs a lock. The sent and received
+	 * counters are only written by the worker itself.
+	 */
+
+	private final class Worker implements Runnable {
+
+		private final AtomicReference<Batch> mailbox = new AtomicReference<Batch>();
+		private final NodeArena arena = new NodeArena();
+		private final HandleFrontier frontier = new HandleFrontier();
+		private final LongIntHashMap bestNodes = new LongIntHashMap();
+		private final Batch[] outboxes = new Batch[workers.length];
+		private final int[] tiles = new int[size * size];
+		private final int id;
+		private Thread thread;
+		private volatile boolean idle;
+		private volatile long sent;
+		private volatile long received;
+		private long expanded;
+		private long generated;
+		private long reopened;
+		private long duplicates;
+		private int peakOpen;
+		private long reportedGenerated;
+		private long reportedBytes;
+
+		/**
+		 * Worker constructor.
+		 *
+		 * @param id The worker's position among the workers
+		 */
+
+		private Worker(int id) {
+			this.id = id;
+		}
+
+		/**
+		 * Pushes a batch onto this worker's mailbox, and wakes the
+		 * worker if the mailbox was empty, since it may be parked. May
+		 * be called from any thread.
+		 *
+		 * @param batch The batch to send
+		 *
+		 * @return Nothing
+		 */
+
+		private void send(Batch batch) {
+			Batch head;
+
+			do {
+				head = mailbox.get();
+				batch.next = head;
+			} while(!mailbox.compareAndSet(head, batch));
+
+			// a worker only parks after emptying its mailbox, so a push onto a full one needs no wakeup
+			if(head == null) {
+				LockSupport.unpark(thread);
+			}
+		}
+
+		@Override
+		public void run() {
+			while(!done && (exceeded.get() == null)) {
+				receive();
+
+				if(frontier.isEmpty()) {
+					flush();
+
+					if(mailbox.get() == null) {
+						idle = true;
+
+						if((this == workers[0]) && isQuiescent()) {
+							done = true;
+							wakeAll();
+							break;
+						}
+
+						LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+					}
+					continue;
+				}
+
+				int node = frontier.poll();
+				long state = arena.getState(node);
+				int g = arena.getPathCost(node);
+				int h = arena.getEstimate(node);
+
+				// a cheaper path to this state was found after it was queued
+				if((bestNodes.get(state) != node) || (g + h >= incumbentCost.get())) {
+					continue;
+				}
+
+				if(state == goalState) {
+					offerSolution(g);
+					continue;
+				}
+
+				if(((expanded & (SearchBudget.CHECK_INTERVAL - 1)) == 0) && !withinBudget()) {
+					break;
+				}
+
+				expand(node, state, g, h);
+
+				if((expanded & (FLUSH_INTERVAL - 1)) == 0) {
+					flush();
+				}
+
+				peakOpen = Math.max(peakOpen, frontier.size());
+			}
+
+			wakeAll();
+		}
+
+		/**
+		 * Expands one node, keeping successors this worker owns and
+		 * adding the others to the batches of their owners.
+		 *
+		 * @param node The node's handle
+		 * @param state The node's packed state
+		 * @param g The node's path cost
+		 * @param h The node's estimate
+		 *
+		 * @return Nothing
+		 */
+
+		private void expand(int node, long state, int g, int h) {
+			int blank = PackedState.indexOf(state, size, 0);
+			int previous = (g == 0) ? Move.NONE : arena.getMove(node);
+			int childCost = g + 1;
+			int bound = incumbentCost.get();
+
+			PackedState.unpack(state, tiles);
+			expanded++;
+
+			for(int move = Move.UP; move <= Move.LEFT; move++) {
+				int target = Move.target(blank, size, move);
+
+				if((target < 0) || ((previous != Move.NONE) && (move == Move.opposite(previous)))) {
+					continue;
+				}
+
+				// make the move on the scratch board to update the estimate, then unmake it
+				int tile = tiles[target];
+				tiles[blank] = tile;
+				tiles[target] = 0;
+
+				int estimate = heuristic.update(tiles, h, tile, target, blank);
+
+				tiles[target] = tile;
+				tiles[blank] = 0;
+				generated++;
+
+				if(childCost + estimate >= bound) {
+					continue;
+				}
+
+				long next = PackedState.slide(state, blank, target);
+				Worker owner = owner(next);
+
+				if(owner == this) {
+					accept(next, childCost, move, estimate);
+				}
+				else {
+					post(owner, next, childCost, move, estimate);
+				}
+			}
+		}
+
+		/**
+		 * Adds a node to the batch for its owner, sending the batch
+		 * once it is full.
+		 *
+		 * @param owner The worker that owns the node's state
+		 * @param state The packed state
+		 * @param pathCost The node's path cost
+		 * @param move The move that reached the node
+		 * @param estimate The node's estimate
+		 *
+		 * @return Nothing
+		 */
+
+		private void post(Worker owner, long state, int pathCost, int move, int estimate) {
+			Batch batch = outboxes[owner.id];
+
+			if(batch == null) {
+				batch = new Batch();
+				outboxes[owner.id] = batch;
+			}
+
+			batch.states[batch.count] = state;
+			batch.costs[batch.count] = pathCost;
+			batch.moves[batch.count] = (byte) move;
+			batch.estimates[batch.count] = (short) estimate;
+
+			if(++batch.count == BATCH_SIZE) {
+				outboxes[owner.id] = null;
+				sent += BATCH_SIZE;
+				owner.send(batch);
+			}
+		}
+
+		/**
+		 * Sends every partly filled batch. The nodes are counted as sent
+		 * before they can be received, so a node in flight always shows
+		 * up as sent but not yet received.
+		 *
+		 * @return Nothing
+		 */
+
+		private void flush() {
+			for(int i = 0; i < outboxes.length; i++) {
+				Batch batch = outboxes[i];
+
+				if(batch != null) {
+					outboxes[i] = null;
+					sent += batch.count;
+					workers[i].send(batch);
+				}
+			}
+		}
+
+		/**
+		 * Takes every batch off the mailbox and accepts its nodes.
+		 *
+		 * @return Nothing
+		 */
+
+		private void receive() {
+			Batch batch = mailbox.getAndSet(null);
+
+			if(batch == null) {
+				return;
+			}
+
+			// the worker is busy again before the nodes count as received
+			idle = false;
+
+			for(; batch != null; batch = batch.next) {
+				for(int i = 0; i < batch.count; i++) {
+					accept(batch.states[i], batch.costs[i], batch.moves[i], batch.estimates[i]);
+				}
+
+				received += batch.count;
+			}
+		}
+
+		/**
+		 * Adds a node owned by this worker to the open list if it
+		 * improves on the best known path cost to its state.
+		 *
+		 * @param state The packed state
+		 * @param pathCost The node's path cost
+		 * @param move The move that reached the node, Move.NONE for the root
+		 * @param estimate The node's estimate
+		 *
+		 * @return Nothing
+		 */
+
+		private void accept(long state, int pathCost, int move, int estimate) {
+			int best = bestNodes.get(state);
+
+			if((best != LongIntHashMap.NO_VALUE) && (arena.getPathCost(best) <= pathCost)) {
+				duplicates++;
+				return;
+			}
+			if(best != LongIntHashMap.NO_VALUE) {
+				reopened++;
+			}
+
+			int node = arena.add(state, NodeArena.NO_PARENT, pathCost, move, estimate);
+
+			bestNodes.put(state, node);
+			frontier.add(node, pathCost + estimate, estimate);
+		}
+
+		/**
+		 * Adds this worker's work since its last check to the shared
+		 * totals and checks them against the budget, stopping every
+		 * worker if it has run out.
+		 *
+		 * @return boolean Whether the search may go on
+		 */
+
+		private boolean withinBudget() {
+			long bytes = arena.byteSize() + bestNodes.byteSize() + frontier.size() * (long) Integer.BYTES;
+			long nodes = totalGenerated.addAndGet(generated - reportedGenerated);
+			long allBytes = totalBytes.addAndGet(bytes - reportedBytes);
+
+			reportedGenerated = generated;
+			reportedBytes = bytes;
+
+			SearchBudget.Limit limit = budget.exceeded(nodes, allBytes, deadline);
+
+			if(limit != null) {
+				exceeded.compareAndSet(null, limit);
+				return false;
+			}
+
+			return true;
+		}
+	}
+}
@@ -0,0 +1,176 @@
+package model;
+import java.util.Arrays;
+
+/**
+ * HandleFrontier is the open list for searches whose nodes live in a
+ * NodeArena. It orders int handles the same way BucketFrontier orders
+ * nodes: one bucket per total cost, split into stacks per heuristic
+ * estimate, so ties go to the deepest node, most recent first. Stacks
+ * are plain int arrays and keep their capacity when cleared.
+ *
+ * @author Edward B.
+ */
+
+class HandleFrontier {
+
+	private static final int INITIAL_BUCKETS = 64;
+	private static final int INITIAL_STACK = 16;
+
+	private int[][][] stacks = new int[INITIAL_BUCKETS][][];
+	private int[][] stackSizes = new int[INITIAL_BUCKETS][];
+	private int[] bucketSizes = new int[INITIAL_BUCKETS];
+	private int[] minEstimates = new int[INITIAL_BUCKETS];
+	private int minTotalCost;
+	private int size;
+
+	/**
+	 * HandleFrontier constructor that creates an empty frontier.
+	 */
+
+	HandleFrontier() {
+		clear();
+	}
+
+	/**
+	 * Adds a node.
+	 *
+	 * @param node The node's handle
+	 * @param totalCost The node's estimated total cost
+	 * @param estimate The node's heuristic estimate
+	 *
+	 * @return Nothing
+	 */
+
+	void add(int node, int totalCost, int estimate) {
+		int f = totalCost;
+		int h = estimate;
+
+		if(f >= stacks.length) {
+			grow(f);
+		}
+		if(stacks[f] == null) {
+			stacks[f] = new int[h + 1][];
+			stackSizes[f] = new int[h + 1];
+		}
+		if(h >= stacks[f].length) {
+			stacks[f] = Arrays.copyOf(stacks[f], h + 1);
+			stackSizes[f] = Arrays.copyOf(stackSizes[f], h + 1);
+		}
+		if(stacks[f][h] == null) {
+			stacks[f][h] = new int[INITIAL_STACK];
+		}
+
+		int count = stackSizes[f][h];
+
+		if(count == stacks[f][h].length) {
+			stacks[f][h] = Arrays.copyOf(stacks[f][h], count * 2);
+		}
+
+		stacks[f][h][count] = node;
+		stackSizes[f][h] = count + 1;
+		bucketSizes[f]++;
+		size++;
+
+		if(h < minEstimates[f]) {
+			minEstimates[f] = h;
+		}
+		if(f < minTotalCost) {
+			minTotalCost = f;
+		}
+	}
+
+	/**
+	 * Removes the node with the lowest total cost, breaking ties by
+	 * lowest estimate and then most recently added.
+	 *
+	 * @return int The node's handle, or NodeArena.NO_PARENT if the frontier is empty
+	 */
+
+	int poll() {
+		if(size == 0) {
+			return NodeArena.NO_PARENT;
+		}
+
+		while(bucketSizes[minTotalCost] == 0) {
+			minTotalCost++;
+		}
+
+		int f = minTotalCost;
+		int h = minEstimates[f];
+
+		while(stackSizes[f][h] == 0) {
+			h++;
+		}
+
+		int node = stacks[f][h][--stackSizes[f][h]];
+
+		bucketSizes[f]--;
+		minEstimates[f] = (bucketSizes[f] == 0) ? Integer.MAX_VALUE : h;
+		size--;
+
+		return node;
+	}
+
+	/**
+	 * Returns whether or not the frontier holds any nodes.
+	 *
+	 * @return boolean Whether the frontier is empty
+	 */
+
+	boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 * Returns the number of nodes in the frontier.
+	 *
+	 * @return int The number of nodes
+	 */
+
+	int size() {
+		return size;
+	}
+
+	/**
+	 * Removes every node, keeping the stacks' capacity.
+	 *
+	 * @return Nothing
+	 */
+
+	void clear() {
+		for(int[] sizes : stackSizes) {
+			if(sizes != null) {
+				Arrays.fill(sizes, 0);
+			}
+		}
+
+		Arrays.fill(bucketSizes, 0);
+		Arrays.fill(minEstimates, Integer.MAX_VALUE);
+		minTotalCost = Integer.MAX_VALUE;
+		size = 0;
+	}
+
+	/**
+	 * Grows the bucket arrays so totalCost has a bucket.
+	 *
+	 * @param totalCost The total cost that needs a bucket
+	 *
+	 * @return Nothing
+	 */
+
+	private void grow(int totalCost) {
+		int capacity = stacks.length;
+
+		while(capacity <= totalCost) {
+			capacity *= 2;
+		}
+
+		int oldCapacity = stacks.length;
+
+		stacks = Arrays.copyOf(stacks, capacity);
+		stackSizes = Arrays.copyOf(stackSizes, capacity);
+		bucketSizes = Arrays.copyOf(bucketSizes, capacity);
+		minEstimates = Arrays.copyOf(minEstimates, capacity);
+		Arrays.fill(minEstimates, oldCapacity, capacity, Integer.MAX_VALUE);
+	}
+}
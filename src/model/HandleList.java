@@ -0,0 +1,68 @@
+package model;
+import java.util.Arrays;
+
+/**
+ * HandleList is a list of node handles that grows as needed and keeps
+ * its capacity when cleared, so that a SearchContext can reuse it from
+ * one search to the next.
+ *
+ * @author Edward B.
+ */
+
+class HandleList {
+
+	private static final int INITIAL_CAPACITY = 64;
+
+	private int[] handles = new int[INITIAL_CAPACITY];
+	private int size;
+
+	/**
+	 * Adds a handle at the end of the list.
+	 *
+	 * @param node The handle
+	 *
+	 * @return Nothing
+	 */
+
+	void add(int node) {
+		if(size == handles.length) {
+			handles = Arrays.copyOf(handles, size * 2);
+		}
+
+		handles[size++] = node;
+	}
+
+	/**
+	 * Returns a handle.
+	 *
+	 * @param index The position of the handle, less than size()
+	 *
+	 * @return int The handle
+	 */
+
+	int get(int index) {
+		assert (index >= 0) && (index < size);
+
+		return handles[index];
+	}
+
+	/**
+	 * Returns the number of handles in the list.
+	 *
+	 * @return int The number of handles
+	 */
+
+	int size() {
+		return size;
+	}
+
+	/**
+	 * Removes every handle, keeping the list's capacity.
+	 *
+	 * @return Nothing
+	 */
+
+	void clear() {
+		size = 0;
+	}
+}
@@ -0,0 +1,42 @@
+package model;
+
+/**
+ * Heuristic is an admissible estimate of the number of moves left
+ * to reach the goal, used by EightPuzzleSearch to order nodes. An
+ * instance is created for one goal (see GoalTable) and may only be
+ * used with boards that share that goal.
+ * 
+ * Boards are given as row-major arrays of tiles, with 0 as the
+ * empty tile.
+ * 
+ * @author Edward B.
+ */
+
+public interface Heuristic {
+	
+	/**
+	 * Calculates the estimate of a board from scratch.
+	 * 
+	 * @param tiles The board to estimate
+	 * 
+	 * @return int The estimated number of moves to the goal
+	 */
+	
+	int estimate(int[] tiles);
+	
+	/**
+	 * Calculates the estimate of a board after a single move, given
+	 * the estimate before the move. The board passed in has already
+	 * had the move applied, and is left unchanged on return.
+	 * 
+	 * @param tiles The board after the move
+	 * @param h The estimate of the board before the move
+	 * @param tile The tile that moved
+	 * @param from The index the tile moved from, where the empty tile now is
+	 * @param to The index the tile moved to, where the empty tile was
+	 * 
+	 * @return int The estimated number of moves to the goal after the move
+	 */
+	
+	int update(int[] tiles, int h, int tile, int from, int to);
+}
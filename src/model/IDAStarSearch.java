@@ -0,0 +1,106 @@
+package model;
+
+/**
+ * IDAStarSearch runs iterative-deepening A* on a single mutable
+ * board. Each iteration is a DepthFirstSearch from the root, which
+ * makes and unmakes moves in place and updates the heuristic estimate
+ * incrementally, so memory use is proportional to the solution depth
+ * rather than to the number of nodes generated.
+ * 
+ * @author Edward B.
+ */
+
+class IDAStarSearch extends DepthFirstSearch {
+	
+	private SearchBudget budget;
+	private long deadline;
+	private SearchBudget.Limit exceeded;
+	
+	/**
+	 * IDAStarSearch constructor that copies the root's board into
+	 * the mutable board used by the search.
+	 * 
+	 * @param root The node to start searching from
+	 */
+	
+	IDAStarSearch(EightPuzzleNode root) {
+		super(root.getGoal(), root.getHeuristic(), PackedState.unpack(root.getPackedState(), new int[root.getSize() * root.getSize()]),
+				root.getBlankIndex(), new int[64]);
+	}
+	
+	/**
+	 * Runs iterations with increasing f-cost bounds until a solution
+	 * is found, starting from the root's estimate, or until the budget
+	 * runs out.
+	 * 
+	 * @param root The node the board was copied from
+	 * @param listener Notified after every iteration, may be null
+	 * @param stats Receives the search's counters and the limit it exceeded, if any
+	 * @param budget The limits the search must stay within
+	 * 
+	 * @return Solution The moves that solve the puzzle, or null if there are none or the budget ran out
+	 */
+	
+	Solution search(EightPuzzleNode root, IterationListener listener, SearchStats stats, SearchBudget budget) {
+		long start = System.nanoTime();
+		int h = root.getEstimate();
+		int bound = h;
+		Solution solution = null;
+		
+		stats.reset("IDA*");
+		exceeded = null;
+		this.budget = budget;
+		deadline = budget.deadline(start);
+		
+		// every iteration of an unsolvable board finds a larger bound, so it would never stop
+		if(!getGoal().isSolvable(getTiles())) {
+			stats.finish(start, null, null);
+			
+			return null;
+		}
+		
+		while(true) {
+			long generatedBefore = getGenerated();
+			int result = search(0, h, bound, Move.NONE);
+			
+			if(result == STOPPED) {
+				break;
+			}
+			
+			if(listener != null) {
+				listener.iterationComplete(bound, getGenerated() - generatedBefore);
+			}
+			
+			if(result == FOUND) {
+				solution = new Solution(getSize(), root.getPackedState(), getPath(), getPathLength());
+			}
+			if((result == FOUND) || (result == NOT_FOUND)) {
+				break;
+			}
+			
+			bound = result;
+		}
+		
+		// only the current path is stored, so the open and closed peaks stay at zero
+		stats.expanded = getExpanded();
+		stats.generated = getGenerated();
+		stats.heuristicEvaluations = getGenerated() + 1;
+		stats.finish(start, solution, exceeded);
+		
+		return solution;
+	}
+	
+	/**
+	 * Checks the budget against the nodes generated so far. Only the
+	 * current path is stored, so the memory limit never applies.
+	 * 
+	 * @return boolean Whether the search has run out of budget
+	 */
+	
+	@Override
+	boolean isOverBudget() {
+		exceeded = budget.exceeded(getGenerated(), 0, deadline);
+		
+		return exceeded != null;
+	}
+}
@@ -0,0 +1,22 @@
+package model;
+
+/**
+ * IterationListener is notified by iterative-deepening searches
+ * each time an iteration with a given cost bound finishes.
+ * 
+ * @author Edward B.
+ */
+
+public interface IterationListener {
+	
+	/**
+	 * Called after an iteration of the search finishes.
+	 * 
+	 * @param bound The f-cost bound of the iteration
+	 * @param nodes The number of nodes generated during the iteration
+	 * 
+	 * @return Nothing
+	 */
+	
+	void iterationComplete(int bound, long nodes);
+}
@@ -0,0 +1,156 @@
+package model;
+
+/**
+ * LinearConflictHeuristic adds linear conflicts to the Manhattan
+ * distance. Two tiles are in linear conflict when they are both in
+ * their goal row (or column) but in the wrong order, so one of them
+ * has to leave the line and come back, costing two extra moves. For
+ * each line the fewest tiles that have to leave is the number of tiles
+ * in their goal line minus the longest increasing run of their goal
+ * positions, which keeps the estimate admissible.
+ * 
+ * A vertical move only changes which tiles are in the two rows it
+ * touches, and a horizontal move the two columns, so updates rescan
+ * just those two lines.
+ * 
+ * @author Edward B.
+ */
+
+public class LinearConflictHeuristic implements Heuristic {
+	
+	private static final int MAX_LINE = 16;
+	
+	private GoalTable goal;
+	private int size;
+	
+	/**
+	 * LinearConflictHeuristic constructor.
+	 * 
+	 * @param goal The goal table distances and positions are looked up in
+	 * 
+	 * @throws IllegalArgumentException Thrown when the board is wider than MAX_LINE, the widest line a conflict bitmask holds
+	 */
+	
+	public LinearConflictHeuristic(GoalTable goal) {
+		assert goal != null;
+		
+		if(goal.getSize() > MAX_LINE) {
+			throw new IllegalArgumentException("Only boards up to " + MAX_LINE + "x" + MAX_LINE
+					+ " are supported: " + goal.getSize() + "x" + goal.getSize());
+		}
+		
+		this.goal = goal;
+		this.size = goal.getSize();
+	}
+	
+	@Override
+	public int estimate(int[] tiles) {
+		int sum = 0;
+		
+		for(int i = 0; i < tiles.length; i++) {
+			sum += goal.distance(tiles[i], i);
+		}
+		
+		for(int line = 0; line < size; line++) {
+			sum += rowConflicts(tiles, line) + columnConflicts(tiles, line);
+		}
+		
+		return sum;
+	}
+	
+	@Override
+	public int update(int[] tiles, int h, int tile, int from, int to) {
+		boolean vertical = (from / size) != (to / size);
+		int before;
+		int after;
+		
+		// put the tile back temporarily to count the old conflicts
+		tiles[to] = 0;
+		tiles[from] = tile;
+		before = vertical ? rowConflicts(tiles, from / size) + rowConflicts(tiles, to / size)
+				: columnConflicts(tiles, from % size) + columnConflicts(tiles, to % size);
+		tiles[from] = 0;
+		tiles[to] = tile;
+		after = vertical ? rowConflicts(tiles, from / size) + rowConflicts(tiles, to / size)
+				: columnConflicts(tiles, from % size) + columnConflicts(tiles, to % size);
+		
+		return h - goal.distance(tile, from) + goal.distance(tile, to) + after - before;
+	}
+	
+	/**
+	 * Returns the extra moves caused by conflicts within a row.
+	 * 
+	 * @param tiles The board
+	 * @param row The row to scan
+	 * 
+	 * @return int Twice the number of tiles that must leave the row
+	 */
+	
+	private int rowConflicts(int[] tiles, int row) {
+		return lineConflicts(tiles, row * size, 1, row, true);
+	}
+	
+	/**
+	 * Returns the extra moves caused by conflicts within a column.
+	 * 
+	 * @param tiles The board
+	 * @param col The column to scan
+	 * 
+	 * @return int Twice the number of tiles that must leave the column
+	 */
+	
+	private int columnConflicts(int[] tiles, int col) {
+		return lineConflicts(tiles, col, size, col, false);
+	}
+	
+	/**
+	 * Scans a line for tiles whose goal is in the same line and counts
+	 * how many of them are out of order. The longest increasing run of
+	 * goal positions is found by patience sorting, with the top of each
+	 * pile kept as a 4-bit field of a long so that nothing is allocated.
+	 * 
+	 * @param tiles The board
+	 * @param start The index of the first tile in the line
+	 * @param step The distance between consecutive tiles in the line
+	 * @param line The row or column number of the line
+	 * @param row Whether the line is a row (true) or a column (false)
+	 * 
+	 * @return int Twice the number of tiles that must leave the line
+	 */
+	
+	private int lineConflicts(int[] tiles, int start, int step, int line, boolean row) {
+		long tops = 0L;
+		int piles = 0;
+		int count = 0;
+		
+		for(int i = 0, index = start; i < size; i++, index += step) {
+			int tile = tiles[index];
+			
+			if(tile == 0) {
+				continue;
+			}
+			
+			int goalIndex = goal.goalIndexOf(tile);
+			
+			if((row ? goalIndex / size : goalIndex % size) != line) {
+				continue;
+			}
+			
+			long key = row ? goalIndex % size : goalIndex / size;
+			int pile = 0;
+			
+			while((pile < piles) && (((tops >>> (4 * pile)) & 0xFL) < key)) {
+				pile++;
+			}
+			
+			tops = (tops & ~(0xFL << (4 * pile))) | (key << (4 * pile));
+			
+			if(pile == piles) {
+				piles++;
+			}
+			count++;
+		}
+		
+		return 2 * (count - piles);
+	}
+}
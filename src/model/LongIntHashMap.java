@@ -0,0 +1,298 @@
+package model;
+import java.util.Arrays;
+
+/**
+ * LongIntHashMap is an open-addressing hash table from primitive long
+ * keys to primitive int values, used by EightPuzzleSearch to record
+ * packed board states. Keys and values are stored in two parallel
+ * arrays with linear probing, so nothing is allocated per insert and
+ * the table only reallocates when it doubles in size.
+ *
+ * A key of 0 is used to mark free slots, so the value for the key 0
+ * (if any) is kept in a separate field.
+ *
+ * @author Edward B.
+ */
+
+public class LongIntHashMap {
+
+	public static final int NO_VALUE = -1;
+
+	private static final int DEFAULT_CAPACITY = 1024;
+	private static final float LOAD_FACTOR = 0.5f;
+	private static final long FREE_KEY = 0L;
+
+	private long[] keys;
+	private int[] values;
+	private int mask;
+	private int threshold;
+	private int size;
+	private boolean hasFreeKey;
+	private int freeKeyValue;
+
+	/**
+	 * LongIntHashMap constructor that creates an empty table
+	 * with the default capacity.
+	 */
+
+	public LongIntHashMap() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * LongIntHashMap constructor that creates an empty table
+	 * large enough to hold expectedSize entries without resizing.
+	 *
+	 * @param expectedSize The number of entries expected
+	 */
+
+	public LongIntHashMap(int expectedSize) {
+		assert expectedSize >= 0;
+
+		int capacity = 2;
+
+		while(capacity * LOAD_FACTOR < expectedSize) {
+			capacity <<= 1;
+		}
+
+		allocate(capacity);
+	}
+
+	/**
+	 * Returns the value stored for key.
+	 *
+	 * @param key The key to look up
+	 *
+	 * @return int The value, or NO_VALUE if the key is not in the table
+	 */
+
+	public int get(long key) {
+		if(key == FREE_KEY) {
+			return hasFreeKey ? freeKeyValue : NO_VALUE;
+		}
+
+		int slot = slot(key);
+
+		while(keys[slot] != FREE_KEY) {
+			if(keys[slot] == key) {
+				return values[slot];
+			}
+			slot = (slot + 1) & mask;
+		}
+
+		return NO_VALUE;
+	}
+
+	/**
+	 * Returns whether or not key is in the table.
+	 *
+	 * @param key The key to look up
+	 *
+	 * @return boolean Whether the key is present
+	 */
+
+	public boolean containsKey(long key) {
+		if(key == FREE_KEY) {
+			return hasFreeKey;
+		}
+
+		int slot = slot(key);
+
+		while(keys[slot] != FREE_KEY) {
+			if(keys[slot] == key) {
+				return true;
+			}
+			slot = (slot + 1) & mask;
+		}
+
+		return false;
+	}
+
+	/**
+	 * Stores value for key, replacing any previous value.
+	 *
+	 * @param key The key to store
+	 * @param value The value to store, which must not be NO_VALUE
+	 *
+	 * @return int The previous value, or NO_VALUE if the key was not present
+	 */
+
+	public int put(long key, int value) {
+		assert value != NO_VALUE;
+
+		if(key == FREE_KEY) {
+			int previous = hasFreeKey ? freeKeyValue : NO_VALUE;
+
+			if(!hasFreeKey) {
+				size++;
+			}
+			hasFreeKey = true;
+			freeKeyValue = value;
+
+			return previous;
+		}
+
+		int slot = slot(key);
+
+		while(keys[slot] != FREE_KEY) {
+			if(keys[slot] == key) {
+				int previous = values[slot];
+				values[slot] = value;
+				return previous;
+			}
+			slot = (slot + 1) & mask;
+		}
+
+		keys[slot] = key;
+		values[slot] = value;
+
+		if(++size > threshold) {
+			rehash(keys.length << 1);
+		}
+
+		return NO_VALUE;
+	}
+
+	/**
+	 * Removes key and its value from the table. Later entries in the
+	 * same probe run are shifted back so that no tombstones are needed.
+	 *
+	 * @param key The key to remove
+	 *
+	 * @return int The removed value, or NO_VALUE if the key was not present
+	 */
+
+	public int remove(long key) {
+		if(key == FREE_KEY) {
+			if(!hasFreeKey) {
+				return NO_VALUE;
+			}
+			hasFreeKey = false;
+			size--;
+
+			return freeKeyValue;
+		}
+
+		int slot = slot(key);
+
+		while(keys[slot] != key) {
+			if(keys[slot] == FREE_KEY) {
+				return NO_VALUE;
+			}
+			slot = (slot + 1) & mask;
+		}
+
+		int previous = values[slot];
+		int gap = slot;
+		int next = (gap + 1) & mask;
+
+		while(keys[next] != FREE_KEY) {
+			int home = slot(keys[next]);
+
+			// move the entry back unless its home slot lies in (gap, next]
+			if(((next - home) & mask) >= ((next - gap) & mask)) {
+				keys[gap] = keys[next];
+				values[gap] = values[next];
+				gap = next;
+			}
+			next = (next + 1) & mask;
+		}
+
+		keys[gap] = FREE_KEY;
+		size--;
+
+		return previous;
+	}
+
+	/**
+	 * Returns the number of entries in the table.
+	 *
+	 * @return int The number of entries
+	 */
+
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Returns the number of bytes taken by the table's arrays, which
+	 * is what a SearchBudget counts for it.
+	 *
+	 * @return long The size of the arrays in bytes
+	 */
+
+	long byteSize() {
+		return keys.length * (long) (Long.BYTES + Integer.BYTES);
+	}
+
+	/**
+	 * Removes every entry from the table, keeping its capacity.
+	 *
+	 * @return Nothing
+	 */
+
+	public void clear() {
+		Arrays.fill(keys, FREE_KEY);
+		hasFreeKey = false;
+		size = 0;
+	}
+
+	/**
+	 * Returns the home slot of a key.
+	 *
+	 * @param key The key to hash
+	 *
+	 * @return int The slot probing starts from
+	 */
+
+	private int slot(long key) {
+		long h = key * 0x9E3779B97F4A7C15L;
+
+		return (int) (h ^ (h >>> 32)) & mask;
+	}
+
+	/**
+	 * Allocates empty key and value arrays.
+	 *
+	 * @param capacity The new capacity, a power of two
+	 *
+	 * @return Nothing
+	 */
+
+	private void allocate(int capacity) {
+		assert Integer.bitCount(capacity) == 1;
+
+		keys = new long[capacity];
+		values = new int[capacity];
+		mask = capacity - 1;
+		threshold = (int) (capacity * LOAD_FACTOR);
+	}
+
+	/**
+	 * Moves every entry into new arrays of the given capacity.
+	 *
+	 * @param capacity The new capacity, a power of two
+	 *
+	 * @return Nothing
+	 */
+
+	private void rehash(int capacity) {
+		long[] oldKeys = keys;
+		int[] oldValues = values;
+
+		allocate(capacity);
+
+		for(int i = 0; i < oldKeys.length; i++) {
+			if(oldKeys[i] != FREE_KEY) {
+				int slot = slot(oldKeys[i]);
+
+				while(keys[slot] != FREE_KEY) {
+					slot = (slot + 1) & mask;
+				}
+
+				keys[slot] = oldKeys[i];
+				values[slot] = oldValues[i];
+			}
+		}
+	}
+}
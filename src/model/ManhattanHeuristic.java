@@ -0,0 +1,43 @@
+package model;
+
+/**
+ * ManhattanHeuristic estimates the moves left as the sum of every
+ * tile's horizontal and vertical distance from its goal position.
+ * A move only changes the distance of the tile that moved, so updates
+ * are constant time.
+ * 
+ * @author Edward B.
+ */
+
+public class ManhattanHeuristic implements Heuristic {
+	
+	private GoalTable goal;
+	
+	/**
+	 * ManhattanHeuristic constructor.
+	 * 
+	 * @param goal The goal table distances are looked up in
+	 */
+	
+	public ManhattanHeuristic(GoalTable goal) {
+		assert goal != null;
+		
+		this.goal = goal;
+	}
+	
+	@Override
+	public int estimate(int[] tiles) {
+		int sum = 0;
+		
+		for(int i = 0; i < tiles.length; i++) {
+			sum += goal.distance(tiles[i], i);
+		}
+		
+		return sum;
+	}
+	
+	@Override
+	public int update(int[] tiles, int h, int tile, int from, int to) {
+		return h - goal.distance(tile, from) + goal.distance(tile, to);
+	}
+}
@@ -0,0 +1,93 @@
+package model;
+
+/**
+ * Move holds the compact codes for the four directions the empty tile
+ * can shift in, along with helpers to apply them to row-major board
+ * indices. Codes fit in 2 bits and opposite directions differ by 2.
+ * 
+ * @author Edward B.
+ */
+
+public final class Move {
+	
+	public static final int UP = 0;
+	public static final int RIGHT = 1;
+	public static final int DOWN = 2;
+	public static final int LEFT = 3;
+	public static final int NONE = -1;
+	
+	private static final String[] NAMES = {"UP", "RIGHT", "DOWN", "LEFT"};
+	
+	private Move() {
+	}
+	
+	/**
+	 * Returns the move that undoes the given move.
+	 * 
+	 * @param move The move code
+	 * 
+	 * @return int The opposite move code
+	 */
+	
+	public static int opposite(int move) {
+		assert (move >= UP) && (move <= LEFT);
+		
+		return move ^ 2;
+	}
+	
+	/**
+	 * Returns the index the empty tile moves to when it shifts
+	 * in the given direction.
+	 * 
+	 * @param blank The row-major index of the empty tile
+	 * @param size The width and height of the board
+	 * @param move The move code
+	 * 
+	 * @return int The new index of the empty tile, or -1 if the move leaves the board
+	 */
+	
+	public static int target(int blank, int size, int move) {
+		switch(move) {
+			case UP:
+				return (blank >= size) ? blank - size : -1;
+			case RIGHT:
+				return ((blank % size) + 1 < size) ? blank + 1 : -1;
+			case DOWN:
+				return (blank + size < size * size) ? blank + size : -1;
+			case LEFT:
+				return ((blank % size) > 0) ? blank - 1 : -1;
+			default:
+				throw new IllegalArgumentException("Unknown move code " + move);
+		}
+	}
+	
+	/**
+	 * Returns the name of a move, as used by EightPuzzleNode actions.
+	 * 
+	 * @param move The move code
+	 * 
+	 * @return String "UP", "RIGHT", "DOWN", or "LEFT"
+	 */
+	
+	public static String name(int move) {
+		return NAMES[move];
+	}
+	
+	/**
+	 * Returns the move code for an action name.
+	 * 
+	 * @param name "UP", "RIGHT", "DOWN", or "LEFT"
+	 * 
+	 * @return int The move code, or NONE for any other name
+	 */
+	
+	public static int fromName(String name) {
+		for(int i = 0; i < NAMES.length; i++) {
+			if(NAMES[i].equals(name)) {
+				return i;
+			}
+		}
+		
+		return NONE;
+	}
+}
@@ -0,0 +1,153 @@
+package model;
+import java.util.Arrays;
+
+/**
+ * NodeArena stores search nodes as rows of parallel primitive arrays
+ * instead of as EightPuzzleNode objects. A node is an int handle, the
+ * index of its row, and holds its packed state, its parent's handle,
+ * its path cost and the move that reached it (packed together into 16
+ * bits), and its heuristic estimate: 16 bytes per node, with no object
+ * graph for the garbage collector to trace. Clearing the arena keeps
+ * its arrays for the next search.
+ *
+ * @author Edward B.
+ */
+
+class NodeArena {
+
+	static final int NO_PARENT = -1;
+	static final int MAX_PATH_COST = (1 << 14) - 1;
+
+	private static final int INITIAL_CAPACITY = 1024;
+	private static final int BYTES_PER_NODE = Long.BYTES + Integer.BYTES + 2 * Short.BYTES;
+
+	private long[] states = new long[INITIAL_CAPACITY];
+	private int[] parents = new int[INITIAL_CAPACITY];
+	private short[] costs = new short[INITIAL_CAPACITY];
+	private short[] estimates = new short[INITIAL_CAPACITY];
+	private int size;
+
+	/**
+	 * Adds a node.
+	 *
+	 * @param state The packed state
+	 * @param parent The parent's handle, or NO_PARENT for the root
+	 * @param pathCost The path cost from the root, at most MAX_PATH_COST
+	 * @param move The move that reached the node (see Move), ignored for the root
+	 * @param estimate The heuristic estimate
+	 *
+	 * @return int The new node's handle
+	 */
+
+	int add(long state, int parent, int pathCost, int move, int estimate) {
+		assert (pathCost >= 0) && (pathCost <= MAX_PATH_COST);
+		assert (estimate >= 0) && (estimate <= Short.MAX_VALUE);
+
+		if(size == states.length) {
+			int capacity = size * 2;
+
+			states = Arrays.copyOf(states, capacity);
+			parents = Arrays.copyOf(parents, capacity);
+			costs = Arrays.copyOf(costs, capacity);
+			estimates = Arrays.copyOf(estimates, capacity);
+		}
+
+		states[size] = state;
+		parents[size] = parent;
+		costs[size] = (short) ((pathCost << 2) | (move & 3));
+		estimates[size] = (short) estimate;
+
+		return size++;
+	}
+
+	/**
+	 * Returns a node's packed state.
+	 *
+	 * @param node The node's handle
+	 *
+	 * @return long The packed state
+	 */
+
+	long getState(int node) {
+		return states[node];
+	}
+
+	/**
+	 * Returns a node's parent.
+	 *
+	 * @param node The node's handle
+	 *
+	 * @return int The parent's handle, or NO_PARENT for the root
+	 */
+
+	int getParent(int node) {
+		return parents[node];
+	}
+
+	/**
+	 * Returns a node's path cost from the root.
+	 *
+	 * @param node The node's handle
+	 *
+	 * @return int The path cost
+	 */
+
+	int getPathCost(int node) {
+		return (costs[node] & 0xFFFF) >>> 2;
+	}
+
+	/**
+	 * Returns the move that reached a node.
+	 *
+	 * @param node The node's handle
+	 *
+	 * @return int The move code (see Move)
+	 */
+
+	int getMove(int node) {
+		return costs[node] & 3;
+	}
+
+	/**
+	 * Returns a node's heuristic estimate.
+	 *
+	 * @param node The node's handle
+	 *
+	 * @return int The estimate
+	 */
+
+	int getEstimate(int node) {
+		return estimates[node];
+	}
+
+	/**
+	 * Returns the number of nodes in the arena.
+	 *
+	 * @return int The number of nodes
+	 */
+
+	int size() {
+		return size;
+	}
+
+	/**
+	 * Returns the number of bytes taken by the arena's arrays, which
+	 * is what a SearchBudget counts for it.
+	 *
+	 * @return long The size of the arrays in bytes
+	 */
+
+	long byteSize() {
+		return states.length * (long) BYTES_PER_NODE;
+	}
+
+	/**
+	 * Removes every node, keeping the arrays.
+	 *
+	 * @return Nothing
+	 */
+
+	void clear() {
+		size = 0;
+	}
+}
@@ -0,0 +1,180 @@
+package model;
+
+/**
+ * PackedState contains the helpers used to store a board of up to
+ * 4x4 tiles in a single long. Each tile takes 4 bits and tiles are
+ * stored row by row, so the tile at (x, y) lives in the nibble at
+ * index x * size + y.
+ *
+ * @author Edward B.
+ */
+
+public final class PackedState {
+
+	public static final int MAX_SIZE = 4;
+
+	private static final int BITS_PER_TILE = 4;
+	private static final long TILE_MASK = 0xFL;
+
+	private PackedState() {
+	}
+
+	/**
+	 * Returns whether or not a board of the given size can be packed.
+	 *
+	 * @param size The width and height of the board
+	 *
+	 * @return boolean Whether the board fits in a single long
+	 */
+
+	public static boolean fits(int size) {
+		return (size > 1) && (size <= MAX_SIZE);
+	}
+
+	/**
+	 * Packs a square board into a long.
+	 *
+	 * @param board The board to be packed
+	 *
+	 * @return long The packed board
+	 *
+	 * @throws IllegalArgumentException Thrown when the board is larger than 4x4
+	 */
+
+	public static long pack(int[][] board) {
+		assert board != null;
+
+		int size = board.length;
+
+		if(!fits(size)) {
+			throw new IllegalArgumentException("Only boards up to " + MAX_SIZE
+					+ "x" + MAX_SIZE + " can be packed");
+		}
+
+		long state = 0L;
+
+		for(int i = 0; i < size; i++) {
+			for(int j = 0; j < size; j++) {
+				state |= ((long) board[i][j]) << (BITS_PER_TILE * (i * size + j));
+			}
+		}
+
+		return state;
+	}
+
+	/**
+	 * Packs a row-major array of tiles into a long.
+	 *
+	 * @param tiles The board to be packed, with at most 16 tiles
+	 *
+	 * @return long The packed board
+	 */
+
+	public static long pack(int[] tiles) {
+		assert (tiles != null) && (tiles.length <= MAX_SIZE * MAX_SIZE);
+
+		long state = 0L;
+
+		for(int i = 0; i < tiles.length; i++) {
+			state |= ((long) tiles[i]) << (BITS_PER_TILE * i);
+		}
+
+		return state;
+	}
+
+	/**
+	 * Unpacks a long into a row-major array of tiles.
+	 *
+	 * @param state The packed board
+	 * @param tiles The array to fill, with one entry per tile
+	 *
+	 * @return int[] The filled array
+	 */
+
+	public static int[] unpack(long state, int[] tiles) {
+		assert (tiles != null) && (tiles.length <= MAX_SIZE * MAX_SIZE);
+
+		for(int i = 0; i < tiles.length; i++) {
+			tiles[i] = tileAt(state, i);
+		}
+
+		return tiles;
+	}
+
+	/**
+	 * Unpacks a long into a new square board.
+	 *
+	 * @param state The packed board
+	 * @param size The width and height of the board
+	 *
+	 * @return int[][] The unpacked board
+	 */
+
+	public static int[][] unpack(long state, int size) {
+		assert fits(size);
+
+		int[][] board = new int[size][size];
+
+		for(int i = 0; i < size; i++) {
+			for(int j = 0; j < size; j++) {
+				board[i][j] = tileAt(state, i * size + j);
+			}
+		}
+
+		return board;
+	}
+
+	/**
+	 * Returns the tile stored at the given index.
+	 *
+	 * @param state The packed board
+	 * @param index The row-major index of the tile
+	 *
+	 * @return int The tile at that index
+	 */
+
+	public static int tileAt(long state, int index) {
+		return (int) ((state >>> (BITS_PER_TILE * index)) & TILE_MASK);
+	}
+
+	/**
+	 * Returns the index of the given tile.
+	 *
+	 * @param state The packed board
+	 * @param size The width and height of the board
+	 * @param tile The tile to search for
+	 *
+	 * @return int The row-major index of the tile, or -1 if it is not on the board
+	 */
+
+	public static int indexOf(long state, int size, int tile) {
+		int tileCount = size * size;
+
+		for(int i = 0; i < tileCount; i++) {
+			if(tileAt(state, i) == tile) {
+				return i;
+			}
+		}
+
+		return -1;
+	}
+
+	/**
+	 * Slides the tile at target into the empty tile at blank. Since the
+	 * empty tile is stored as zero, this only has to move one nibble.
+	 *
+	 * @param state The packed board
+	 * @param blank The index of the empty tile
+	 * @param target The index of the tile that slides into the empty tile
+	 *
+	 * @return long The packed board after the move
+	 */
+
+	public static long slide(long state, int blank, int target) {
+		assert tileAt(state, blank) == 0;
+
+		long tile = (state >>> (BITS_PER_TILE * target)) & TILE_MASK;
+
+		return state ^ (tile << (BITS_PER_TILE * target)) ^ (tile << (BITS_PER_TILE * blank));
+	}
+}
@@ -0,0 +1,287 @@
+package model;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * ParallelIDAStarSearch runs iterative-deepening A* on a ForkJoinPool.
+ * Each iteration forks one task per move for the first SPLIT_DEPTH
+ * moves, which leaves many independent subtrees for idle workers to
+ * steal, and each subtree is then searched by a DepthFirstSearch on
+ * the task's own copy of the board, just as IDAStarSearch searches
+ * from the root.
+ *
+ * The first task to reach the goal publishes its moves through an
+ * atomic reference that every task checks at each node, so the rest of
+ * the iteration stops early. Any solution found within a bound is
+ * optimal, because the previous bound had no solution.
+ *
+ * Every SearchBudget.CHECK_INTERVAL expansions a task checks the
+ * budget against the nodes generated by every task so far. A task that
+ * finds it exceeded publishes the limit the same way a solution is
+ * published, and every task stops. A solution published in the same
+ * iteration is still returned, since it is optimal all the same. Tasks
+ * run on the pool's threads, so they also check whether the thread that
+ * started the search has been interrupted.
+ *
+ * @author Edward B.
+ */
+
+class ParallelIDAStarSearch {
+
+	private static final int FOUND = DepthFirstSearch.FOUND;
+	private static final int STOPPED = DepthFirstSearch.STOPPED;
+	private static final int NOT_FOUND = DepthFirstSearch.NOT_FOUND;
+	private static final int SPLIT_DEPTH = 10;
+
+	private GoalTable goal;
+	private Heuristic heuristic;
+	private int size;
+	private ForkJoinPool pool;
+	private AtomicReference<int[]> solution = new AtomicReference<int[]>();
+	private LongAdder nodes = new LongAdder();
+	private LongAdder expanded = new LongAdder();
+	private AtomicReference<SearchBudget.Limit> exceeded = new AtomicReference<SearchBudget.Limit>();
+	private SearchBudget budget;
+	private long deadline;
+	private long generatedBefore;
+	private Thread caller;
+
+	/**
+	 * ParallelIDAStarSearch constructor.
+	 *
+	 * @param root The node to start searching from
+	 * @param pool The pool the subtrees are searched on
+	 */
+
+	ParallelIDAStarSearch(EightPuzzleNode root, ForkJoinPool pool) {
+		assert (root != null) && (pool != null);
+
+		this.goal = root.getGoal();
+		this.heuristic = root.getHeuristic();
+		this.size = root.getSize();
+		this.pool = pool;
+	}
+
+	/**
+	 * Runs iterations with increasing f-cost bounds until a solution
+	 * is found, starting from the root's estimate, or until the budget
+	 * runs out.
+	 *
+	 * @param root The node to start searching from
+	 * @param listener Notified after every completed iteration, may be null
+	 * @param stats Receives the search's counters, added up over every task, and the limit exceeded, if any
+	 * @param budget The limits the search must stay within
+	 *
+	 * @return EightPuzzleNode The leaf of the path of nodes that are a solution to the puzzle, or null if there is none or the budget ran out
+	 */
+
+	EightPuzzleNode search(EightPuzzleNode root, IterationListener listener, SearchStats stats, SearchBudget budget) {
+		long startNanos = System.nanoTime();
+		int[] tiles = PackedState.unpack(root.getPackedState(), new int[size * size]);
+		int h = root.getEstimate();
+		int bound = h;
+
+		this.budget = budget;
+		deadline = budget.deadline(startNanos);
+		generatedBefore = 0;
+		caller = Thread.currentThread();
+
+		// every iteration of an unsolvable board finds a larger bound, so it would never stop
+		if(!goal.isSolvable(tiles)) {
+			stats.reset("Parallel IDA*");
+			stats.finish(startNanos, null, null);
+
+			return null;
+		}
+
+		while(true) {
+			nodes.reset();
+
+			int result = pool.invoke(new SubtreeTask(tiles, root.getBlankIndex(), new int[0], h, bound, Move.NONE));
+			int[] moves = solution.get();
+			boolean stopped = (exceeded.get() != null);
+
+			generatedBefore += nodes.sum();
+
+			// any solution within the bound is optimal, even if another task ran out of budget at the same time
+			if((listener != null) && (!stopped || (moves != null))) {
+				listener.iterationComplete(bound, nodes.sum());
+			}
+
+			// a task also stops when another has found a solution, so STOPPED alone does not mean the budget ran out
+			if((result == FOUND) || (result == STOPPED) || (result == NOT_FOUND) || stopped) {
+				Solution found = (moves == null) ? null : new Solution(size, root.getPackedState(), moves, moves.length);
+
+				stats.reset("Parallel IDA*");
+				stats.expanded = expanded.sum();
+				stats.generated = generatedBefore;
+				stats.heuristicEvaluations = generatedBefore + 1;
+				stats.finish(startNanos, found, (found == null) ? exceeded.get() : null);
+
+				return (found == null) ? null : found.toPath(root);
+			}
+
+			bound = result;
+		}
+	}
+
+	/**
+	 * SubtreeTask searches everything below one board within one
+	 * iteration's bound. Near the root it forks a task per move, and
+	 * below SPLIT_DEPTH it searches depth-first itself.
+	 */
+
+	private final class SubtreeTask extends RecursiveTask<Integer> {
+
+		private static final long serialVersionUID = 1L;
+
+		private final int[] tiles;
+		private final int h;
+		private final int bound;
+		private final int previous;
+		private final int blank;
+		private final int[] path;
+		private final int start;
+
+		/**
+		 * SubtreeTask constructor. The task keeps tiles and path as its
+		 * own, so callers must pass copies.
+		 *
+		 * @param tiles The board at the top of the subtree
+		 * @param blank The index of the empty tile
+		 * @param path The moves from the root to the board
+		 * @param h The heuristic estimate of the board
+		 * @param bound The f-cost bound of this iteration
+		 * @param previous The move that led to the board, never undone
+		 */
+
+		private SubtreeTask(int[] tiles, int blank, int[] path, int h, int bound, int previous) {
+			this.tiles = tiles;
+			this.blank = blank;
+			this.path = path;
+			this.start = path.length;
+			this.h = h;
+			this.bound = bound;
+			this.previous = previous;
+		}
+
+		@Override
+		protected Integer compute() {
+			if(start >= SPLIT_DEPTH) {
+				SubtreeSearch subtree = new SubtreeSearch(tiles, blank, Arrays.copyOf(path, Math.max(64, start * 2)));
+				int result = subtree.search(start, h, bound, previous);
+
+				if(result == FOUND) {
+					solution.compareAndSet(null, Arrays.copyOf(subtree.getPath(), subtree.getPathLength()));
+				}
+
+				nodes.add(subtree.getGenerated());
+				expanded.add(subtree.getExpanded());
+
+				return result;
+			}
+
+			int f = start + h;
+
+			if(f > bound) {
+				return f;
+			}
+			if((solution.get() != null) || (exceeded.get() != null)) {
+				return STOPPED;
+			}
+			if((h == 0) && goal.isGoal(tiles)) {
+				solution.compareAndSet(null, path);
+				return FOUND;
+			}
+
+			ArrayList<SubtreeTask> children = new ArrayList<SubtreeTask>(4);
+
+			expanded.increment();
+
+			for(int move = Move.UP; move <= Move.LEFT; move++) {
+				if((previous != Move.NONE) && (move == Move.opposite(previous))) {
+					continue;
+				}
+
+				int target = Move.target(blank, size, move);
+
+				if(target < 0) {
+					continue;
+				}
+
+				int tile = tiles[target];
+				int[] childTiles = tiles.clone();
+				int[] childPath = Arrays.copyOf(path, start + 1);
+
+				childTiles[blank] = tile;
+				childTiles[target] = 0;
+				childPath[start] = move;
+				nodes.increment();
+
+				children.add(new SubtreeTask(childTiles, target, childPath,
+						heuristic.update(childTiles, h, tile, target, blank), bound, move));
+			}
+
+			int min = NOT_FOUND;
+
+			for(SubtreeTask child : invokeAll(children)) {
+				int result = child.join();
+
+				if((result == FOUND) || (result == STOPPED)) {
+					return result;
+				}
+				if(result < min) {
+					min = result;
+				}
+			}
+
+			return min;
+		}
+	}
+
+	/**
+	 * SubtreeSearch searches below one board at the split depth. It
+	 * stops as soon as any task has found a solution or run out of
+	 * budget, and checks the budget against the nodes generated by
+	 * every task so far.
+	 */
+
+	private final class SubtreeSearch extends DepthFirstSearch {
+
+		/**
+		 * SubtreeSearch constructor.
+		 *
+		 * @param tiles The board at the top of the subtree, kept as the search's own
+		 * @param blank The index of the empty tile
+		 * @param path The moves from the root to the board, followed by room for more
+		 */
+
+		private SubtreeSearch(int[] tiles, int blank, int[] path) {
+			super(goal, heuristic, tiles, blank, path);
+		}
+
+		@Override
+		boolean isStopped() {
+			return (solution.get() != null) || (exceeded.get() != null);
+		}
+
+		@Override
+		boolean isOverBudget() {
+			SearchBudget.Limit limit = budget.exceeded(generatedBefore + nodes.sum() + getGenerated(), 0, deadline);
+
+			if((limit == null) && caller.isInterrupted()) {
+				limit = SearchBudget.Limit.CANCELLED;
+			}
+			if(limit != null) {
+				exceeded.compareAndSet(null, limit);
+				return true;
+			}
+
+			return false;
+		}
+	}
+}
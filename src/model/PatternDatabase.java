@@ -0,0 +1,543 @@
+package model;
+import java.io.PrintStream;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * PatternDatabase stores, for every placement of a fixed group of
+ * tiles (the pattern), the fewest moves of those tiles needed to bring
+ * them all to their goal positions. Every other tile is ignored and
+ * only moves of pattern tiles are counted, so the values of patterns
+ * with no tiles in common can be added together and still never
+ * overestimate (see PatternDatabaseHeuristic).
+ *
+ * While building, the empty tile is tracked as the set of free cells
+ * it can reach without moving a pattern tile, represented by the lowest
+ * cell of that set. A pattern tile may then only move into a cell in
+ * the empty tile's set. Once built, each placement keeps the smallest
+ * value over all positions of the empty tile. When tracking the empty
+ * tile would make the build table too large to index, it is treated as
+ * being in every free cell instead, which gives a weaker but still
+ * admissible table.
+ *
+ * The table is filled by a breadth-first search backwards from the
+ * goal, one layer of equal distance at a time. Placements are ranked
+ * by a perfect hash of the tiles' positions, so the tables are flat
+ * byte arrays with one entry per placement. Each layer is split into
+ * ranges of ranks that are expanded in parallel on a ForkJoinPool, with
+ * new entries claimed by compare-and-set so that every entry is counted
+ * by exactly one worker.
+ *
+ * Placements are passed around packed into a long, 6 bits per tile
+ * in the order the tiles were given, followed by the empty tile's
+ * cell while building.
+ *
+ * @author Edward B.
+ */
+
+public class PatternDatabase {
+
+	public static final int MAX_TILES = 9;
+	public static final int MAX_CELLS = 64;
+
+	private static final int POSITION_BITS = 6;
+	private static final long POSITION_MASK = 0x3FL;
+	private static final byte UNVISITED = (byte) 0xFF;
+	private static final long MAX_ENTRIES = Integer.MAX_VALUE - 8;
+	private static final int SPLIT_THRESHOLD = 1 << 16;
+	private static final VarHandle ENTRY = MethodHandles.arrayElementVarHandle(byte[].class);
+
+	private int cellCount;
+	private int[] tiles;
+	private int[] weights;
+	private int[] buildWeights;
+	private long[] neighborMasks;
+	private boolean trackBlank;
+	private long goalPositions;
+	private int goalBlank;
+	private byte[] table;
+
+	/**
+	 * PatternDatabase constructor that builds the table for the given
+	 * pattern tiles by breadth-first search from their goal positions,
+	 * using the common ForkJoinPool.
+	 *
+	 * @param goal The goal the distances are measured to
+	 * @param patternTiles The tiles in the pattern, none of them the empty tile
+	 *
+	 * @throws IllegalArgumentException Thrown when the table would be too large to index
+	 */
+
+	public PatternDatabase(GoalTable goal, int[] patternTiles) {
+		this(goal, patternTiles, ForkJoinPool.commonPool(), null);
+	}
+
+	/**
+	 * PatternDatabase constructor that builds the table on the given
+	 * pool, printing the size of each layer as it is completed.
+	 *
+	 * @param goal The goal the distances are measured to
+	 * @param patternTiles The tiles in the pattern, none of them the empty tile
+	 * @param pool The pool layers are expanded on
+	 * @param progress Where to print progress, or null for none
+	 *
+	 * @throws IllegalArgumentException Thrown when the table would be too large to index
+	 */
+
+	public PatternDatabase(GoalTable goal, int[] patternTiles, ForkJoinPool pool, PrintStream progress) {
+		assert (goal != null) && (pool != null);
+
+		int size = goal.getSize();
+		int k = patternTiles.length;
+
+		cellCount = size * size;
+
+		if((k == 0) || (k > MAX_TILES) || (cellCount > MAX_CELLS)) {
+			throw new IllegalArgumentException("Patterns must have between 1 and " + MAX_TILES
+					+ " tiles on a board of at most " + MAX_CELLS + " cells");
+		}
+		if(placements(k) > MAX_ENTRIES) {
+			throw new IllegalArgumentException("A pattern of " + k + " tiles on a board of "
+					+ cellCount + " cells has too many placements");
+		}
+
+		tiles = patternTiles.clone();
+		weights = weights(k);
+		trackBlank = placements(k + 1) <= MAX_ENTRIES;
+		buildWeights = trackBlank ? weights(k + 1) : weights;
+
+		for(int i = 0; i < k; i++) {
+			assert (tiles[i] > 0) && (tiles[i] < cellCount);
+
+			goalPositions = withPosition(goalPositions, i, goal.goalIndexOf(tiles[i]));
+		}
+
+		neighborMasks = new long[cellCount];
+
+		for(int cell = 0; cell < cellCount; cell++) {
+			for(int move = Move.UP; move <= Move.LEFT; move++) {
+				int target = Move.target(cell, size, move);
+
+				if(target >= 0) {
+					neighborMasks[cell] |= 1L << target;
+				}
+			}
+		}
+
+		goalBlank = goal.goalIndexOf(0);
+		build(pool, progress);
+	}
+
+	/**
+	 * Fills the table by breadth-first search from the goal placement.
+	 * Each pass scans the whole build table for entries at the current
+	 * depth and marks their unvisited neighbours one move further, so no
+	 * queue is needed. When the empty tile is tracked, the build table
+	 * is then reduced to one entry per placement of the pattern tiles.
+	 *
+	 * @param pool The pool layers are expanded on
+	 * @param progress Where to print progress, or null for none
+	 *
+	 * @return Nothing
+	 */
+
+	private void build(ForkJoinPool pool, PrintStream progress) {
+		long startTime = System.nanoTime();
+		byte[] buildTable = new byte[(int) placements(trackBlank ? tiles.length + 1 : tiles.length)];
+		long start = goalPositions;
+
+		if(trackBlank) {
+			long free = allCells() & ~occupied(goalPositions);
+			start = withPosition(start, tiles.length, lowestReachable(goalBlank, free));
+		}
+
+		Arrays.fill(buildTable, UNVISITED);
+		buildTable[rank(start, buildWeights)] = 0;
+
+		int depth = 0;
+		long layerSize = 1;
+		long total = 1;
+
+		if(progress != null) {
+			progress.println("Building pattern " + Arrays.toString(tiles) + ": "
+					+ buildTable.length + " entries on " + pool.getParallelism() + " threads");
+		}
+
+		while(layerSize > 0) {
+			layerSize = pool.invoke(new LayerTask(buildTable, 0, buildTable.length, depth));
+			total += layerSize;
+			depth++;
+
+			if(progress != null) {
+				progress.printf("  layer %d: %d entries, %d total, %d ms%n", depth, layerSize,
+						total, (System.nanoTime() - startTime) / 1000000);
+			}
+		}
+
+		if(trackBlank) {
+			table = new byte[(int) placements(tiles.length)];
+			int blankCells = cellCount - tiles.length;
+
+			// ranks of the same placement with a different empty tile are consecutive
+			for(int r = 0; r < table.length; r++) {
+				int best = 0xFF;
+
+				for(int b = r * blankCells; b < (r + 1) * blankCells; b++) {
+					best = Math.min(best, buildTable[b] & 0xFF);
+				}
+
+				table[r] = (byte) best;
+			}
+		}
+		else {
+			table = buildTable;
+		}
+	}
+
+	/**
+	 * Expands every build table entry at the given depth within a range
+	 * of ranks. Other ranges may be expanded at the same time, so new
+	 * entries are only written by a successful compare-and-set from
+	 * UNVISITED. Entries at the current depth were all written by earlier
+	 * layers, so they can be read without synchronization.
+	 *
+	 * @param buildTable The table being built
+	 * @param from The first rank to scan
+	 * @param to One past the last rank to scan
+	 * @param depth The depth of the layer being expanded
+	 *
+	 * @return long The number of entries newly found at depth + 1
+	 */
+
+	private long expandLayer(byte[] buildTable, int from, int to, int depth) {
+		byte current = (byte) depth;
+		byte next = (byte) (depth + 1);
+		long found = 0;
+
+		for(int r = from; r < to; r++) {
+			if(buildTable[r] != current) {
+				continue;
+			}
+
+			long positions = unrank(r, buildWeights);
+			long free = allCells() & ~occupied(positions);
+			long reachable = free;
+
+			if(trackBlank) {
+				reachable = reachable(cellAt(positions, tiles.length), free);
+			}
+
+			for(int i = 0; i < tiles.length; i++) {
+				int cell = cellAt(positions, i);
+				long targets = neighborMasks[cell] & reachable;
+
+				while(targets != 0) {
+					int target = Long.numberOfTrailingZeros(targets);
+					long moved = withPosition(positions, i, target);
+
+					targets &= targets - 1;
+
+					if(trackBlank) {
+						long movedFree = (free | (1L << cell)) & ~(1L << target);
+						moved = withPosition(moved, tiles.length, lowestReachable(cell, movedFree));
+					}
+
+					int index = rank(moved, buildWeights);
+
+					if((buildTable[index] == UNVISITED)
+							&& ENTRY.compareAndSet(buildTable, index, UNVISITED, next)) {
+						found++;
+					}
+				}
+			}
+		}
+
+		return found;
+	}
+
+	/**
+	 * LayerTask expands one layer of the build over a range of ranks,
+	 * splitting the range in half until it is small enough to scan.
+	 */
+
+	private class LayerTask extends RecursiveTask<Long> {
+
+		private static final long serialVersionUID = 1L;
+
+		private byte[] buildTable;
+		private int from;
+		private int to;
+		private int depth;
+
+		LayerTask(byte[] buildTable, int from, int to, int depth) {
+			this.buildTable = buildTable;
+			this.from = from;
+			this.to = to;
+			this.depth = depth;
+		}
+
+		@Override
+		protected Long compute() {
+			if(to - from <= SPLIT_THRESHOLD) {
+				return expandLayer(buildTable, from, to, depth);
+			}
+
+			int middle = (from + to) >>> 1;
+			LayerTask upper = new LayerTask(buildTable, middle, to, depth);
+
+			upper.fork();
+
+			long found = new LayerTask(buildTable, from, middle, depth).compute();
+
+			return found + upper.join();
+		}
+	}
+
+	/**
+	 * Returns the fewest moves of the pattern tiles needed to bring them
+	 * from the given placement to their goal positions.
+	 *
+	 * @param positions The position of each pattern tile, packed 6 bits each
+	 *
+	 * @return int The number of moves
+	 */
+
+	public int lookup(long positions) {
+		return table[rank(positions, weights)] & 0xFF;
+	}
+
+	/**
+	 * Returns the number of tiles in the pattern.
+	 *
+	 * @return int The pattern size
+	 */
+
+	public int getTileCount() {
+		return tiles.length;
+	}
+
+	/**
+	 * Returns a tile of the pattern.
+	 *
+	 * @param slot The tile's place in the pattern
+	 *
+	 * @return int The tile
+	 */
+
+	public int getTile(int slot) {
+		return tiles[slot];
+	}
+
+	/**
+	 * Returns the number of entries in the table.
+	 *
+	 * @return int The number of placements of the pattern tiles
+	 */
+
+	public int getEntryCount() {
+		return table.length;
+	}
+
+	/**
+	 * Packs a position into the given slot of a placement.
+	 *
+	 * @param positions The placement so far
+	 * @param slot The tile's place in the pattern
+	 * @param cell The tile's row-major index
+	 *
+	 * @return long The updated placement
+	 */
+
+	static long withPosition(long positions, int slot, int cell) {
+		int shift = POSITION_BITS * slot;
+
+		return (positions & ~(POSITION_MASK << shift)) | (((long) cell) << shift);
+	}
+
+	/**
+	 * Returns the number of placements of count distinct items on
+	 * the board's cells.
+	 *
+	 * @param count The number of items
+	 *
+	 * @return long The number of placements
+	 */
+
+	private long placements(int count) {
+		long entries = 1;
+
+		for(int i = 0; (i < count) && (entries <= MAX_ENTRIES); i++) {
+			entries *= (cellCount - i);
+		}
+
+		return entries;
+	}
+
+	/**
+	 * Returns the mixed-radix digit weights used to rank placements of
+	 * count items.
+	 *
+	 * @param count The number of items
+	 *
+	 * @return int[] The weight of each item's digit
+	 */
+
+	private int[] weights(int count) {
+		int[] w = new int[count];
+		int weight = 1;
+
+		for(int i = count - 1; i >= 0; i--) {
+			w[i] = weight;
+			weight *= (cellCount - i);
+		}
+
+		return w;
+	}
+
+	/**
+	 * Ranks a placement, mapping each distinct placement to a distinct
+	 * index in [0, placements). Each item's position is turned into a
+	 * digit counting only the cells not already taken by earlier items,
+	 * and the digits are read as a mixed-radix number.
+	 *
+	 * @param positions The placement to rank
+	 * @param w The digit weights, one per item
+	 *
+	 * @return int The placement's index in the table
+	 */
+
+	private int rank(long positions, int[] w) {
+		long used = 0L;
+		int rank = 0;
+
+		for(int i = 0; i < w.length; i++) {
+			int cell = cellAt(positions, i);
+			int digit = cell - Long.bitCount(used & ((1L << cell) - 1));
+
+			rank += digit * w[i];
+			used |= 1L << cell;
+		}
+
+		return rank;
+	}
+
+	/**
+	 * Reverses rank(), turning a table index back into a placement.
+	 *
+	 * @param rank The index to unrank
+	 * @param w The digit weights, one per item
+	 *
+	 * @return long The placement with that rank
+	 */
+
+	private long unrank(int rank, int[] w) {
+		long used = 0L;
+		long positions = 0L;
+
+		for(int i = 0; i < w.length; i++) {
+			int digit = (rank / w[i]) % (cellCount - i);
+			int cell = -1;
+
+			// find the digit-th cell not already taken
+			while(digit >= 0) {
+				cell++;
+
+				if((used & (1L << cell)) == 0) {
+					digit--;
+				}
+			}
+
+			used |= 1L << cell;
+			positions = withPosition(positions, i, cell);
+		}
+
+		return positions;
+	}
+
+	/**
+	 * Returns the cell stored in a slot of a placement.
+	 *
+	 * @param positions The placement
+	 * @param slot The item's place in the placement
+	 *
+	 * @return int The item's row-major index
+	 */
+
+	private static int cellAt(long positions, int slot) {
+		return (int) ((positions >>> (POSITION_BITS * slot)) & POSITION_MASK);
+	}
+
+	/**
+	 * Returns a bit mask of the cells taken by the pattern tiles.
+	 *
+	 * @param positions The placement
+	 *
+	 * @return long One bit set per pattern tile's cell
+	 */
+
+	private long occupied(long positions) {
+		long occupied = 0L;
+
+		for(int i = 0; i < tiles.length; i++) {
+			occupied |= 1L << cellAt(positions, i);
+		}
+
+		return occupied;
+	}
+
+	/**
+	 * Returns a bit mask with one bit set per cell of the board.
+	 *
+	 * @return long Every cell
+	 */
+
+	private long allCells() {
+		return (cellCount == 64) ? -1L : (1L << cellCount) - 1;
+	}
+
+	/**
+	 * Returns the free cells the empty tile can reach from a cell
+	 * without moving any pattern tile.
+	 *
+	 * @param blank The empty tile's cell
+	 * @param free The cells not taken by pattern tiles
+	 *
+	 * @return long The reachable cells, including blank
+	 */
+
+	private long reachable(int blank, long free) {
+		long region = 1L << blank;
+		long frontier = region;
+
+		while(frontier != 0) {
+			long next = 0L;
+
+			while(frontier != 0) {
+				next |= neighborMasks[Long.numberOfTrailingZeros(frontier)];
+				frontier &= frontier - 1;
+			}
+
+			frontier = next & free & ~region;
+			region |= frontier;
+		}
+
+		return region;
+	}
+
+	/**
+	 * Returns the lowest cell the empty tile can reach from a cell, used
+	 * to represent every position of the empty tile in that region.
+	 *
+	 * @param blank The empty tile's cell
+	 * @param free The cells not taken by pattern tiles
+	 *
+	 * @return int The lowest reachable cell
+	 */
+
+	private int lowestReachable(int blank, long free) {
+		return Long.numberOfTrailingZeros(reachable(blank, free));
+	}
+}
@@ -0,0 +1,263 @@
+package model;
+import java.io.PrintStream;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * PatternDatabaseHeuristic is an additive disjoint pattern database
+ * heuristic. The tiles are split into groups that share no tiles, each
+ * group gets its own PatternDatabase, and the estimate is the sum of
+ * every group's lookup. A move only changes one group's placement, so
+ * updates look up that group before and after the move.
+ *
+ * Groups are given as goal cells rather than tiles, so the same
+ * partitioning works for any goal. With the empty tile's goal in the
+ * bottom-right corner, the default partitions are 4-4 for 3x3 boards,
+ * 6-6-3 for 4x4 boards, and 6-6-6-6 for 5x5 boards.
+ *
+ * When the goal's empty tile lies on the main diagonal, withReflection()
+ * returns a heuristic sharing the same databases that also looks up the
+ * board's reflection (see Symmetry) and takes the larger estimate. The
+ * reflected board splits into different groups of tiles, so the two
+ * estimates often differ. Updates then recompute both sums, since the
+ * larger one alone does not say how the other changes.
+ *
+ * @author Edward B.
+ */
+
+public class PatternDatabaseHeuristic implements Heuristic {
+
+	private static final int[][] PARTITION_3X3 = {
+			{0, 1, 3, 4}, {2, 5, 6, 7, 8}
+	};
+
+	private static final int[][] PARTITION_4X4 = {
+			{0, 1, 4, 5, 8, 9}, {2, 3, 6, 7, 10, 11}, {12, 13, 14, 15}
+	};
+
+	private static final int[][] PARTITION_5X5 = {
+			{0, 1, 2, 5, 6, 7}, {3, 4, 8, 9, 13, 14},
+			{10, 11, 15, 16, 20, 21}, {12, 17, 18, 19, 22, 23, 24}
+	};
+
+	private GoalTable goal;
+	private PatternDatabase[] databases;
+	private int[] patternOf;
+	private int[] slotOf;
+	private Symmetry symmetry;
+
+	/**
+	 * PatternDatabaseHeuristic constructor that builds the default
+	 * partition for the goal's board size.
+	 *
+	 * @param goal The goal the databases are built for
+	 *
+	 * @throws IllegalArgumentException Thrown when there is no default partition for the board size
+	 */
+
+	public PatternDatabaseHeuristic(GoalTable goal) {
+		this(goal, defaultPartition(goal.getSize()));
+	}
+
+	/**
+	 * PatternDatabaseHeuristic constructor that builds one database
+	 * per group of goal cells. The goal cell of the empty tile is
+	 * skipped wherever it appears, and every other cell must appear
+	 * in exactly one group.
+	 *
+	 * @param goal The goal the databases are built for
+	 * @param cellGroups The goal cells whose tiles make up each pattern
+	 *
+	 * @throws IllegalArgumentException Thrown when the groups do not split the tiles
+	 */
+
+	public PatternDatabaseHeuristic(GoalTable goal, int[][] cellGroups) {
+		this(goal, cellGroups, ForkJoinPool.commonPool(), null);
+	}
+
+	/**
+	 * PatternDatabaseHeuristic constructor that builds every database
+	 * on the given pool, printing progress as each one is built.
+	 *
+	 * @param goal The goal the databases are built for
+	 * @param cellGroups The goal cells whose tiles make up each pattern
+	 * @param pool The pool the databases are built on
+	 * @param progress Where to print progress, or null for none
+	 *
+	 * @throws IllegalArgumentException Thrown when the groups do not split the tiles
+	 */
+
+	public PatternDatabaseHeuristic(GoalTable goal, int[][] cellGroups, ForkJoinPool pool, PrintStream progress) {
+		assert (goal != null) && (cellGroups != null);
+
+		int tileCount = goal.getSize() * goal.getSize();
+
+		this.goal = goal;
+		patternOf = new int[tileCount];
+		slotOf = new int[tileCount];
+		databases = new PatternDatabase[cellGroups.length];
+		Arrays.fill(patternOf, -1);
+
+		for(int j = 0; j < cellGroups.length; j++) {
+			int[] patternTiles = new int[cellGroups[j].length];
+			int count = 0;
+
+			for(int cell : cellGroups[j]) {
+				int tile = goal.goalTileAt(cell);
+
+				if(tile == 0) {
+					continue;
+				}
+				if(patternOf[tile] >= 0) {
+					throw new IllegalArgumentException("Cell " + cell + " is in more than one group");
+				}
+
+				patternOf[tile] = j;
+				slotOf[tile] = count;
+				patternTiles[count++] = tile;
+			}
+
+			databases[j] = new PatternDatabase(goal, Arrays.copyOf(patternTiles, count), pool, progress);
+		}
+
+		for(int tile = 1; tile < tileCount; tile++) {
+			if(patternOf[tile] < 0) {
+				throw new IllegalArgumentException("Tile " + tile + " is not in any group");
+			}
+		}
+	}
+
+	/**
+	 * PatternDatabaseHeuristic constructor that shares another
+	 * heuristic's databases.
+	 *
+	 * @param other The heuristic whose databases are shared
+	 * @param symmetry The reflection to also look up, or null for none
+	 */
+
+	private PatternDatabaseHeuristic(PatternDatabaseHeuristic other, Symmetry symmetry) {
+		this.goal = other.goal;
+		this.databases = other.databases;
+		this.patternOf = other.patternOf;
+		this.slotOf = other.slotOf;
+		this.symmetry = symmetry;
+	}
+
+	/**
+	 * Returns a heuristic with the same databases that takes the larger
+	 * of the estimates for a board and for its reflection.
+	 *
+	 * @return PatternDatabaseHeuristic The reflecting heuristic
+	 *
+	 * @throws IllegalArgumentException Thrown when the goal's empty tile is not on the main diagonal
+	 */
+
+	public PatternDatabaseHeuristic withReflection() {
+		return new PatternDatabaseHeuristic(this, new Symmetry(goal));
+	}
+
+	/**
+	 * Returns the default goal cell groups for a board size.
+	 *
+	 * @param size The width and height of the board
+	 *
+	 * @return int[][] The default partition
+	 *
+	 * @throws IllegalArgumentException Thrown when there is no default partition for the board size
+	 */
+
+	public static int[][] defaultPartition(int size) {
+		switch(size) {
+			case 3:
+				return PARTITION_3X3;
+			case 4:
+				return PARTITION_4X4;
+			case 5:
+				return PARTITION_5X5;
+			default:
+				throw new IllegalArgumentException("No default pattern partition for "
+						+ size + "x" + size + " boards");
+		}
+	}
+
+	@Override
+	public int estimate(int[] tiles) {
+		int sum = 0;
+
+		for(int j = 0; j < databases.length; j++) {
+			sum += databases[j].lookup(positions(tiles, j));
+		}
+
+		if(symmetry != null) {
+			int reflectedSum = 0;
+
+			for(int j = 0; j < databases.length; j++) {
+				reflectedSum += databases[j].lookup(reflectedPositions(tiles, j));
+			}
+
+			sum = Math.max(sum, reflectedSum);
+		}
+
+		return sum;
+	}
+
+	@Override
+	public int update(int[] tiles, int h, int tile, int from, int to) {
+		if(symmetry != null) {
+			return estimate(tiles);
+		}
+
+		int j = patternOf[tile];
+		long after = positions(tiles, j);
+		long before = PatternDatabase.withPosition(after, slotOf[tile], from);
+
+		return h - databases[j].lookup(before) + databases[j].lookup(after);
+	}
+
+	/**
+	 * Collects the placement of one pattern's tiles on a board.
+	 *
+	 * @param tiles The board
+	 * @param pattern The index of the pattern
+	 *
+	 * @return long The placement, packed as PatternDatabase expects
+	 */
+
+	private long positions(int[] tiles, int pattern) {
+		long positions = 0L;
+
+		for(int i = 0; i < tiles.length; i++) {
+			int tile = tiles[i];
+
+			if((tile != 0) && (patternOf[tile] == pattern)) {
+				positions = PatternDatabase.withPosition(positions, slotOf[tile], i);
+			}
+		}
+
+		return positions;
+	}
+
+	/**
+	 * Collects the placement of one pattern's tiles on a board's
+	 * reflection, without building the reflected board.
+	 *
+	 * @param tiles The board
+	 * @param pattern The index of the pattern
+	 *
+	 * @return long The placement on the reflected board, packed as PatternDatabase expects
+	 */
+
+	private long reflectedPositions(int[] tiles, int pattern) {
+		long positions = 0L;
+
+		for(int i = 0; i < tiles.length; i++) {
+			int tile = symmetry.reflectTile(tiles[i]);
+
+			if((tile != 0) && (patternOf[tile] == pattern)) {
+				positions = PatternDatabase.withPosition(positions, slotOf[tile], symmetry.reflectCell(i));
+			}
+		}
+
+		return positions;
+	}
+}
@@ -0,0 +1,39 @@
+package model;
+import java.util.PriorityQueue;
+
+/**
+ * PriorityQueueFrontier is a Frontier backed by the Java standard
+ * priority queue, ordered with an AStarComparator.
+ * 
+ * @author Edward B.
+ */
+
+public class PriorityQueueFrontier implements Frontier {
+	
+	private PriorityQueue<EightPuzzleNode> pQueue = new PriorityQueue<EightPuzzleNode>(new AStarComparator());
+	
+	@Override
+	public void add(EightPuzzleNode node) {
+		pQueue.add(node);
+	}
+	
+	@Override
+	public EightPuzzleNode poll() {
+		return pQueue.poll();
+	}
+	
+	@Override
+	public boolean isEmpty() {
+		return pQueue.isEmpty();
+	}
+	
+	@Override
+	public int size() {
+		return pQueue.size();
+	}
+	
+	@Override
+	public void clear() {
+		pQueue.clear();
+	}
+}
@@ -0,0 +1,24 @@
+package model;
+import java.io.IOException;
+
+/**
+ * ResultSink receives the results of a batch (see BatchSolver) in the
+ * order the boards are solved. Calls are never made concurrently.
+ *
+ * @author Edward B.
+ */
+
+public interface ResultSink {
+
+	/**
+	 * Called once for every board in the batch.
+	 *
+	 * @param result The outcome of solving the board
+	 *
+	 * @return Nothing
+	 *
+	 * @throws IOException Thrown when the result cannot be written, which stops the batch
+	 */
+
+	void accept(BatchResult result) throws IOException;
+}
@@ -0,0 +1,227 @@
+package model;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SearchBudget limits how much work a search may do: how many nodes it
+ * may generate, how long it may run, roughly how many bytes its nodes
+ * and tables may take, and whether it has been cancelled through a
+ * CancellationToken or by interrupting the searching thread. A search
+ * that runs out of budget stops and returns a SearchResult saying
+ * which limit it hit, along with the counters it had reached.
+ *
+ * Solvers check their budget once every CHECK_INTERVAL expanded nodes,
+ * so a limit may be overrun by that much work before the search stops.
+ * Memory is the solver's own estimate of what it has stored, from the
+ * sizes of its arrays and the number of nodes it holds, rather than a
+ * measurement of the heap, which other threads and uncollected garbage
+ * would skew. IDA* only stores its current path, so it never hits the
+ * memory limit.
+ *
+ * Budgets are immutable, and the with methods return modified copies,
+ * so one budget can be shared by every search in a batch.
+ *
+ * @author Edward B.
+ */
+
+public class SearchBudget {
+
+	/**
+	 * Limit names the part of a budget that a search ran out of.
+	 */
+
+	public enum Limit {
+		NODES, TIME, MEMORY, CANCELLED
+	}
+
+	/**
+	 * A budget with no limits, which only stops when the searching
+	 * thread is interrupted.
+	 */
+
+	public static final SearchBudget UNLIMITED = new SearchBudget(Long.MAX_VALUE, Long.MAX_VALUE, 0, false, Long.MAX_VALUE, null);
+
+	static final int CHECK_INTERVAL = 1 << 10;
+
+	private long maxNodes;
+	private long timeoutNanos;
+	private long deadlineNanos;
+	private boolean hasDeadline;
+	private long maxBytes;
+	private CancellationToken token;
+
+	/**
+	 * SearchBudget constructor.
+	 *
+	 * @param maxNodes The number of nodes that may be generated
+	 * @param timeoutNanos How long each search may run, in nanoseconds
+	 * @param deadlineNanos The System.nanoTime() by which every search must stop, if hasDeadline is set
+	 * @param hasDeadline Whether or not deadlineNanos applies
+	 * @param maxBytes The number of bytes that may be stored
+	 * @param token The token that cancels the search, may be null
+	 */
+
+	private SearchBudget(long maxNodes, long timeoutNanos, long deadlineNanos, boolean hasDeadline,
+			long maxBytes, CancellationToken token) {
+		this.maxNodes = maxNodes;
+		this.timeoutNanos = timeoutNanos;
+		this.deadlineNanos = deadlineNanos;
+		this.hasDeadline = hasDeadline;
+		this.maxBytes = maxBytes;
+		this.token = token;
+	}
+
+	/**
+	 * Returns a copy of this budget that allows at most the given
+	 * number of nodes to be generated.
+	 *
+	 * @param nodes The number of nodes, at least 0
+	 *
+	 * @return SearchBudget The new budget
+	 */
+
+	public SearchBudget withMaxNodes(long nodes) {
+		if(nodes < 0) {
+			throw new IllegalArgumentException("Node limit must not be negative: " + nodes);
+		}
+
+		return new SearchBudget(nodes, timeoutNanos, deadlineNanos, hasDeadline, maxBytes, token);
+	}
+
+	/**
+	 * Returns a copy of this budget that lets each search run for at
+	 * most the given time, counted from when it starts.
+	 *
+	 * @param timeout The time each search may run, at least 0
+	 * @param unit The unit of timeout
+	 *
+	 * @return SearchBudget The new budget
+	 */
+
+	public SearchBudget withTimeout(long timeout, TimeUnit unit) {
+		if(timeout < 0) {
+			throw new IllegalArgumentException("Timeout must not be negative: " + timeout);
+		}
+
+		return new SearchBudget(maxNodes, unit.toNanos(timeout), deadlineNanos, hasDeadline, maxBytes, token);
+	}
+
+	/**
+	 * Returns a copy of this budget that stops every search at the
+	 * given time, however late it started.
+	 *
+	 * @param deadline The time to stop at, as a value of System.nanoTime()
+	 *
+	 * @return SearchBudget The new budget
+	 */
+
+	public SearchBudget withDeadline(long deadline) {
+		return new SearchBudget(maxNodes, timeoutNanos, deadline, true, maxBytes, token);
+	}
+
+	/**
+	 * Returns a copy of this budget that allows the search to store
+	 * about the given number of bytes.
+	 *
+	 * @param bytes The number of bytes, at least 0
+	 *
+	 * @return SearchBudget The new budget
+	 */
+
+	public SearchBudget withMaxBytes(long bytes) {
+		if(bytes < 0) {
+			throw new IllegalArgumentException("Memory limit must not be negative: " + bytes);
+		}
+
+		return new SearchBudget(maxNodes, timeoutNanos, deadlineNanos, hasDeadline, bytes, token);
+	}
+
+	/**
+	 * Returns a copy of this budget that stops the search when the
+	 * given token is cancelled.
+	 *
+	 * @param cancellation The token, or null for none
+	 *
+	 * @return SearchBudget The new budget
+	 */
+
+	public SearchBudget withCancellation(CancellationToken cancellation) {
+		return new SearchBudget(maxNodes, timeoutNanos, deadlineNanos, hasDeadline, maxBytes, cancellation);
+	}
+
+	/**
+	 * Returns the number of nodes a search may generate.
+	 *
+	 * @return long The node limit, Long.MAX_VALUE if there is none
+	 */
+
+	public long getMaxNodes() {
+		return maxNodes;
+	}
+
+	/**
+	 * Returns the number of bytes a search may store.
+	 *
+	 * @return long The memory limit, Long.MAX_VALUE if there is none
+	 */
+
+	public long getMaxBytes() {
+		return maxBytes;
+	}
+
+	/**
+	 * Returns the token that cancels the search.
+	 *
+	 * @return CancellationToken The token, or null if there is none
+	 */
+
+	public CancellationToken getCancellation() {
+		return token;
+	}
+
+	/**
+	 * Returns the time by which a search started at the given time
+	 * must stop: the earlier of its timeout and the deadline.
+	 *
+	 * @param startNanos The value of System.nanoTime() when the search started
+	 *
+	 * @return long The stopping time as a value of System.nanoTime()
+	 */
+
+	long deadline(long startNanos) {
+		// TimeUnit.toNanos() saturates, so Long.MAX_VALUE covers every timeout too long to count
+		long end = (timeoutNanos == Long.MAX_VALUE) ? Long.MAX_VALUE : startNanos + timeoutNanos;
+
+		if(hasDeadline && ((end == Long.MAX_VALUE) || (deadlineNanos - end < 0))) {
+			end = deadlineNanos;
+		}
+
+		return end;
+	}
+
+	/**
+	 * Checks the budget.
+	 *
+	 * @param nodes The number of nodes generated so far
+	 * @param bytes The number of bytes stored so far
+	 * @param deadline The value returned by deadline() when the search started
+	 *
+	 * @return Limit The limit that has been exceeded, or null if the search may go on
+	 */
+
+	Limit exceeded(long nodes, long bytes, long deadline) {
+		if(((token != null) && token.isCancelled()) || Thread.currentThread().isInterrupted()) {
+			return Limit.CANCELLED;
+		}
+		if(nodes > maxNodes) {
+			return Limit.NODES;
+		}
+		if(bytes > maxBytes) {
+			return Limit.MEMORY;
+		}
+		if((deadline != Long.MAX_VALUE) && (System.nanoTime() - deadline >= 0)) {
+			return Limit.TIME;
+		}
+
+		return null;
+	}
+}
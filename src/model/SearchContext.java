@@ -0,0 +1,235 @@
+package model;
+import java.util.ArrayList;
+
+/**
+ * SearchContext owns everything an A* search needs: the node storage,
+ * the open list, the table of best path costs that serves as the
+ * closed set and the scratch board nodes are unpacked onto. Everything
+ * is cleared rather than reallocated between searches, so once the
+ * tables have grown to fit the largest search a context runs, later
+ * searches allocate nothing.
+ *
+ * Nodes are stored in a NodeArena and ordered by a HandleFrontier.
+ * Searches on boards larger than 4x4 store their nodes in a
+ * WideNodeArena, with a WideStateTable as the closed set, and order
+ * them with the same HandleFrontier. Searches over EightPuzzleNode
+ * objects instead use the Frontier given to the constructor and the
+ * successor list. Anytime searches also use the table of states
+ * expanded in the current pass and the inconsistent and kept lists
+ * (see AnytimeSearch). The context also keeps
+ * the SearchStats of the last search run with it.
+ *
+ * A context is not thread-safe. Each thread that searches should hold
+ * its own, and EightPuzzleSearch keeps one per thread for callers that
+ * do not pass one.
+ *
+ * @author Edward B.
+ */
+
+public class SearchContext {
+
+	private NodeArena arena = new NodeArena();
+	private HandleFrontier handles = new HandleFrontier();
+	private Frontier frontier;
+	private LongIntHashMap bestPathCosts = new LongIntHashMap();
+	private WideNodeArena wideArena = new WideNodeArena();
+	private WideStateTable wideStates = new WideStateTable(wideArena);
+	private LongIntHashMap expandedStates = new LongIntHashMap();
+	private HandleList inconsistentNodes = new HandleList();
+	private HandleList keptNodes = new HandleList();
+	private ArrayList<EightPuzzleNode> successors = new ArrayList<EightPuzzleNode>(4);
+	private int[] tiles = new int[0];
+	private SearchStats stats = new SearchStats();
+
+	/**
+	 * SearchContext constructor that orders the open list with the
+	 * Java standard priority queue (see PriorityQueueFrontier).
+	 */
+
+	public SearchContext() {
+		this(new PriorityQueueFrontier());
+	}
+
+	/**
+	 * SearchContext constructor.
+	 *
+	 * @param frontier The open list for searches over EightPuzzleNode objects
+	 */
+
+	public SearchContext(Frontier frontier) {
+		assert frontier != null;
+
+		this.frontier = frontier;
+	}
+
+	/**
+	 * Empties the node storage, the open lists, the closed sets and the
+	 * node lists, keeping their capacity for the next search.
+	 *
+	 * @return Nothing
+	 */
+
+	public void clear() {
+		arena.clear();
+		handles.clear();
+		frontier.clear();
+		bestPathCosts.clear();
+		wideArena.clear(wideArena.getLayout());
+		wideStates.clear();
+		expandedStates.clear();
+		inconsistentNodes.clear();
+		keptNodes.clear();
+		successors.clear();
+	}
+
+	/**
+	 * Returns the counters of the last search run with this context.
+	 *
+	 * @return SearchStats The last search's counters
+	 */
+
+	public SearchStats getStats() {
+		return stats;
+	}
+
+	/**
+	 * Returns the node storage.
+	 *
+	 * @return NodeArena The node storage
+	 */
+
+	NodeArena getArena() {
+		return arena;
+	}
+
+	/**
+	 * Returns the open list of node handles.
+	 *
+	 * @return HandleFrontier The open list
+	 */
+
+	HandleFrontier getHandles() {
+		return handles;
+	}
+
+	/**
+	 * Returns the open list for searches over EightPuzzleNode objects.
+	 *
+	 * @return Frontier The open list
+	 */
+
+	Frontier getFrontier() {
+		return frontier;
+	}
+
+	/**
+	 * Replaces the open list for searches over EightPuzzleNode objects.
+	 *
+	 * @param frontier The new open list
+	 *
+	 * @return Frontier The open list it replaced
+	 */
+
+	Frontier setFrontier(Frontier frontier) {
+		assert frontier != null;
+
+		Frontier previous = this.frontier;
+		this.frontier = frontier;
+
+		return previous;
+	}
+
+	/**
+	 * Returns the closed set, keyed by packed state. Arena searches map
+	 * each state to the handle of the cheapest node reaching it, and
+	 * object searches to that node's path cost.
+	 *
+	 * @return LongIntHashMap The closed set
+	 */
+
+	LongIntHashMap getBestPathCosts() {
+		return bestPathCosts;
+	}
+
+	/**
+	 * Returns the node storage for boards packed with WideState.
+	 *
+	 * @return WideNodeArena The node storage
+	 */
+
+	WideNodeArena getWideArena() {
+		return wideArena;
+	}
+
+	/**
+	 * Returns the closed set for nodes in the WideNodeArena, mapping
+	 * each board to the handle of the cheapest node reaching it.
+	 *
+	 * @return WideStateTable The closed set
+	 */
+
+	WideStateTable getWideStates() {
+		return wideStates;
+	}
+
+	/**
+	 * Returns the table of states expanded in the current pass of an
+	 * anytime search, mapping each to the handle of its node.
+	 *
+	 * @return LongIntHashMap The expanded states
+	 */
+
+	LongIntHashMap getExpandedStates() {
+		return expandedStates;
+	}
+
+	/**
+	 * Returns the list of nodes an anytime search sets aside until its
+	 * next pass, because their path cost improved after their states
+	 * were expanded in the current pass.
+	 *
+	 * @return HandleList The inconsistent nodes
+	 */
+
+	HandleList getInconsistentNodes() {
+		return inconsistentNodes;
+	}
+
+	/**
+	 * Returns the list of nodes an anytime search carries over from
+	 * one pass to the next.
+	 *
+	 * @return HandleList The kept nodes
+	 */
+
+	HandleList getKeptNodes() {
+		return keptNodes;
+	}
+
+	/**
+	 * Returns the list successors are generated into.
+	 *
+	 * @return ArrayList The successor list
+	 */
+
+	ArrayList<EightPuzzleNode> getSuccessors() {
+		return successors;
+	}
+
+	/**
+	 * Returns a scratch board of tileCount tiles, reallocated only
+	 * when the board size changes.
+	 *
+	 * @param tileCount The number of tiles on the board
+	 *
+	 * @return int[] The scratch board
+	 */
+
+	int[] getTiles(int tileCount) {
+		if(tiles.length != tileCount) {
+			tiles = new int[tileCount];
+		}
+
+		return tiles;
+	}
+}
@@ -0,0 +1,57 @@
+package model;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * SearchEvent is the Java Flight Recorder event committed once per
+ * finished search (see SearchStats). It is only recorded when a
+ * recording enables model.Search.
+ *
+ * @author Edward B.
+ */
+
+@Name("model.Search")
+@Label("Puzzle Search")
+@Category("Eight Puzzle")
+@Description("One finished search and its counters")
+class SearchEvent extends Event {
+
+	@Label("Solver")
+	String solver;
+
+	@Label("Solution Length")
+	int solutionLength;
+
+	@Label("Expanded")
+	long expanded;
+
+	@Label("Generated")
+	long generated;
+
+	@Label("Reopened")
+	long reopened;
+
+	@Label("Duplicates")
+	long duplicates;
+
+	@Label("Heuristic Evaluations")
+	long heuristicEvaluations;
+
+	@Label("Peak Open")
+	int peakOpen;
+
+	@Label("Peak Closed")
+	int peakClosed;
+
+	@Label("Budget Exceeded")
+	@Description("The limit the search ran out of, empty if it finished")
+	String exceeded;
+
+	@Label("Elapsed")
+	@Timespan(Timespan.NANOSECONDS)
+	long elapsed;
+}
@@ -0,0 +1,146 @@
+package model;
+
+/**
+ * SearchResult is the outcome of a search run with a SearchBudget. It
+ * either holds the solution, says the board has none, or names the
+ * limit the search ran out of before it could tell. Its stats are a
+ * copy of the search's counters at the moment it stopped, so a search
+ * that ran out of budget still reports how far it got.
+ *
+ * An anytime search (see AnytimeSearch) that runs out of budget may
+ * still hold the best solution it found, along with a bound on how
+ * much longer than optimal that solution can be. Weighted A* (see
+ * WeightedSearch) bounds its solutions by its weight, and greedy
+ * best-first search does not bound them at all. Solutions from the
+ * other searches are optimal, with a bound of 1.0.
+ *
+ * @author Edward B.
+ */
+
+public class SearchResult {
+
+	private Solution solution;
+	private double bound;
+	private SearchBudget.Limit exceeded;
+	private SearchStats stats;
+
+	/**
+	 * SearchResult constructor that copies the finished search's stats.
+	 *
+	 * @param solution The solution found, or null if there is none
+	 * @param stats The search's counters, including the limit it exceeded if any
+	 */
+
+	SearchResult(Solution solution, SearchStats stats) {
+		this(solution, (solution == null) ? Double.POSITIVE_INFINITY : 1.0, stats);
+	}
+
+	/**
+	 * SearchResult constructor for a solution that may not be optimal.
+	 *
+	 * @param solution The best solution found, or null if there is none
+	 * @param bound How many times longer than optimal the solution can be, infinite if unknown or there is no solution
+	 * @param stats The search's counters, including the limit it exceeded if any
+	 */
+
+	SearchResult(Solution solution, double bound, SearchStats stats) {
+		assert (solution != null) || (bound == Double.POSITIVE_INFINITY);
+		assert bound >= 1.0;
+
+		this.solution = solution;
+		this.bound = bound;
+		this.exceeded = stats.getExceededLimit();
+		this.stats = stats.copy();
+	}
+
+	/**
+	 * Returns whether or not the search found a solution.
+	 *
+	 * @return boolean Whether there is a solution
+	 */
+
+	public boolean isSolved() {
+		return solution != null;
+	}
+
+	/**
+	 * Returns whether or not the search stopped because it ran out of
+	 * budget, in which case it could not tell whether the board has a
+	 * solution, or whether the one it found is optimal.
+	 *
+	 * @return boolean Whether the budget was exceeded
+	 */
+
+	public boolean isBudgetExceeded() {
+		return exceeded != null;
+	}
+
+	/**
+	 * Returns the limit the search ran out of.
+	 *
+	 * @return SearchBudget.Limit The limit, or null if the search finished
+	 */
+
+	public SearchBudget.Limit getExceededLimit() {
+		return exceeded;
+	}
+
+	/**
+	 * Returns the solution.
+	 *
+	 * @return Solution The solution, or null if none was found
+	 */
+
+	public Solution getSolution() {
+		return solution;
+	}
+
+	/**
+	 * Returns how far from optimal the solution can be.
+	 *
+	 * @return double The solution is at most this many times longer than an optimal one, infinite if unknown or there is no solution
+	 */
+
+	public double getSuboptimalityBound() {
+		return bound;
+	}
+
+	/**
+	 * Returns the search's counters when it stopped.
+	 *
+	 * @return SearchStats The counters
+	 */
+
+	public SearchStats getStats() {
+		return stats;
+	}
+
+	/**
+	 * Describes the outcome on one line.
+	 *
+	 * @return String The outcome and the counters
+	 */
+
+	@Override
+	public String toString() {
+		if((exceeded != null) && (solution != null)) {
+			return "Budget exceeded (" + exceeded + ") with " + solution.length() + " moves, within "
+					+ bound + " of optimal: " + stats;
+		}
+		if(exceeded != null) {
+			return "Budget exceeded (" + exceeded + "): " + stats;
+		}
+		if(solution == null) {
+			return "No solution: " + stats;
+		}
+
+		if(bound == Double.POSITIVE_INFINITY) {
+			return "Solved in " + solution.length() + " moves, with no bound on optimality: " + stats;
+		}
+		if(bound > 1.0) {
+			return "Solved in " + solution.length() + " moves, within " + bound + " of optimal: " + stats;
+		}
+
+		return "Solved in " + solution.length() + " moves: " + stats;
+	}
+}
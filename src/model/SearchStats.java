@@ -0,0 +1,282 @@
+package model;
+
+/**
+ * SearchStats records what a search did: how many nodes it expanded
+ * and generated, how many it reopened with a cheaper path or pruned as
+ * duplicates, how large its open and closed sets grew, how often it
+ * evaluated the heuristic and how long it took. Solvers count into
+ * local variables and store the totals once, so the counters cost
+ * next to nothing and are always on.
+ *
+ * Every SearchContext holds the stats of the last search run with it,
+ * and EightPuzzleSearch.getLastStats() returns those of the last
+ * search the calling thread ran without one. Each finished search is
+ * also committed as a SearchEvent when Java Flight Recorder is
+ * recording it.
+ *
+ * @author Edward B.
+ */
+
+public class SearchStats {
+
+	long expanded;
+	long generated;
+	long reopened;
+	long duplicates;
+	long heuristicEvaluations;
+	int peakOpen;
+	int peakClosed;
+
+	private String solver = "";
+	private int solutionLength = -1;
+	private long elapsedNanos;
+	private SearchBudget.Limit exceeded;
+	private SearchEvent event;
+
+	/**
+	 * Resets every counter for a new search and begins its SearchEvent,
+	 * so the recorded event spans the search rather than only its end.
+	 *
+	 * @param solverName The name of the solver about to run
+	 *
+	 * @return Nothing
+	 */
+
+	void reset(String solverName) {
+		solver = solverName;
+		expanded = 0;
+		generated = 0;
+		reopened = 0;
+		duplicates = 0;
+		heuristicEvaluations = 0;
+		peakOpen = 0;
+		peakClosed = 0;
+		solutionLength = -1;
+		elapsedNanos = 0;
+		exceeded = null;
+		event = new SearchEvent();
+		event.begin();
+	}
+
+	/**
+	 * Records the end of a search and commits it to Java Flight
+	 * Recorder if a recording has SearchEvent enabled.
+	 *
+	 * @param startNanos The value of System.nanoTime() when the search started
+	 * @param solution The solution found, or null if there is none
+	 *
+	 * @return Nothing
+	 */
+
+	void finish(long startNanos, Solution solution) {
+		finish(startNanos, solution, null);
+	}
+
+	/**
+	 * Records the end of a search that may have run out of budget.
+	 *
+	 * @param startNanos The value of System.nanoTime() when the search started
+	 * @param solution The solution found, or null if there is none
+	 * @param limit The limit the search exceeded, or null if it finished
+	 *
+	 * @return Nothing
+	 */
+
+	void finish(long startNanos, Solution solution, SearchBudget.Limit limit) {
+		elapsedNanos = System.nanoTime() - startNanos;
+		solutionLength = (solution == null) ? -1 : solution.length();
+		exceeded = limit;
+
+		SearchEvent event = this.event;
+		this.event = null;
+
+		// a search that finishes without a reset has no start time to record
+		if(event == null) {
+			event = new SearchEvent();
+		}
+
+		if(event.shouldCommit()) {
+			event.solver = solver;
+			event.solutionLength = solutionLength;
+			event.expanded = expanded;
+			event.generated = generated;
+			event.reopened = reopened;
+			event.duplicates = duplicates;
+			event.heuristicEvaluations = heuristicEvaluations;
+			event.peakOpen = peakOpen;
+			event.peakClosed = peakClosed;
+			event.elapsed = elapsedNanos;
+			event.exceeded = (limit == null) ? "" : limit.name();
+			event.commit();
+		}
+	}
+
+	/**
+	 * Copies every counter into a new object, which later searches
+	 * will not overwrite.
+	 *
+	 * @return SearchStats The copy
+	 */
+
+	SearchStats copy() {
+		SearchStats copy = new SearchStats();
+
+		copy.expanded = expanded;
+		copy.generated = generated;
+		copy.reopened = reopened;
+		copy.duplicates = duplicates;
+		copy.heuristicEvaluations = heuristicEvaluations;
+		copy.peakOpen = peakOpen;
+		copy.peakClosed = peakClosed;
+		copy.solver = solver;
+		copy.solutionLength = solutionLength;
+		copy.elapsedNanos = elapsedNanos;
+		copy.exceeded = exceeded;
+
+		return copy;
+	}
+
+	/**
+	 * Returns the name of the solver that ran the search.
+	 *
+	 * @return String The solver's name, such as "A*"
+	 */
+
+	public String getSolver() {
+		return solver;
+	}
+
+	/**
+	 * Returns the length of the solution the search found.
+	 *
+	 * @return int The number of moves, or -1 if no solution was found
+	 */
+
+	public int getSolutionLength() {
+		return solutionLength;
+	}
+
+	/**
+	 * Returns the number of nodes whose successors were generated.
+	 *
+	 * @return long The number of nodes expanded
+	 */
+
+	public long getExpanded() {
+		return expanded;
+	}
+
+	/**
+	 * Returns the number of successors generated, including the ones
+	 * pruned as duplicates.
+	 *
+	 * @return long The number of nodes generated
+	 */
+
+	public long getGenerated() {
+		return generated;
+	}
+
+	/**
+	 * Returns the number of states that were added to the open set
+	 * again because a cheaper path to them was found.
+	 *
+	 * @return long The number of nodes reopened
+	 */
+
+	public long getReopened() {
+		return reopened;
+	}
+
+	/**
+	 * Returns the number of successors dropped because their state had
+	 * already been reached at no greater cost.
+	 *
+	 * @return long The number of duplicates pruned
+	 */
+
+	public long getDuplicates() {
+		return duplicates;
+	}
+
+	/**
+	 * Returns the number of heuristic estimates computed, full or incremental.
+	 *
+	 * @return long The number of heuristic evaluations
+	 */
+
+	public long getHeuristicEvaluations() {
+		return heuristicEvaluations;
+	}
+
+	/**
+	 * Returns the largest number of nodes the open set held at once.
+	 *
+	 * @return int The peak open set size
+	 */
+
+	public int getPeakOpen() {
+		return peakOpen;
+	}
+
+	/**
+	 * Returns the largest number of states the closed set held at once.
+	 *
+	 * @return int The peak closed set size
+	 */
+
+	public int getPeakClosed() {
+		return peakClosed;
+	}
+
+	/**
+	 * Returns how long the search took.
+	 *
+	 * @return long The elapsed time in nanoseconds
+	 */
+
+	public long getElapsedNanos() {
+		return elapsedNanos;
+	}
+
+	/**
+	 * Returns the part of its budget the search ran out of (see SearchBudget).
+	 *
+	 * @return SearchBudget.Limit The limit, or null if the search finished
+	 */
+
+	public SearchBudget.Limit getExceededLimit() {
+		return exceeded;
+	}
+
+	/**
+	 * Returns the search's throughput.
+	 *
+	 * @return double The number of nodes generated per second
+	 */
+
+	public double getNodesPerSecond() {
+		return (elapsedNanos == 0) ? 0.0 : generated * 1e9 / elapsedNanos;
+	}
+
+	/**
+	 * Formats the stats on one line.
+	 *
+	 * @return String The formatted stats
+	 */
+
+	@Override
+	public String toString() {
+		return solver + ((exceeded == null) ? "" : " (stopped: " + exceeded + ")")
+				+ ": length " + solutionLength
+				+ ", expanded " + expanded
+				+ ", generated " + generated
+				+ ", reopened " + reopened
+				+ ", duplicates " + duplicates
+				+ ", heuristic evaluations " + heuristicEvaluations
+				+ ", peak open " + peakOpen
+				+ ", peak closed " + peakClosed
+				+ ", " + (elapsedNanos / 1000) + " us"
+				+ ", " + Math.round(getNodesPerSecond()) + " nodes/s";
+	}
+}
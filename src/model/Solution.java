@@ -0,0 +1,273 @@
+package model;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Solution is a compact solution path: the packed start board and the
+ * moves of the empty tile, packed four to a byte. A solution of n
+ * moves takes about n / 4 bytes plus a few fields, instead of one
+ * EightPuzzleNode per step, and keeps no search nodes alive. Boards
+ * larger than 4x4, which do not fit in a long, keep their start board
+ * as an array of tiles instead.
+ *
+ * Boards along the path are produced by replay(), which applies the
+ * moves one at a time to a single board.
+ *
+ * @author Edward B.
+ */
+
+public class Solution {
+
+	private static final int MOVES_PER_BYTE = 4;
+
+	private int size;
+	private long startState;
+	private int[] startTiles;
+	private int length;
+	private byte[] moves;
+
+	/**
+	 * Solution constructor that packs a list of moves.
+	 *
+	 * @param size The width and height of the board
+	 * @param startState The packed start board
+	 * @param moveList The move codes (see Move)
+	 * @param length The number of moves in moveList that are part of the solution
+	 */
+
+	Solution(int size, long startState, int[] moveList, int length) {
+		assert PackedState.fits(size);
+
+		this.size = size;
+		this.startState = startState;
+		packMoves(moveList, length);
+	}
+
+	/**
+	 * Solution constructor for boards of any size.
+	 *
+	 * @param size The width and height of the board
+	 * @param startTiles The start board in row-major order, which the solution keeps
+	 * @param moveList The move codes (see Move)
+	 * @param length The number of moves in moveList that are part of the solution
+	 */
+
+	Solution(int size, int[] startTiles, int[] moveList, int length) {
+		assert startTiles.length == size * size;
+
+		this.size = size;
+
+		if(PackedState.fits(size)) {
+			this.startState = PackedState.pack(startTiles);
+		}
+		else {
+			this.startTiles = startTiles;
+		}
+
+		packMoves(moveList, length);
+	}
+
+	/**
+	 * Packs the moves four to a byte.
+	 *
+	 * @param moveList The move codes (see Move)
+	 * @param length The number of moves in moveList that are part of the solution
+	 *
+	 * @return Nothing
+	 */
+
+	private void packMoves(int[] moveList, int length) {
+		assert length <= moveList.length;
+
+		this.length = length;
+		this.moves = new byte[(length + MOVES_PER_BYTE - 1) / MOVES_PER_BYTE];
+
+		for(int i = 0; i < length; i++) {
+			moves[i / MOVES_PER_BYTE] |= (byte) (moveList[i] << (2 * (i % MOVES_PER_BYTE)));
+		}
+	}
+
+	/**
+	 * Packs the path from the root to a leaf node.
+	 *
+	 * @param leaf The leaf of a path of nodes, such as a search returns
+	 *
+	 * @return Solution The packed path, or null if leaf is null
+	 */
+
+	public static Solution of(EightPuzzleNode leaf) {
+		if(leaf == null) {
+			return null;
+		}
+
+		int[] moveList = new int[leaf.getDepth()];
+		EightPuzzleNode node = leaf;
+
+		for(int i = moveList.length - 1; i >= 0; i--) {
+			moveList[i] = Move.fromName(node.getAction());
+			node = node.getParent();
+		}
+
+		return new Solution(leaf.getSize(), node.getPackedState(), moveList, moveList.length);
+	}
+
+	/**
+	 * Returns the width and height of the board.
+	 *
+	 * @return int The dimensions of the board
+	 */
+
+	public int getSize() {
+		return size;
+	}
+
+	/**
+	 * Returns the packed start board. Only boards up to 4x4 are packed.
+	 *
+	 * @return long The start board
+	 */
+
+	public long getStartState() {
+		assert startTiles == null;
+
+		return startState;
+	}
+
+	/**
+	 * Returns a new copy of the start board.
+	 *
+	 * @return int[][] The start board
+	 */
+
+	public int[][] getStartBoard() {
+		if(startTiles == null) {
+			return PackedState.unpack(startState, size);
+		}
+
+		int[][] board = new int[size][size];
+
+		for(int i = 0; i < startTiles.length; i++) {
+			board[i / size][i % size] = startTiles[i];
+		}
+
+		return board;
+	}
+
+	/**
+	 * Returns the number of moves.
+	 *
+	 * @return int The solution length
+	 */
+
+	public int length() {
+		return length;
+	}
+
+	/**
+	 * Returns one move of the solution.
+	 *
+	 * @param index The position of the move, counting from 0
+	 *
+	 * @return int The move code (see Move)
+	 */
+
+	public int getMove(int index) {
+		assert (index >= 0) && (index < length);
+
+		return (moves[index / MOVES_PER_BYTE] >>> (2 * (index % MOVES_PER_BYTE))) & 3;
+	}
+
+	/**
+	 * Returns an iterator over the boards after each move. Every call
+	 * to next() applies one move to the same board and returns it, so
+	 * callers that keep a board must copy it.
+	 *
+	 * @return Iterator<int[][]> The boards after each move, in order
+	 */
+
+	public Iterator<int[][]> replay() {
+		return new Iterator<int[][]>() {
+
+			private int[][] board = getStartBoard();
+			private int blank = blankIndex(board);
+			private int next = 0;
+
+			@Override
+			public boolean hasNext() {
+				return next < length;
+			}
+
+			@Override
+			public int[][] next() {
+				if(!hasNext()) {
+					throw new NoSuchElementException();
+				}
+
+				int target = Move.target(blank, size, getMove(next++));
+
+				board[blank / size][blank % size] = board[target / size][target % size];
+				board[target / size][target % size] = 0;
+				blank = target;
+
+				return board;
+			}
+		};
+	}
+
+	/**
+	 * Returns the index of the empty tile.
+	 *
+	 * @param board The board to search
+	 *
+	 * @return int The row-major index of the empty tile
+	 */
+
+	private static int blankIndex(int[][] board) {
+		for(int i = 0; i < board.length; i++) {
+			for(int j = 0; j < board.length; j++) {
+				if(board[i][j] == 0) {
+					return i * board.length + j;
+				}
+			}
+		}
+
+		throw new IllegalStateException("The board has no empty tile");
+	}
+
+	/**
+	 * Rebuilds the chain of nodes for this solution below root.
+	 *
+	 * @param root A node holding the start board
+	 *
+	 * @return EightPuzzleNode The leaf of the path of nodes
+	 */
+
+	EightPuzzleNode toPath(EightPuzzleNode root) {
+		assert root.getPackedState() == startState;
+
+		EightPuzzleNode node = root;
+
+		for(int i = 0; i < length; i++) {
+			node = node.child(getMove(i));
+		}
+
+		return node;
+	}
+
+	/**
+	 * Returns the moves as one letter each: U, R, D or L.
+	 *
+	 * @return String The moves, such as "ULDR"
+	 */
+
+	@Override
+	public String toString() {
+		char[] letters = new char[length];
+
+		for(int i = 0; i < length; i++) {
+			letters[i] = Move.name(getMove(i)).charAt(0);
+		}
+
+		return new String(letters);
+	}
+}
@@ -0,0 +1,464 @@
+package model;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * SolutionCache remembers optimal solutions by packed start board, so
+ * a board that has been solved once is answered without searching. It
+ * holds at most capacity solutions, each a Solution with its moves
+ * packed four to a byte, and evicts with the CLOCK approximation of
+ * least recently used: every lookup marks its entry, and eviction
+ * sweeps the entries in insertion order, clearing marks, until it finds
+ * one that has not been looked up since the last sweep.
+ *
+ * When the goal's empty tile lies on the main diagonal, a board and its
+ * reflection (see Symmetry) share one entry, keyed by their canonical
+ * representative, so the cache holds twice as many boards. A solution
+ * is stored for the representative, and a lookup for the other board
+ * reflects it back.
+ *
+ * Lookups read a ConcurrentHashMap and set a flag, so any number of
+ * threads may look up at once without locking. Adding a solution locks
+ * the cache, which is cheap next to the search that found it.
+ *
+ * A cache opened on a file loads the solutions saved there and appends
+ * every solution added after, so a restarted process starts warm. The
+ * file starts with a header naming the goal, followed by one record per
+ * solution: the packed start board, the number of moves, and the moves
+ * packed four to a byte. Records are checked by replaying them when the
+ * file is loaded. A record cut short by a crash is dropped, and a file
+ * holding many more records than the cache keeps is rewritten with only
+ * the cached ones.
+ *
+ * @author Edward B.
+ */
+
+public class SolutionCache implements Closeable {
+
+	private static final int MAGIC = 0x38505331; // "8PS1"
+	private static final int HEADER_BYTES = 2 * Integer.BYTES + Long.BYTES;
+	private static final int MOVES_PER_BYTE = 4;
+	private static final int COMPACT_FACTOR = 2;
+
+	/**
+	 * Entry is one cached solution and the mark CLOCK clears.
+	 */
+
+	private static class Entry {
+		private Solution solution;
+		private volatile boolean referenced;
+
+		private Entry(Solution solution) {
+			this.solution = solution;
+		}
+	}
+
+	private GoalTable goal;
+	private int capacity;
+	private ConcurrentHashMap<Long, Entry> entries;
+	private Symmetry symmetry;
+	private long[] clock;
+	private int clockSize;
+	private int hand;
+	private LongAdder hits = new LongAdder();
+	private LongAdder misses = new LongAdder();
+	private DataOutputStream out;
+
+	/**
+	 * SolutionCache constructor that creates an empty cache kept only
+	 * in memory.
+	 *
+	 * @param goal The goal every cached solution reaches, at most 4x4
+	 * @param capacity The most solutions kept, at least 1
+	 *
+	 * @throws IllegalArgumentException Thrown when the goal is larger than 4x4 or the capacity is not positive
+	 */
+
+	public SolutionCache(GoalTable goal, int capacity) {
+		assert goal != null;
+
+		if(!PackedState.fits(goal.getSize())) {
+			throw new IllegalArgumentException("Only boards up to " + PackedState.MAX_SIZE
+					+ "x" + PackedState.MAX_SIZE + " can be cached");
+		}
+		if(capacity < 1) {
+			throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+		}
+
+		this.goal = goal;
+		this.capacity = capacity;
+		this.symmetry = Symmetry.isSymmetric(goal) ? new Symmetry(goal) : null;
+		this.entries = new ConcurrentHashMap<Long, Entry>(capacity * 2);
+		this.clock = new long[capacity];
+	}
+
+	/**
+	 * Opens a cache that loads the solutions saved in a file and appends
+	 * every solution added to it. The file is created if it does not
+	 * exist.
+	 *
+	 * @param file The file to load from and append to
+	 * @param goal The goal every cached solution reaches, at most 4x4
+	 * @param capacity The most solutions kept in memory, at least 1
+	 *
+	 * @return SolutionCache The cache, which must be closed
+	 *
+	 * @throws IOException Thrown when the file cannot be read or written, was saved for a different goal, or holds an invalid solution
+	 */
+
+	public static SolutionCache open(File file, GoalTable goal, int capacity) throws IOException {
+		SolutionCache cache = new SolutionCache(goal, capacity);
+		long records = file.exists() ? cache.load(file) : -1;
+
+		if((records < 0) || (records > (long) COMPACT_FACTOR * capacity)) {
+			cache.rewrite(file);
+		}
+
+		cache.out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file, true)));
+
+		return cache;
+	}
+
+	/**
+	 * Returns the cached solution for a board.
+	 *
+	 * @param state The packed start board
+	 *
+	 * @return Solution The optimal solution, or null if the board is not cached
+	 */
+
+	public Solution get(long state) {
+		Entry entry = entries.get((symmetry == null) ? state : symmetry.canonical(state));
+
+		if(entry == null) {
+			misses.increment();
+
+			return null;
+		}
+
+		entry.referenced = true;
+		hits.increment();
+
+		return (entry.solution.getStartState() == state) ? entry.solution : symmetry.reflect(entry.solution);
+	}
+
+	/**
+	 * Adds an optimal solution, evicting another if the cache is full,
+	 * and appends it to the file if the cache has one. A board that is
+	 * already cached keeps its solution.
+	 *
+	 * @param solution The solution, which must be optimal and reach the goal
+	 *
+	 * @return Nothing
+	 *
+	 * @throws IOException Thrown when the solution cannot be appended to the file
+	 */
+
+	public synchronized void put(Solution solution) throws IOException {
+		assert (solution != null) && (solution.getSize() == goal.getSize());
+
+		Solution stored = add(solution);
+
+		if((stored != null) && (out != null)) {
+			write(out, stored);
+			out.flush();
+		}
+	}
+
+	/**
+	 * Returns the packed goal the cache was created for.
+	 *
+	 * @return long The goal state
+	 */
+
+	public long getGoalState() {
+		return goal.getGoalState();
+	}
+
+	/**
+	 * Returns the number of cached solutions.
+	 *
+	 * @return int The number of solutions
+	 */
+
+	public int size() {
+		return entries.size();
+	}
+
+	/**
+	 * Returns the most solutions the cache keeps.
+	 *
+	 * @return int The capacity
+	 */
+
+	public int getCapacity() {
+		return capacity;
+	}
+
+	/**
+	 * Returns the number of lookups that found a solution.
+	 *
+	 * @return long The number of hits
+	 */
+
+	public long getHits() {
+		return hits.sum();
+	}
+
+	/**
+	 * Returns the number of lookups that found nothing.
+	 *
+	 * @return long The number of misses
+	 */
+
+	public long getMisses() {
+		return misses.sum();
+	}
+
+	/**
+	 * Closes the file, if the cache has one. The cache can still be
+	 * used, but solutions added after are kept only in memory.
+	 *
+	 * @return Nothing
+	 *
+	 * @throws IOException Thrown when the file cannot be closed
+	 */
+
+	@Override
+	public synchronized void close() throws IOException {
+		if(out != null) {
+			out.close();
+			out = null;
+		}
+	}
+
+	/**
+	 * Adds a solution to the table, reflected first if its board is not
+	 * the representative, evicting with CLOCK if the table is full.
+	 *
+	 * @param solution The solution to add
+	 *
+	 * @return Solution The solution as stored, or null if its board was already cached
+	 */
+
+	private synchronized Solution add(Solution solution) {
+		long state = solution.getStartState();
+
+		if((symmetry != null) && (symmetry.canonical(state) != state)) {
+			solution = symmetry.reflect(solution);
+			state = solution.getStartState();
+		}
+		if(entries.containsKey(state)) {
+			return null;
+		}
+
+		if(clockSize < capacity) {
+			clock[clockSize++] = state;
+		}
+		else {
+			// give every entry looked up since the last sweep a second chance
+			Entry victim = entries.get(clock[hand]);
+
+			while(victim.referenced) {
+				victim.referenced = false;
+				hand = (hand + 1) % capacity;
+				victim = entries.get(clock[hand]);
+			}
+
+			entries.remove(clock[hand]);
+			clock[hand] = state;
+			hand = (hand + 1) % capacity;
+		}
+
+		entries.put(state, new Entry(solution));
+
+		return solution;
+	}
+
+	/**
+	 * Loads the records saved in a file, dropping a last record cut
+	 * short.
+	 *
+	 * @param source The file to read
+	 *
+	 * @return long The number of records read, or -1 if the file is too short to hold a header
+	 *
+	 * @throws IOException Thrown when the file cannot be read, was saved for a different goal, or holds an invalid solution
+	 */
+
+	private long load(File source) throws IOException {
+		long records = 0;
+		long valid = HEADER_BYTES;
+
+		try(DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(source)))) {
+			try {
+				if(in.readInt() != MAGIC) {
+					throw new IOException(source + " is not a solution cache");
+				}
+				if((in.readInt() != goal.getSize()) || (in.readLong() != goal.getGoalState())) {
+					throw new IOException(source + " was saved for a different goal");
+				}
+			} catch (EOFException e) {
+				return -1;
+			}
+
+			while(true) {
+				Solution solution;
+
+				try {
+					solution = read(in);
+				} catch (EOFException e) {
+					break;
+				}
+
+				if(!reachesGoal(solution)) {
+					throw new IOException(source + " holds an invalid solution at byte " + valid);
+				}
+
+				add(solution);
+				records++;
+				valid += Long.BYTES + Short.BYTES + packedBytes(solution.length());
+			}
+		}
+
+		if(valid < source.length()) {
+			try(RandomAccessFile truncated = new RandomAccessFile(source, "rw")) {
+				truncated.setLength(valid);
+			}
+		}
+
+		return records;
+	}
+
+	/**
+	 * Replaces a file with a header and the cached solutions. The new
+	 * file is written beside the old one and then moved over it, so a
+	 * crash leaves one or the other.
+	 *
+	 * @param target The file to replace
+	 *
+	 * @return Nothing
+	 *
+	 * @throws IOException Thrown when the file cannot be written
+	 */
+
+	private void rewrite(File target) throws IOException {
+		File temporary = new File(target.getPath() + ".tmp");
+
+		try(DataOutputStream rewritten = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temporary)))) {
+			rewritten.writeInt(MAGIC);
+			rewritten.writeInt(goal.getSize());
+			rewritten.writeLong(goal.getGoalState());
+
+			for(Entry entry : entries.values()) {
+				write(rewritten, entry.solution);
+			}
+		}
+
+		Files.move(temporary.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+	}
+
+	/**
+	 * Writes one record.
+	 *
+	 * @param stream The stream to write to
+	 * @param solution The solution to write
+	 *
+	 * @return Nothing
+	 *
+	 * @throws IOException Thrown when the stream fails
+	 */
+
+	private static void write(DataOutputStream stream, Solution solution) throws IOException {
+		byte[] moves = new byte[packedBytes(solution.length())];
+
+		for(int i = 0; i < solution.length(); i++) {
+			moves[i / MOVES_PER_BYTE] |= (byte) (solution.getMove(i) << (2 * (i % MOVES_PER_BYTE)));
+		}
+
+		stream.writeLong(solution.getStartState());
+		stream.writeShort(solution.length());
+		stream.write(moves);
+	}
+
+	/**
+	 * Reads one record.
+	 *
+	 * @param stream The stream to read from
+	 *
+	 * @return Solution The solution
+	 *
+	 * @throws IOException Thrown when the stream fails or ends within the record
+	 */
+
+	private Solution read(DataInputStream stream) throws IOException {
+		long state = stream.readLong();
+		int length = stream.readUnsignedShort();
+		byte[] packed = new byte[packedBytes(length)];
+		int[] moves = new int[length];
+
+		stream.readFully(packed);
+
+		for(int i = 0; i < length; i++) {
+			moves[i] = (packed[i / MOVES_PER_BYTE] >>> (2 * (i % MOVES_PER_BYTE))) & 3;
+		}
+
+		return new Solution(goal.getSize(), state, moves, length);
+	}
+
+	/**
+	 * Checks that a solution's moves stay on the board and end at the goal.
+	 *
+	 * @param solution The solution to check
+	 *
+	 * @return boolean Whether the solution is valid
+	 */
+
+	private boolean reachesGoal(Solution solution) {
+		int size = goal.getSize();
+		long state = solution.getStartState();
+		int blank = PackedState.indexOf(state, size, 0);
+
+		if(blank < 0) {
+			return false;
+		}
+
+		for(int i = 0; i < solution.length(); i++) {
+			int target = Move.target(blank, size, solution.getMove(i));
+
+			if(target < 0) {
+				return false;
+			}
+
+			state = PackedState.slide(state, blank, target);
+			blank = target;
+		}
+
+		return state == goal.getGoalState();
+	}
+
+	/**
+	 * Returns the number of bytes a number of packed moves takes.
+	 *
+	 * @param length The number of moves
+	 *
+	 * @return int The number of bytes
+	 */
+
+	private static int packedBytes(int length) {
+		return (length + MOVES_PER_BYTE - 1) / MOVES_PER_BYTE;
+	}
+}
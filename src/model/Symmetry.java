@@ -0,0 +1,187 @@
+package model;
+
+/**
+ * Symmetry is the reflection of boards about the main diagonal, for
+ * goals whose empty tile lies on that diagonal, such as the usual goal
+ * with the empty tile in the bottom-right corner. Reflecting a board
+ * moves the tile at (x, y) to (y, x) and relabels it with the goal
+ * tile of the cell its goal cell reflects to. The goal reflects onto
+ * itself, and a move of the empty tile reflects onto the move along
+ * the other axis, so a board and its reflection are exactly as far
+ * from the goal, and a solution of one reflects into a solution of
+ * the other.
+ *
+ * That lets a cache store one of each pair of reflected boards (see
+ * canonical() and SolutionCache), and lets a heuristic that is not
+ * itself symmetric take the larger of its estimates for a board and
+ * its reflection (see PatternDatabaseHeuristic.withReflection()).
+ *
+ * @author Edward B.
+ */
+
+public class Symmetry {
+
+	private int size;
+	private int[] cells;
+	private int[] labels;
+
+	/**
+	 * Symmetry constructor.
+	 *
+	 * @param goal The goal boards are reflected for
+	 *
+	 * @throws IllegalArgumentException Thrown when the goal's empty tile is not on the main diagonal
+	 */
+
+	public Symmetry(GoalTable goal) {
+		assert goal != null;
+
+		if(!isSymmetric(goal)) {
+			throw new IllegalArgumentException("The goal's empty tile is not on the main diagonal");
+		}
+
+		int tileCount = goal.getSize() * goal.getSize();
+
+		size = goal.getSize();
+		cells = new int[tileCount];
+		labels = new int[tileCount];
+
+		for(int i = 0; i < tileCount; i++) {
+			cells[i] = (i % size) * size + i / size;
+		}
+		for(int tile = 0; tile < tileCount; tile++) {
+			labels[tile] = goal.goalTileAt(cells[goal.goalIndexOf(tile)]);
+		}
+	}
+
+	/**
+	 * Returns whether or not boards can be reflected for a goal, which
+	 * is when its empty tile lies on the main diagonal.
+	 *
+	 * @param goal The goal
+	 *
+	 * @return boolean Whether the goal reflects onto itself
+	 */
+
+	public static boolean isSymmetric(GoalTable goal) {
+		int blank = goal.goalIndexOf(0);
+
+		return blank / goal.getSize() == blank % goal.getSize();
+	}
+
+	/**
+	 * Returns the cell a cell reflects to.
+	 *
+	 * @param index The row-major index of the cell
+	 *
+	 * @return int The row-major index of the reflected cell
+	 */
+
+	public int reflectCell(int index) {
+		return cells[index];
+	}
+
+	/**
+	 * Returns the label a tile takes on the reflected board.
+	 *
+	 * @param tile The tile
+	 *
+	 * @return int The reflected tile, 0 for the empty tile
+	 */
+
+	public int reflectTile(int tile) {
+		return labels[tile];
+	}
+
+	/**
+	 * Returns the move a move reflects to: up and left swap, as do
+	 * down and right.
+	 *
+	 * @param move The move code (see Move)
+	 *
+	 * @return int The reflected move code
+	 */
+
+	public static int reflectMove(int move) {
+		assert (move >= Move.UP) && (move <= Move.LEFT);
+
+		return Move.LEFT - move;
+	}
+
+	/**
+	 * Reflects a row-major board.
+	 *
+	 * @param tiles The board to reflect
+	 * @param reflected The array to write the reflected board into, not tiles itself
+	 *
+	 * @return int[] The reflected board
+	 */
+
+	public int[] reflect(int[] tiles, int[] reflected) {
+		assert (tiles.length == cells.length) && (reflected.length == cells.length) && (tiles != reflected);
+
+		for(int i = 0; i < tiles.length; i++) {
+			reflected[cells[i]] = labels[tiles[i]];
+		}
+
+		return reflected;
+	}
+
+	/**
+	 * Reflects a packed board.
+	 *
+	 * @param state The packed board, at most 4x4
+	 *
+	 * @return long The packed reflected board
+	 */
+
+	public long reflect(long state) {
+		assert PackedState.fits(size);
+
+		long reflected = 0L;
+
+		for(int i = 0; i < cells.length; i++) {
+			reflected |= ((long) labels[PackedState.tileAt(state, i)]) << (4 * cells[i]);
+		}
+
+		return reflected;
+	}
+
+	/**
+	 * Returns the representative of a board and its reflection: the
+	 * smaller of the two packed boards.
+	 *
+	 * @param state The packed board, at most 4x4
+	 *
+	 * @return long The packed board or its reflection, the same for both
+	 */
+
+	public long canonical(long state) {
+		return Math.min(state, reflect(state));
+	}
+
+	/**
+	 * Reflects a solution into the solution of the reflected board.
+	 *
+	 * @param solution The solution to reflect
+	 *
+	 * @return Solution The reflected solution, just as long
+	 */
+
+	public Solution reflect(Solution solution) {
+		assert solution.getSize() == size;
+
+		int[][] board = solution.getStartBoard();
+		int[] tiles = new int[cells.length];
+		int[] moves = new int[solution.length()];
+
+		for(int i = 0; i < tiles.length; i++) {
+			tiles[i] = board[i / size][i % size];
+		}
+		for(int i = 0; i < moves.length; i++) {
+			moves[i] = reflectMove(solution.getMove(i));
+		}
+
+		return new Solution(size, reflect(tiles, new int[cells.length]), moves, moves.length);
+	}
+}
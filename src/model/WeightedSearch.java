@@ -0,0 +1,266 @@
+package model;
+
+/**
+ * WeightedSearch is weighted A* or greedy best-first search on boards
+ * of any size, with nodes stored in the context's WideNodeArena. Both
+ * trade solution length for speed, which is what makes 5x5 and larger
+ * boards solvable at all, since optimal searches on them run out of
+ * time and memory.
+ *
+ * Weighted A* orders nodes by g + w * h. Like A*, it only stores a
+ * successor that improves on the best known path to its board, and it
+ * stops when it expands a goal, so with an admissible heuristic its
+ * solution is at most w times longer than an optimal one. Weights are
+ * kept in tenths (see Weights), so that nodes can be ordered by integer
+ * keys in the context's HandleFrontier.
+ *
+ * Greedy best-first search orders nodes by h alone, stores each board
+ * only once and stops as soon as it generates a goal. It is usually
+ * faster still, but there is no bound on how long its solution is.
+ *
+ * Boards are checked for solvability first, since proving a large
+ * board unsolvable by search is hopeless.
+ *
+ * @author Edward B.
+ */
+
+class WeightedSearch {
+
+	private int scaledWeight;
+	private boolean greedy;
+
+	/**
+	 * WeightedSearch constructor.
+	 *
+	 * @param scaledWeight The weight on the heuristic in tenths, ignored for greedy search
+	 * @param greedy Whether or not to order nodes by the heuristic alone
+	 */
+
+	private WeightedSearch(int scaledWeight, boolean greedy) {
+		this.scaledWeight = scaledWeight;
+		this.greedy = greedy;
+	}
+
+	/**
+	 * Returns a weighted A* search.
+	 *
+	 * @param weight The weight on the heuristic, at least 1.0 and a whole number of tenths
+	 *
+	 * @return WeightedSearch The search
+	 *
+	 * @throws IllegalArgumentException Thrown when the weight is below 1.0 or not a whole number of tenths
+	 */
+
+	static WeightedSearch weighted(double weight) {
+		if(!(weight >= 1.0)) {
+			throw new IllegalArgumentException("Weight must be at least 1.0: " + weight);
+		}
+
+		return new WeightedSearch(Weights.toTenths(weight), false);
+	}
+
+	/**
+	 * Returns a greedy best-first search.
+	 *
+	 * @return WeightedSearch The search
+	 */
+
+	static WeightedSearch greedy() {
+		return new WeightedSearch(Weights.WEIGHT_SCALE, true);
+	}
+
+	/**
+	 * Searches for a solution. The budget counts the arena, the closed
+	 * set and the open list's handles.
+	 *
+	 * @param start The start board in row-major order
+	 * @param goal The goal board
+	 * @param heuristic The heuristic, which must be admissible for weighted A*'s bound to hold
+	 * @param context The node storage, open list and closed set to use, which are cleared before searching
+	 * @param budget The limits the search must stay within
+	 *
+	 * @return SearchResult The solution and its suboptimality bound, or the limit that stopped the search
+	 */
+
+	SearchResult search(int[] start, GoalTable goal, Heuristic heuristic, SearchContext context, SearchBudget budget) {
+		long startTime = System.nanoTime();
+		long deadline = budget.deadline(startTime);
+		SearchStats stats = context.getStats();
+		int size = goal.getSize();
+		int[] tiles = context.getTiles(size * size);
+
+		context.clear();
+		stats.reset(greedy ? "Greedy best-first" : "Weighted A* (w = " + Weights.fromTenths(scaledWeight) + ")");
+
+		if(!goal.isSolvable(start)) {
+			stats.finish(startTime, null, null);
+
+			return new SearchResult(null, stats);
+		}
+
+		WideState layout = new WideState(size);
+		WideNodeArena arena = context.getWideArena();
+		WideStateTable bestNodes = context.getWideStates();
+		HandleFrontier frontier = context.getHandles();
+		long[] goalState = new long[layout.getWords()];
+		long[] next = new long[layout.getWords()];
+		int rootEstimate = heuristic.estimate(start);
+		SearchBudget.Limit exceeded = null;
+		int found = NodeArena.NO_PARENT;
+		long expanded = 0;
+		long generated = 0;
+		long reopened = 0;
+		long duplicates = 0;
+		long evaluations = 1;
+		int peakOpen = 1;
+
+		arena.clear(layout);
+		bestNodes.clear();
+
+		for(int i = 0; i < tiles.length; i++) {
+			tiles[i] = goal.goalTileAt(i);
+		}
+
+		layout.pack(tiles, goalState, 0);
+		layout.pack(start, next, 0);
+
+		int first = arena.add(next, 0, NodeArena.NO_PARENT, 0, Move.NONE, rootEstimate);
+
+		bestNodes.put(first);
+
+		if(layout.equals(next, 0, goalState, 0)) {
+			found = first;
+		}
+		else {
+			frontier.add(first, key(0, rootEstimate), rootEstimate);
+		}
+
+		while((found == NodeArena.NO_PARENT) && !frontier.isEmpty()) {
+			int node = frontier.poll();
+			int offset = arena.offset(node);
+
+			// a cheaper path to this board was found after it was queued
+			if(bestNodes.get(arena.getStates(), offset) != node) {
+				continue;
+			}
+			if(!greedy && layout.equals(arena.getStates(), offset, goalState, 0)) {
+				found = node;
+				break;
+			}
+
+			if((expanded & (SearchBudget.CHECK_INTERVAL - 1)) == 0) {
+				long bytes = arena.byteSize() + bestNodes.byteSize() + frontier.size() * (long) Integer.BYTES;
+
+				exceeded = budget.exceeded(generated, bytes, deadline);
+
+				if(exceeded != null) {
+					break;
+				}
+			}
+
+			int g = arena.getPathCost(node) + 1;
+			int h = arena.getEstimate(node);
+			int blank = layout.unpack(arena.getStates(), offset, tiles);
+			int previous = (node == first) ? Move.NONE : arena.getMove(node);
+
+			expanded++;
+
+			for(int move = Move.UP; move <= Move.LEFT; move++) {
+				int target = Move.target(blank, size, move);
+
+				if((target < 0) || ((previous != Move.NONE) && (move == Move.opposite(previous)))) {
+					continue;
+				}
+
+				layout.slide(arena.getStates(), arena.offset(node), next, 0, blank, target);
+				generated++;
+
+				int best = bestNodes.get(next, 0);
+
+				if(best != WideStateTable.NO_NODE) {
+					if(greedy || (arena.getPathCost(best) <= g)) {
+						duplicates++;
+						continue;
+					}
+
+					reopened++;
+				}
+
+				// make the move on the scratch board to update the estimate, then unmake it
+				int tile = tiles[target];
+				tiles[blank] = tile;
+				tiles[target] = 0;
+
+				int estimate = heuristic.update(tiles, h, tile, target, blank);
+
+				tiles[target] = tile;
+				tiles[blank] = 0;
+				evaluations++;
+
+				int child = arena.add(next, 0, node, g, move, estimate);
+
+				bestNodes.put(child);
+
+				if(greedy && layout.equals(next, 0, goalState, 0)) {
+					found = child;
+					break;
+				}
+
+				frontier.add(child, key(g, estimate), estimate);
+			}
+
+			peakOpen = Math.max(peakOpen, frontier.size());
+		}
+
+		Solution solution = (found == NodeArena.NO_PARENT) ? null : packPath(start, size, arena, found);
+
+		stats.expanded = expanded;
+		stats.generated = generated;
+		stats.reopened = reopened;
+		stats.duplicates = duplicates;
+		stats.heuristicEvaluations = evaluations;
+		stats.peakOpen = peakOpen;
+		stats.peakClosed = bestNodes.size();
+		stats.finish(startTime, solution, exceeded);
+
+		if(solution == null) {
+			return new SearchResult(null, stats);
+		}
+
+		return new SearchResult(solution, greedy ? Double.POSITIVE_INFINITY : Weights.fromTenths(scaledWeight), stats);
+	}
+
+	/**
+	 * Returns the key a node is ordered by.
+	 *
+	 * @param g The node's path cost
+	 * @param h The node's estimate
+	 *
+	 * @return int h for greedy search, otherwise g + w * h scaled by WEIGHT_SCALE
+	 */
+
+	private int key(int g, int h) {
+		return greedy ? h : g * Weights.WEIGHT_SCALE + scaledWeight * h;
+	}
+
+	/**
+	 * Packs the moves from the root to an arena node into a Solution.
+	 *
+	 * @param start The start board in row-major order
+	 * @param size The width and height of the board
+	 * @param arena The arena the search stored its nodes in
+	 * @param leaf The handle of the last node on the path
+	 *
+	 * @return Solution The packed path
+	 */
+
+	private static Solution packPath(int[] start, int size, WideNodeArena arena, int leaf) {
+		int[] moves = new int[arena.getPathCost(leaf)];
+
+		for(int node = leaf; arena.getParent(node) != NodeArena.NO_PARENT; node = arena.getParent(node)) {
+			moves[arena.getPathCost(node) - 1] = arena.getMove(node);
+		}
+
+		return new Solution(size, start.clone(), moves, moves.length);
+	}
+}
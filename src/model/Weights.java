@@ -0,0 +1,53 @@
+package model;
+
+/**
+ * Weights converts the heuristic weights of WeightedSearch and
+ * AnytimeSearch to the whole number of tenths they order nodes by, so
+ * that keys stay integers in a HandleFrontier. Weights that are not a
+ * whole number of tenths are rejected rather than rounded, since
+ * rounding a weight up would break the bound the caller asked for.
+ *
+ * @author Edward B.
+ */
+
+final class Weights {
+
+	static final int WEIGHT_SCALE = 10;
+
+	private Weights() {
+	}
+
+	/**
+	 * Converts a weight to tenths.
+	 *
+	 * @param weight The weight
+	 *
+	 * @return int The weight in tenths
+	 *
+	 * @throws IllegalArgumentException Thrown when the weight is not a whole number of tenths
+	 */
+
+	static int toTenths(double weight) {
+		double scaled = weight * WEIGHT_SCALE;
+		long tenths = Math.round(scaled);
+
+		// allows for the error in multiplying a decimal fraction, such as 0.7 * 10
+		if((Math.abs(scaled - tenths) > 1e-9) || (tenths > Integer.MAX_VALUE)) {
+			throw new IllegalArgumentException("Weights must be a whole number of tenths: " + weight);
+		}
+
+		return (int) tenths;
+	}
+
+	/**
+	 * Converts a weight in tenths back to a weight.
+	 *
+	 * @param tenths The weight in tenths
+	 *
+	 * @return double The weight
+	 */
+
+	static double fromTenths(int tenths) {
+		return tenths / (double) WEIGHT_SCALE;
+	}
+}
@@ -0,0 +1,184 @@
+package model;
+import java.util.Arrays;
+
+/**
+ * WideNodeArena is a NodeArena for boards packed with WideState. A
+ * node is an int handle, and its packed board is the row of the states
+ * array starting at offset(node). Its parent's handle, its path cost
+ * and the move that reached it (packed together into one int), and its
+ * heuristic estimate are kept in parallel arrays, as in NodeArena. Path
+ * costs may run far longer than NodeArena allows, since suboptimal
+ * searches on large boards can find solutions thousands of moves long.
+ *
+ * @author Edward B.
+ */
+
+class WideNodeArena {
+
+	static final int MAX_PATH_COST = (1 << 29) - 1;
+
+	private static final int INITIAL_CAPACITY = 1024;
+
+	private WideState layout = new WideState(2);
+	private int words = layout.getWords();
+	private long[] states = new long[INITIAL_CAPACITY * words];
+	private int[] parents = new int[INITIAL_CAPACITY];
+	private int[] costs = new int[INITIAL_CAPACITY];
+	private short[] estimates = new short[INITIAL_CAPACITY];
+	private int size;
+
+	/**
+	 * Adds a node.
+	 *
+	 * @param state The array holding the packed board
+	 * @param offset The start of the board's row in state
+	 * @param parent The parent's handle, or NodeArena.NO_PARENT for the root
+	 * @param pathCost The path cost from the root, at most MAX_PATH_COST
+	 * @param move The move that reached the node (see Move), ignored for the root
+	 * @param estimate The heuristic estimate
+	 *
+	 * @return int The new node's handle
+	 */
+
+	int add(long[] state, int offset, int parent, int pathCost, int move, int estimate) {
+		assert (pathCost >= 0) && (pathCost <= MAX_PATH_COST);
+		assert (estimate >= 0) && (estimate <= Short.MAX_VALUE);
+
+		if((size + 1) * words > states.length) {
+			states = Arrays.copyOf(states, Math.max(states.length * 2, (size + 1) * words));
+		}
+		if(size == parents.length) {
+			int capacity = size * 2;
+
+			parents = Arrays.copyOf(parents, capacity);
+			costs = Arrays.copyOf(costs, capacity);
+			estimates = Arrays.copyOf(estimates, capacity);
+		}
+
+		System.arraycopy(state, offset, states, size * words, words);
+		parents[size] = parent;
+		costs[size] = (pathCost << 2) | (move & 3);
+		estimates[size] = (short) estimate;
+
+		return size++;
+	}
+
+	/**
+	 * Returns the layout of the boards in the arena.
+	 *
+	 * @return WideState The layout
+	 */
+
+	WideState getLayout() {
+		return layout;
+	}
+
+	/**
+	 * Returns the array holding every node's packed board. The array is
+	 * replaced when the arena grows, so it must be fetched again after
+	 * every add().
+	 *
+	 * @return long[] The packed boards, one row per node
+	 */
+
+	long[] getStates() {
+		return states;
+	}
+
+	/**
+	 * Returns where a node's packed board starts in getStates().
+	 *
+	 * @param node The node's handle
+	 *
+	 * @return int The offset of the node's row
+	 */
+
+	int offset(int node) {
+		return node * words;
+	}
+
+	/**
+	 * Returns a node's parent.
+	 *
+	 * @param node The node's handle
+	 *
+	 * @return int The parent's handle, or NodeArena.NO_PARENT for the root
+	 */
+
+	int getParent(int node) {
+		return parents[node];
+	}
+
+	/**
+	 * Returns a node's path cost from the root.
+	 *
+	 * @param node The node's handle
+	 *
+	 * @return int The path cost
+	 */
+
+	int getPathCost(int node) {
+		return costs[node] >>> 2;
+	}
+
+	/**
+	 * Returns the move that reached a node.
+	 *
+	 * @param node The node's handle
+	 *
+	 * @return int The move code (see Move)
+	 */
+
+	int getMove(int node) {
+		return costs[node] & 3;
+	}
+
+	/**
+	 * Returns a node's heuristic estimate.
+	 *
+	 * @param node The node's handle
+	 *
+	 * @return int The estimate
+	 */
+
+	int getEstimate(int node) {
+		return estimates[node];
+	}
+
+	/**
+	 * Returns the number of nodes in the arena.
+	 *
+	 * @return int The number of nodes
+	 */
+
+	int size() {
+		return size;
+	}
+
+	/**
+	 * Returns the number of bytes taken by the arena's arrays, which
+	 * is what a SearchBudget counts for it.
+	 *
+	 * @return long The size of the arrays in bytes
+	 */
+
+	long byteSize() {
+		return states.length * (long) Long.BYTES + parents.length * (long) (2 * Integer.BYTES + Short.BYTES);
+	}
+
+	/**
+	 * Removes every node and switches to the given layout, keeping the
+	 * arrays for the next search. The states array is sized by longs
+	 * rather than by nodes, so it is kept across layouts too.
+	 *
+	 * @param newLayout The layout of the boards the next search stores
+	 *
+	 * @return Nothing
+	 */
+
+	void clear(WideState newLayout) {
+		layout = newLayout;
+		words = newLayout.getWords();
+		size = 0;
+	}
+}
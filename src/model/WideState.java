@@ -0,0 +1,202 @@
+package model;
+
+/**
+ * WideState packs boards of any size into several longs, for searches
+ * on boards too large for PackedState. Each tile takes just enough bits
+ * to hold the largest tile number, and tiles never straddle two longs:
+ * a 5x5 board takes 5 bits per tile, 12 tiles per long, and 3 longs,
+ * and a 6x6 board 6 bits per tile, 10 tiles per long, and 4 longs.
+ * Tiles are stored row by row, so the tile at (x, y) lives at index
+ * x * size + y.
+ *
+ * A WideState describes the layout for one board size. The packed
+ * boards themselves are rows of a long array, such as the rows of a
+ * WideNodeArena, given as the array and the offset of the row.
+ *
+ * @author Edward B.
+ */
+
+final class WideState {
+
+	private int size;
+	private int tileCount;
+	private int bitsPerTile;
+	private int tilesPerWord;
+	private int words;
+	private long tileMask;
+
+	/**
+	 * WideState constructor.
+	 *
+	 * @param size The width and height of the board
+	 */
+
+	WideState(int size) {
+		assert size > 1;
+
+		this.size = size;
+		this.tileCount = size * size;
+		this.bitsPerTile = Integer.SIZE - Integer.numberOfLeadingZeros(tileCount - 1);
+		this.tilesPerWord = Long.SIZE / bitsPerTile;
+		this.words = (tileCount + tilesPerWord - 1) / tilesPerWord;
+		this.tileMask = (1L << bitsPerTile) - 1;
+	}
+
+	/**
+	 * Returns the width and height of the board.
+	 *
+	 * @return int The dimensions of the board
+	 */
+
+	int getSize() {
+		return size;
+	}
+
+	/**
+	 * Returns the number of longs a packed board takes.
+	 *
+	 * @return int The length of a row
+	 */
+
+	int getWords() {
+		return words;
+	}
+
+	/**
+	 * Packs a row-major array of tiles.
+	 *
+	 * @param tiles The board to be packed
+	 * @param state The array to pack the board into
+	 * @param offset The start of the row in state
+	 *
+	 * @return Nothing
+	 */
+
+	void pack(int[] tiles, long[] state, int offset) {
+		assert tiles.length == tileCount;
+
+		for(int word = 0; word < words; word++) {
+			state[offset + word] = 0L;
+		}
+		for(int i = 0; i < tileCount; i++) {
+			state[offset + i / tilesPerWord] |= ((long) tiles[i]) << shift(i);
+		}
+	}
+
+	/**
+	 * Unpacks a board into a row-major array of tiles.
+	 *
+	 * @param state The array holding the packed board
+	 * @param offset The start of the row in state
+	 * @param tiles The array to fill, with one entry per tile
+	 *
+	 * @return int The index of the empty tile
+	 */
+
+	int unpack(long[] state, int offset, int[] tiles) {
+		assert tiles.length == tileCount;
+
+		int blank = -1;
+
+		for(int i = 0; i < tileCount; i++) {
+			tiles[i] = tileAt(state, offset, i);
+
+			if(tiles[i] == 0) {
+				blank = i;
+			}
+		}
+
+		return blank;
+	}
+
+	/**
+	 * Returns the tile stored at the given index.
+	 *
+	 * @param state The array holding the packed board
+	 * @param offset The start of the row in state
+	 * @param index The row-major index of the tile
+	 *
+	 * @return int The tile at that index
+	 */
+
+	int tileAt(long[] state, int offset, int index) {
+		return (int) ((state[offset + index / tilesPerWord] >>> shift(index)) & tileMask);
+	}
+
+	/**
+	 * Copies a packed board and slides a tile into the empty tile on
+	 * the copy. Since the empty tile is stored as zero, only the bits
+	 * of the moving tile change.
+	 *
+	 * @param from The array holding the packed board
+	 * @param fromOffset The start of the board's row in from
+	 * @param to The array to write the new board into
+	 * @param toOffset The start of the new board's row in to
+	 * @param blank The index of the empty tile
+	 * @param target The index of the tile that slides into the empty tile
+	 *
+	 * @return Nothing
+	 */
+
+	void slide(long[] from, int fromOffset, long[] to, int toOffset, int blank, int target) {
+		assert tileAt(from, fromOffset, blank) == 0;
+
+		long tile = tileAt(from, fromOffset, target);
+
+		System.arraycopy(from, fromOffset, to, toOffset, words);
+		to[toOffset + target / tilesPerWord] ^= tile << shift(target);
+		to[toOffset + blank / tilesPerWord] ^= tile << shift(blank);
+	}
+
+	/**
+	 * Returns whether or not two packed boards are the same.
+	 *
+	 * @param a The array holding the first board
+	 * @param aOffset The start of the first board's row
+	 * @param b The array holding the second board
+	 * @param bOffset The start of the second board's row
+	 *
+	 * @return boolean Whether the boards are equal
+	 */
+
+	boolean equals(long[] a, int aOffset, long[] b, int bOffset) {
+		for(int word = 0; word < words; word++) {
+			if(a[aOffset + word] != b[bOffset + word]) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Hashes a packed board.
+	 *
+	 * @param state The array holding the packed board
+	 * @param offset The start of the row in state
+	 *
+	 * @return int The hash, with every bit depending on every word
+	 */
+
+	int hash(long[] state, int offset) {
+		long h = 0L;
+
+		for(int word = 0; word < words; word++) {
+			h = (h ^ state[offset + word]) * 0x9E3779B97F4A7C15L;
+		}
+
+		return (int) (h ^ (h >>> 32));
+	}
+
+	/**
+	 * Returns where a tile's bits start within its long.
+	 *
+	 * @param index The row-major index of the tile
+	 *
+	 * @return int The bit offset of the tile
+	 */
+
+	private int shift(int index) {
+		return bitsPerTile * (index % tilesPerWord);
+	}
+}
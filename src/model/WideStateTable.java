@@ -0,0 +1,174 @@
+package model;
+import java.util.Arrays;
+
+/**
+ * WideStateTable is the closed set for searches whose nodes live in a
+ * WideNodeArena. It is an open-addressing hash table of node handles
+ * with linear probing, keyed by the packed board each handle has in the
+ * arena, so a board is stored once, in the arena, and the table itself
+ * takes one int per slot. Like LongIntHashMap, it only reallocates when
+ * it doubles in size.
+ *
+ * @author Edward B.
+ */
+
+class WideStateTable {
+
+	static final int NO_NODE = -1;
+
+	private static final int DEFAULT_CAPACITY = 1024;
+	private static final float LOAD_FACTOR = 0.5f;
+
+	private WideNodeArena arena;
+	private int[] slots;
+	private int mask;
+	private int threshold;
+	private int size;
+
+	/**
+	 * WideStateTable constructor that creates an empty table.
+	 *
+	 * @param arena The arena the handles refer to
+	 */
+
+	WideStateTable(WideNodeArena arena) {
+		assert arena != null;
+
+		this.arena = arena;
+		allocate(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Returns the node stored for a packed board.
+	 *
+	 * @param state The array holding the packed board
+	 * @param offset The start of the board's row in state
+	 *
+	 * @return int The node's handle, or NO_NODE if the board is not in the table
+	 */
+
+	int get(long[] state, int offset) {
+		WideState layout = arena.getLayout();
+		long[] rows = arena.getStates();
+		int slot = layout.hash(state, offset) & mask;
+
+		while(slots[slot] != NO_NODE) {
+			if(layout.equals(rows, arena.offset(slots[slot]), state, offset)) {
+				return slots[slot];
+			}
+			slot = (slot + 1) & mask;
+		}
+
+		return NO_NODE;
+	}
+
+	/**
+	 * Stores a node under its packed board, replacing the node stored
+	 * for the same board if any.
+	 *
+	 * @param node The node's handle
+	 *
+	 * @return int The replaced node's handle, or NO_NODE if the board was not present
+	 */
+
+	int put(int node) {
+		WideState layout = arena.getLayout();
+		long[] rows = arena.getStates();
+		int offset = arena.offset(node);
+		int slot = layout.hash(rows, offset) & mask;
+
+		while(slots[slot] != NO_NODE) {
+			if(layout.equals(rows, arena.offset(slots[slot]), rows, offset)) {
+				int previous = slots[slot];
+				slots[slot] = node;
+				return previous;
+			}
+			slot = (slot + 1) & mask;
+		}
+
+		slots[slot] = node;
+
+		if(++size > threshold) {
+			rehash(slots.length << 1);
+		}
+
+		return NO_NODE;
+	}
+
+	/**
+	 * Returns the number of boards in the table.
+	 *
+	 * @return int The number of boards
+	 */
+
+	int size() {
+		return size;
+	}
+
+	/**
+	 * Returns the number of bytes taken by the table's array, which
+	 * is what a SearchBudget counts for it.
+	 *
+	 * @return long The size of the array in bytes
+	 */
+
+	long byteSize() {
+		return slots.length * (long) Integer.BYTES;
+	}
+
+	/**
+	 * Removes every board from the table, keeping its capacity.
+	 *
+	 * @return Nothing
+	 */
+
+	void clear() {
+		Arrays.fill(slots, NO_NODE);
+		size = 0;
+	}
+
+	/**
+	 * Allocates an empty slot array.
+	 *
+	 * @param capacity The new capacity, a power of two
+	 *
+	 * @return Nothing
+	 */
+
+	private void allocate(int capacity) {
+		assert Integer.bitCount(capacity) == 1;
+
+		slots = new int[capacity];
+		Arrays.fill(slots, NO_NODE);
+		mask = capacity - 1;
+		threshold = (int) (capacity * LOAD_FACTOR);
+	}
+
+	/**
+	 * Moves every handle into a new slot array of the given capacity.
+	 *
+	 * @param capacity The new capacity, a power of two
+	 *
+	 * @return Nothing
+	 */
+
+	private void rehash(int capacity) {
+		WideState layout = arena.getLayout();
+		long[] rows = arena.getStates();
+		int[] oldSlots = slots;
+
+		allocate(capacity);
+
+		for(int node : oldSlots) {
+			if(node != NO_NODE) {
+				int slot = layout.hash(rows, arena.offset(node)) & mask;
+
+				while(slots[slot] != NO_NODE) {
+					slot = (slot + 1) & mask;
+				}
+
+				slots[slot] = node;
+			}
+		}
+	}
+}
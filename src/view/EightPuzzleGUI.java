@@ -132,23 +132,13 @@ public class EightPuzzleGUI {
 	
 	public void updateTiles(int[][] currState) {
 		int tileCount = currState.length;
-		int tempLength = tileCount * tileCount;
-		int[] temp = new int[tempLength];
-		int count = 0;
 		
-		for(int i = 0; i < tileCount; i++) {
-			for(int j = 0; j < tileCount; j++) {
-				temp[count] = currState[i][j];
-				count++;
-			}
-		}
-		
-		JButton tempButton = new JButton();
-		
-		for(int i = 0; i < tempLength; i++) {
-			tempButton = (JButton)eightPuzzlePanel.getComponent(i);
-			if(temp[i] != 0) {
-				tempButton.setText(Integer.toString(temp[i]));
+		for(int i = 0; i < tileCount * tileCount; i++) {
+			JButton tempButton = (JButton)eightPuzzlePanel.getComponent(i);
+			int tile = currState[i / tileCount][i % tileCount];
+			
+			if(tile != 0) {
+				tempButton.setText(Integer.toString(tile));
 				tempButton.setVisible(true);
 			}
 			else {
@@ -258,6 +248,28 @@ public class EightPuzzleGUI {
 		btnSolvePuzzle.setEnabled(false);
 	}
 	
+	/**
+	 * Turns the "Solve Puzzle" button into a "Stop" button, which
+	 * fires the same listeners, while a solution is being searched for
+	 * or played back.
+	 * 
+	 * @return Nothing
+	 */
+	
+	public void showStopButton() {
+		btnSolvePuzzle.setText("Stop");
+	}
+	
+	/**
+	 * Turns the "Stop" button back into the "Solve Puzzle" button.
+	 * 
+	 * @return Nothing
+	 */
+	
+	public void showSolvePuzzleButton() {
+		btnSolvePuzzle.setText("Solve Puzzle");
+	}
+	
 	/**
 	 * Creates an ActionListener to listen for when buttons
 	 * representing tiles on the puzzle panel are pressed.